@@ -1,8 +1,10 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.alert.AlertRequest;
 import com.civiguard.dto.alert.AlertResponse;
+import com.civiguard.dto.notification.NotificationFanOutStatus;
 import com.civiguard.model.User;
 import com.civiguard.repository.UserRepository;
 import com.civiguard.security.UserPrincipal;
@@ -71,6 +73,18 @@ public class AlertController {
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
+    @GetMapping("/active")
+    @PreAuthorize("hasAnyRole('CITIZEN', 'OFFICER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<AlertResponse>>> getActiveAlerts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        User currentUser = userRepository.findById(userPrincipal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
+        CursorPage<AlertResponse> alerts = alertService.getActiveAlerts(cursor, size, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(alerts));
+    }
+
     @GetMapping("/public")
     public ResponseEntity<ApiResponse<Page<AlertResponse>>> getPublicAlerts(Pageable pageable) {
         // For public endpoint, we don't require authentication, so pass null for currentUser
@@ -116,4 +130,13 @@ public class AlertController {
         AlertResponse alert = alertService.markAlertAsRead(id, userPrincipal.getId());
         return ResponseEntity.ok(ApiResponse.success("Alert marked as read", alert));
     }
+
+    @GetMapping("/notification-jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('OFFICER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<NotificationFanOutStatus>> getNotificationJob(@PathVariable String jobId) {
+        NotificationFanOutStatus job = alertService.getNotificationJob(jobId);
+        // 202 while the job has not started yet
+        return ResponseEntity.status(job.getState() == NotificationFanOutStatus.State.QUEUED ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .body(ApiResponse.success(job));
+    }
 }
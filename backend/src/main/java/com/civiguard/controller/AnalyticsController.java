@@ -1,19 +1,30 @@
 package com.civiguard.controller;
 
+import com.civiguard.dto.incident.CategoryCountDto;
+import com.civiguard.dto.incident.IncidentHeatmapTile;
 import com.civiguard.dto.incident.MonthlyIncidentStats;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import com.civiguard.service.IncidentHeatmapService;
 import com.civiguard.service.IncidentService;
+import com.civiguard.service.IncidentStatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/analytics")
 @RequiredArgsConstructor
 public class AnalyticsController {
     private final IncidentService incidentService;
+    private final IncidentHeatmapService incidentHeatmapService;
+    private final IncidentStatisticsService incidentStatisticsService;
 
     @GetMapping("/incidents-monthly")
     public List<MonthlyIncidentStats> getMonthlyIncidentStats() {
@@ -21,7 +32,31 @@ public class AnalyticsController {
     }
 
     @GetMapping("/categories")
-    public List<com.civiguard.dto.incident.CategoryCountDto> getIncidentsByType() {
+    public List<CategoryCountDto> getIncidentsByType() {
         return incidentService.getIncidentTypeStats();
     }
+
+    @GetMapping("/districts")
+    public List<CategoryCountDto> getIncidentsByDistrict() {
+        return incidentStatisticsService.getDistrictCounts();
+    }
+
+    @GetMapping("/statuses")
+    public Map<IncidentStatus, Long> getIncidentsByStatus() {
+        return incidentStatisticsService.getStatusCounts();
+    }
+
+    @GetMapping("/priorities")
+    public Map<IncidentPriority, Long> getIncidentsByPriority() {
+        return incidentStatisticsService.getPriorityCounts();
+    }
+
+    @GetMapping("/incidents-heatmap/{zoom}/{x}/{y}")
+    @PreAuthorize("hasAnyRole('OFFICER', 'ADMIN')")
+    public IncidentHeatmapTile getIncidentHeatmapTile(
+            @PathVariable int zoom,
+            @PathVariable int x,
+            @PathVariable int y) {
+        return incidentHeatmapService.getTile(zoom, x, y);
+    }
 }
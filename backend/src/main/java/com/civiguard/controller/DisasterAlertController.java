@@ -4,6 +4,7 @@ package com.civiguard.controller;
 import com.civiguard.dto.ApiResponse;
 import com.civiguard.dto.disaster.DisasterAlertRequest;
 import com.civiguard.dto.disaster.DisasterAlertResponse;
+import com.civiguard.dto.notification.NotificationFanOutStatus;
 import com.civiguard.model.DisasterAlert;
 import com.civiguard.security.UserPrincipal;
 import com.civiguard.service.DisasterAlertService;
@@ -66,6 +67,15 @@ public class DisasterAlertController {
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
+    @GetMapping("/delivery-jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('OFFICER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<NotificationFanOutStatus>> getDeliveryJob(@PathVariable String jobId) {
+        NotificationFanOutStatus job = disasterAlertService.getDeliveryJob(jobId);
+        // 202 while the job has not started yet
+        return ResponseEntity.status(job.getState() == NotificationFanOutStatus.State.QUEUED ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .body(ApiResponse.success(job));
+    }
+
     @PutMapping("/{id}/deactivate")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<DisasterAlertResponse>> deactivateAlert(@PathVariable Long id) {
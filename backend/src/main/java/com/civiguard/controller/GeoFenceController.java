@@ -2,6 +2,8 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.geofence.GeoFenceBatchCheckRequest;
+import com.civiguard.dto.geofence.GeoFenceBatchCheckResponse;
 import com.civiguard.dto.geofence.GeoFenceRequest;
 import com.civiguard.dto.geofence.GeoFenceResponse;
 import com.civiguard.model.GeoFence;
@@ -84,4 +86,19 @@ public class GeoFenceController {
         List<GeoFenceResponse> geoFences = geoFencingService.findActiveGeoFencesContainingPoint(point);
         return ResponseEntity.ok(ApiResponse.success(geoFences));
     }
+
+    @PostMapping("/containing/batch")
+    @PreAuthorize("hasAnyRole('OFFICER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<GeoFenceBatchCheckResponse>> findActiveGeoFenceIdsContainingPoints(
+            @Valid @RequestBody GeoFenceBatchCheckRequest request) {
+        GeoFenceBatchCheckResponse result = geoFencingService.findActiveGeoFenceIdsContainingPoints(request.getPoints());
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    @GetMapping("/containing/vehicles")
+    @PreAuthorize("hasAnyRole('OFFICER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<GeoFenceBatchCheckResponse>> findActiveGeoFenceIdsForVehicles() {
+        GeoFenceBatchCheckResponse result = geoFencingService.findActiveGeoFenceIdsForVehicles();
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
 }
@@ -1,11 +1,13 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.incident.AnonymousIncidentRequest;
 import com.civiguard.dto.incident.IncidentRequest;
 import com.civiguard.dto.incident.UpdateIncidentRequest;
 import com.civiguard.dto.incident.UpdateIncidentStatusRequest;
 import com.civiguard.dto.incident.IncidentResponse;
+import com.civiguard.dto.incident.IncidentSummaryResponse;
 import com.civiguard.exception.ResourceNotFoundException;
 import com.civiguard.model.Incident;
 import com.civiguard.model.Incident.IncidentPriority;
@@ -125,6 +127,72 @@ public class IncidentController {
         return ResponseEntity.ok(ApiResponse.success("Incidents retrieved successfully", incidents));
     }
 
+    @GetMapping("/summaries")
+    @Operation(summary = "Get incident list views", description = "Retrieves a paginated list of slim incident "
+            + "summaries with the filters of Get all incidents; use Get incident by ID for the full incident.")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Incidents retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<Page<IncidentSummaryResponse>>> getIncidentSummaries(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) IncidentStatus status,
+            @RequestParam(required = false) IncidentPriority priority,
+            @RequestParam(required = false) String district,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            Pageable pageable) {
+        Page<IncidentSummaryResponse> incidents = incidentService.getIncidentSummaries(
+                type, status, priority, district, startDate, endDate, pageable);
+        return ResponseEntity.ok(ApiResponse.success("Incidents retrieved successfully", incidents));
+    }
+
+    @GetMapping("/summaries/scroll")
+    @Operation(summary = "Scroll incident list views", description = "Keyset-paginated variant of Get incident list views, "
+            + "newest first. Pass nextCursor back as cursor for the following page.")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Incidents retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public ResponseEntity<ApiResponse<CursorPage<IncidentSummaryResponse>>> scrollIncidentSummaries(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) IncidentStatus status,
+            @RequestParam(required = false) IncidentPriority priority,
+            @RequestParam(required = false) String district,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<IncidentSummaryResponse> incidents = incidentService.scrollIncidentSummaries(
+                type, status, priority, district, startDate, endDate, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success("Incidents retrieved successfully", incidents));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll incidents", description = "Retrieves incidents newest first in keyset pages. "
+            + "Pass nextCursor back as cursor for the following page; set includeTotal to also count all matches.")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Incidents retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public ResponseEntity<ApiResponse<CursorPage<IncidentResponse>>> scrollIncidents(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) IncidentStatus status,
+            @RequestParam(required = false) IncidentPriority priority,
+            @RequestParam(required = false) String district,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<IncidentResponse> incidents = incidentService.scrollIncidents(
+                type, status, priority, district, startDate, endDate, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success("Incidents retrieved successfully", incidents));
+    }
+
     @GetMapping("/user")
     @PreAuthorize("hasRole('CITIZEN')")
     @Operation(summary = "Get user incidents", description = "Retrieves incidents reported by the authenticated user.")
@@ -2,68 +2,71 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.notification.NotificationResponse;
 import com.civiguard.exception.ResourceNotFoundException;
 import com.civiguard.model.Notification;
-import com.civiguard.model.User;
-import com.civiguard.repository.UserRepository;
+import com.civiguard.repository.NotificationRepository;
 import com.civiguard.security.UserPrincipal;
+import com.civiguard.service.NotificationPushService;
+import com.civiguard.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/notifications")
 @RequiredArgsConstructor
 public class NotificationController {
 
-    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationPushService notificationPushService;
+    private final NotificationService notificationService;
 
+    /**
+     * The caller's notifications, newest first, in keyset pages; pass {@code nextCursor}
+     * back as {@code cursor} for the next page.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getUserNotifications(
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> getUserNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
-
-        List<NotificationResponse> notifications = user.getNotifications().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(ApiResponse.success(notifications));
+        return ResponseEntity.ok(ApiResponse.success(
+                notificationService.getNotifications(userPrincipal.getId(), false, cursor, size)));
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getUnreadNotifications(
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> getUnreadNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
-
-        List<NotificationResponse> notifications = user.getNotifications().stream()
-                .filter(n -> !n.isRead())
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(
+                notificationService.getNotifications(userPrincipal.getId(), true, cursor, size)));
+    }
 
-        return ResponseEntity.ok(ApiResponse.success(notifications));
+    /**
+     * Current unread count; kept up to date afterwards by pushes on /user/queue/notifications.
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(ApiResponse.success(notificationPushService.getUnreadCount(userPrincipal.getId())));
     }
 
     @PutMapping("/{id}/read")
     public ResponseEntity<ApiResponse<NotificationResponse>> markNotificationAsRead(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
-
-        Notification notification = user.getNotifications().stream()
-                .filter(n -> n.getId().equals(id))
-                .findFirst()
+        Notification notification = notificationRepository.findByIdAndUserId(id, userPrincipal.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
 
-        notification.setRead(true);
-        userRepository.save(user);
+        if (!notification.isRead()) {
+            notification.setRead(true);
+            notificationRepository.save(notification);
+            notificationPushService.onNotificationRead(userPrincipal.getId(), notification);
+        }
 
         return ResponseEntity.ok(ApiResponse.success("Notification marked as read", mapToResponse(notification)));
     }
@@ -71,11 +74,8 @@ public class NotificationController {
     @PutMapping("/read-all")
     public ResponseEntity<ApiResponse<Void>> markAllNotificationsAsRead(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
-
-        user.getNotifications().forEach(n -> n.setRead(true));
-        userRepository.save(user);
+        notificationRepository.markAllReadByUserId(userPrincipal.getId());
+        notificationPushService.onAllRead(userPrincipal.getId());
 
         return ResponseEntity.ok(ApiResponse.success("All notifications marked as read"));
     }
@@ -1,11 +1,14 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.incident.EvidenceRequest;
 import com.civiguard.dto.incident.IncidentResponse;
+import com.civiguard.dto.incident.IncidentSummaryResponse;
 import com.civiguard.dto.incident.IncidentTimelineResponse;
 import com.civiguard.dto.incident.IncidentUpdateRequest;
 import com.civiguard.dto.incident.OfficerIncidentResponse;
+import com.civiguard.dto.officer.NearbyOfficerResponse;
 import com.civiguard.dto.officer.OfficerSummary;
 import com.civiguard.model.Incident.IncidentPriority;
 import com.civiguard.model.Incident.IncidentStatus;
@@ -45,6 +48,32 @@ public class OfficerIncidentController {
         );
     }
 
+    @GetMapping("/summaries")
+    @PreAuthorize("hasRole('OFFICER')")
+    @Operation(summary = "List views of the incidents assigned to the officer, with optional status filter")
+    public ResponseEntity<Page<IncidentSummaryResponse>> getAssignedIncidentSummaries(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) IncidentStatus status,
+            Pageable pageable) {
+        return ResponseEntity.ok(
+            officerIncidentService.getIncidentSummariesAssignedToOfficer(userPrincipal.getId(), status, pageable)
+        );
+    }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('OFFICER')")
+    @Operation(summary = "Scroll incidents assigned to the officer, newest first, in keyset pages")
+    public ResponseEntity<CursorPage<IncidentResponse>> scrollAssignedIncidents(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) IncidentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(
+            officerIncidentService.scrollIncidentsAssignedToOfficer(userPrincipal.getId(), status, cursor, size, includeTotal)
+        );
+    }
+
     @GetMapping("/{incidentId}")
     @PreAuthorize("hasRole('OFFICER')")
     @Operation(summary = "Get incident details by ID (officer must be assigned)")
@@ -150,6 +179,21 @@ public class OfficerIncidentController {
         );
     }
 
+    @GetMapping("/{incidentId}/officers/nearest")
+    @PreAuthorize("hasRole('OFFICER')")
+    @Operation(summary = "Get available officers nearest to the incident, ranked by distance")
+    public ResponseEntity<ApiResponse<List<NearbyOfficerResponse>>> getNearestAvailableOfficers(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @PathVariable Long incidentId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Double maxDistanceKm) {
+        List<NearbyOfficerResponse> officers = officerIncidentService
+            .getNearestAvailableOfficers(incidentId, userPrincipal.getId(), limit, maxDistanceKm);
+        return ResponseEntity.ok(
+            new ApiResponse<>(true, "Nearest available officers retrieved successfully", officers)
+        );
+    }
+
     @GetMapping("/stats")
     @PreAuthorize("hasRole('OFFICER')")
     @Operation(summary = "Get officer's incident statistics")
@@ -1,6 +1,7 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.patrol.PatrolRouteDTO;
+import com.civiguard.dto.patrol.RouteProgressResponse;
 import com.civiguard.service.PatrolRouteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,11 @@ public class PatrolRouteController {
         return ResponseEntity.ok(patrolRouteService.getPatrolRouteById(id));
     }
 
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<RouteProgressResponse> getRouteProgress(@PathVariable Long id) {
+        return ResponseEntity.ok(patrolRouteService.getRouteProgress(id));
+    }
+
     @PostMapping
     public ResponseEntity<PatrolRouteDTO> createPatrolRoute(@RequestBody PatrolRouteDTO patrolRouteDTO) {
         return ResponseEntity.ok(patrolRouteService.createPatrolRoute(patrolRouteDTO));
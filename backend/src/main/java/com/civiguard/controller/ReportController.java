@@ -1,6 +1,7 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.ReportDTO;
 import com.civiguard.dto.ReportStatusUpdateRequest;
 import com.civiguard.dto.incident.IncidentResponse;
@@ -74,6 +75,25 @@ public class ReportController {
         return ResponseEntity.ok(ApiResponse.success("Reports retrieved successfully", resultPage));
     }
     
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll reports", description = "Retrieves filtered reports newest first in keyset pages; "
+            + "pass nextCursor back as cursor for the following page")
+    public ResponseEntity<ApiResponse<CursorPage<ReportDTO>>> scrollReports(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) ReportStatus status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<ReportDTO> reports = reportService.scrollReports(
+            search, status, type, priority, createdBy, dateFrom, dateTo, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success("Reports retrieved successfully", reports));
+    }
+
     @PostMapping("/{reportId}/convert-to-incident")
     @PreAuthorize("hasAnyRole('OFFICER', 'ADMIN')")
     @Operation(summary = "Convert report to incident", 
@@ -2,11 +2,15 @@
 package com.civiguard.controller;
 
 import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.notification.NotificationDeliveryStats;
 import com.civiguard.dto.system.SystemLogResponse;
 import com.civiguard.dto.system.SystemMetricsResponse;
 import com.civiguard.dto.system.SystemStatusRequest;
 import com.civiguard.dto.system.SystemStatusResponse;
+import com.civiguard.dto.tracking.LocationIngestionStats;
 import com.civiguard.model.SystemStatus;
+import com.civiguard.service.NotificationDeliveryScheduler;
+import com.civiguard.service.OfficerLocationIngestionService;
 import com.civiguard.service.SystemMonitoringService;
 import com.civiguard.service.SystemStatusService;
 import jakarta.validation.Valid;
@@ -34,13 +38,19 @@ public class SystemController {
     private final SystemStatusService systemStatusService;
     private final WebSocketController webSocketController;
     private final SystemMonitoringService systemMonitoringService;
+    private final OfficerLocationIngestionService officerLocationIngestionService;
+    private final NotificationDeliveryScheduler notificationDeliveryScheduler;
     
     public SystemController(SystemStatusService systemStatusService, 
                            WebSocketController webSocketController,
-                           SystemMonitoringService systemMonitoringService) {
+                           SystemMonitoringService systemMonitoringService,
+                           OfficerLocationIngestionService officerLocationIngestionService,
+                           NotificationDeliveryScheduler notificationDeliveryScheduler) {
         this.systemStatusService = systemStatusService;
         this.webSocketController = webSocketController;
         this.systemMonitoringService = systemMonitoringService;
+        this.officerLocationIngestionService = officerLocationIngestionService;
+        this.notificationDeliveryScheduler = notificationDeliveryScheduler;
     }
 
     @PutMapping("/status")
@@ -83,6 +93,16 @@ public class SystemController {
         return ResponseEntity.ok(ApiResponse.success(metrics));
     }
     
+    @GetMapping("/tracking/officer-locations")
+    public ResponseEntity<ApiResponse<LocationIngestionStats>> getOfficerLocationIngestionStats() {
+        return ResponseEntity.ok(ApiResponse.success(officerLocationIngestionService.getStats()));
+    }
+    
+    @GetMapping("/notifications/delivery")
+    public ResponseEntity<ApiResponse<NotificationDeliveryStats>> getNotificationDeliveryStats() {
+        return ResponseEntity.ok(ApiResponse.success(notificationDeliveryScheduler.getStats()));
+    }
+    
     @GetMapping("/logs")
     public ResponseEntity<ApiResponse<Page<SystemLogResponse>>> getSystemLogs(
             @RequestParam(required = false) String level,
@@ -0,0 +1,57 @@
+package com.civiguard.controller;
+
+import com.civiguard.dto.ApiResponse;
+import com.civiguard.dto.tracking.TrackPoint;
+import com.civiguard.dto.tracking.TrackResponse;
+import com.civiguard.exception.BadRequestException;
+import com.civiguard.model.TrackedEntityType;
+import com.civiguard.service.PositionHistoryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@RestController
+@RequestMapping("/tracking")
+@RequiredArgsConstructor
+public class TrackingController {
+
+    private static final Duration MAX_REPLAY_WINDOW = Duration.ofDays(7);
+
+    private final PositionHistoryStore positionHistoryStore;
+
+    @GetMapping("/history/{entityType}/{entityId}")
+    @PreAuthorize("hasAnyRole('OFFICER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<TrackResponse>> replayTrack(
+            @PathVariable TrackedEntityType entityType,
+            @PathVariable long entityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (from.isAfter(end)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, end).compareTo(MAX_REPLAY_WINDOW) > 0) {
+            throw new BadRequestException("Track replay is limited to " + MAX_REPLAY_WINDOW.toDays() + " days");
+        }
+
+        long fromMillis = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long toMillis = end.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        List<TrackPoint> points = positionHistoryStore.replay(entityType, entityId, fromMillis, toMillis);
+
+        return ResponseEntity.ok(ApiResponse.success(TrackResponse.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .from(fromMillis)
+                .to(toMillis)
+                .count(points.size())
+                .points(points)
+                .build()));
+    }
+}
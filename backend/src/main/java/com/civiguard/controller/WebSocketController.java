@@ -4,7 +4,9 @@ import com.civiguard.dto.incident.IncidentResponse;
 import com.civiguard.dto.system.SystemMetricsResponse;
 import com.civiguard.dto.system.SystemStatusResponse;
 import com.civiguard.model.Location;
+import com.civiguard.security.UserPrincipal;
 import com.civiguard.service.IncidentService;
+import com.civiguard.service.OfficerLocationIngestionService;
 import com.civiguard.service.SystemMonitoringService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,8 +21,10 @@ import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.text.DecimalFormat;
 import java.time.Instant;
 import java.util.HashMap;
@@ -35,6 +39,7 @@ public class WebSocketController {
     private final SimpMessagingTemplate messagingTemplate;
     private final IncidentService incidentService;
     private final SystemMonitoringService systemMonitoringService;
+    private final OfficerLocationIngestionService officerLocationIngestionService;
 
     private final SystemInfo systemInfo = new SystemInfo();
     private final HardwareAbstractionLayer hardware = systemInfo.getHardware();
@@ -136,15 +141,16 @@ public class WebSocketController {
 
     @MessageMapping("/officer/location")
     public void updateOfficerLocation(Location location, SimpMessageHeaderAccessor headerAccessor) {
-        String userId = headerAccessor.getUser().getName();
-        log.info("Received location update from officer {}: {}, {}", userId, location.getLatitude(), location.getLongitude());
+        Principal user = headerAccessor.getUser();
+        if (!(user instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            log.warn("Ignoring location update from unauthenticated session {}", headerAccessor.getSessionId());
+            return;
+        }
+        log.debug("Received location update from officer {}: {}, {}", principal.getId(), location.getLatitude(), location.getLongitude());
         
-        // Broadcast to admin dashboard
-        messagingTemplate.convertAndSend("/topic/officer-locations", Map.of(
-            "officerId", userId,
-            "location", location,
-            "timestamp", System.currentTimeMillis()
-        ));
+        // Coalesced per officer and broadcast to /topic/officer-locations in batched frames
+        officerLocationIngestionService.ingest(principal.getId(), location);
     }
 
     @MessageMapping("/incident/report")
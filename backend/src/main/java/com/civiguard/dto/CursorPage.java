@@ -0,0 +1,51 @@
+package com.civiguard.dto;
+
+import com.civiguard.util.KeysetCursor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as the
+ * {@code cursor} parameter to get the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    // Only counted when the client asks for it, since counting costs a scan of every match
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    public CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this(content, size, hasNext, nextCursor, null);
+    }
+
+    /**
+     * Builds a page from rows fetched in {@code (createdAt DESC, id DESC)} order with a
+     * limit of one past {@code pageSize}; the extra row only signals that another page follows.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int pageSize,
+                                          Function<E, LocalDateTime> createdAt,
+                                          Function<E, Long> id,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+        E last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasNext ? KeysetCursor.encode(createdAt.apply(last), id.apply(last)) : null;
+        List<T> content = page.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+}
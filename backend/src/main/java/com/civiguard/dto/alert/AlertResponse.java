@@ -21,6 +21,9 @@ public class AlertResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private boolean isRead;
+    private long readCount;
+    // Set on creation; poll GET /alerts/notification-jobs/{id} for delivery progress
+    private String notificationJobId;
 
     @Data
     public static class UserSummary {
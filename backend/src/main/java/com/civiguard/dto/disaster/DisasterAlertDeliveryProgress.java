@@ -0,0 +1,34 @@
+package com.civiguard.dto.disaster;
+
+import com.civiguard.dto.notification.NotificationFanOutStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery progress of a disaster alert, published on {@code /topic/disaster-alerts}
+ * alongside the alerts themselves.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisasterAlertDeliveryProgress {
+
+    public enum Event {
+        DELIVERY_STARTED, DELIVERY_PROGRESS, DELIVERY_COMPLETED, DELIVERY_FAILED
+    }
+
+    private Event event;
+    private Long alertId;
+    private String jobId;
+    private NotificationFanOutStatus.State state;
+    private int partitions;
+    private Long totalRecipients;
+    private long delivered;
+    private long duplicatesSkipped;
+    private Double progressPercent;
+    private String error;
+    private long timestamp;
+}
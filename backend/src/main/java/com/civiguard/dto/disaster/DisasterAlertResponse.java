@@ -27,6 +27,8 @@ public class DisasterAlertResponse {
     private Set<String> emergencyContacts = new HashSet<>();
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Set on creation; progress is also published on /topic/disaster-alerts
+    private String deliveryJobId;
     
     @Data
     public static class UserSummary {
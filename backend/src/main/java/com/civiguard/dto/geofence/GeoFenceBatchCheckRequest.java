@@ -0,0 +1,16 @@
+package com.civiguard.dto.geofence;
+
+import com.civiguard.model.Location;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class GeoFenceBatchCheckRequest {
+    @NotEmpty(message = "At least one point is required")
+    @Size(max = 50000, message = "Cannot check more than 50000 points per request")
+    private List<Location> points = new ArrayList<>();
+}
@@ -0,0 +1,29 @@
+package com.civiguard.dto.geofence;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Compact result of a batch containment check.
+ * <p>
+ * {@code fenceIds} is parallel to the evaluated points: entry {@code i} holds the
+ * IDs of the active fences containing point {@code i} (empty when none do).
+ * {@code entityIds} is only set when the points came from tracked entities,
+ * such as a patrol vehicle snapshot, and is parallel to {@code fenceIds}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GeoFenceBatchCheckResponse {
+    private int pointCount;
+    private int matchedPointCount;
+    private List<Long> entityIds;
+    private List<long[]> fenceIds;
+}
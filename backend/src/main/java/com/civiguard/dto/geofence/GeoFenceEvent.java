@@ -0,0 +1,32 @@
+package com.civiguard.dto.geofence;
+
+import com.civiguard.model.TrackedEntityType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fence membership change for a tracked officer or vehicle, published on
+ * {@code /topic/geofence-events}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GeoFenceEvent {
+    private EventType type;
+    private TrackedEntityType entityType;
+    private String entityId;
+    private Long fenceId;
+    private Double latitude;
+    private Double longitude;
+    private long timestamp;
+    private Long dwellMillis;
+
+    public enum EventType {
+        ENTER, EXIT, DWELL
+    }
+}
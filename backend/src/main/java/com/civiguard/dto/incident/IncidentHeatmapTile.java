@@ -0,0 +1,31 @@
+package com.civiguard.dto.incident;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Incident counts for one map tile, split into {@code binsPerSide x binsPerSide} bins.
+ * <p>
+ * Only non-empty bins are listed. {@code bins} holds their row-major index within the
+ * tile; {@code counts} and every breakdown array are parallel to it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentHeatmapTile {
+    private int zoom;
+    private int x;
+    private int y;
+    private int binsPerSide;
+    private long total;
+    private int[] bins;
+    private int[] counts;
+    private Map<String, int[]> byStatus;
+    private Map<String, int[]> byPriority;
+    private Map<String, int[]> byType;
+}
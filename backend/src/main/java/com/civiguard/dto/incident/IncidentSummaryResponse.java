@@ -0,0 +1,57 @@
+package com.civiguard.dto.incident;
+
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of an incident, selected straight from the database as a projection so
+ * listings never load incident entities or their collections. {@link IncidentResponse}
+ * is the detail view.
+ */
+@Data
+@NoArgsConstructor
+public class IncidentSummaryResponse {
+    private Long id;
+    private String title;
+    private IncidentStatus status;
+    private IncidentPriority priority;
+    private String incidentType;
+    private String district;
+    private String city;
+    private Double latitude;
+    private Double longitude;
+    private boolean anonymous;
+    // Null for anonymous incidents
+    private String reporterName;
+    private int assignedOfficerCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Projection constructor; the argument order is the select list of
+     * {@code IncidentRepositoryImpl}.
+     */
+    public IncidentSummaryResponse(Long id, String title, IncidentStatus status, IncidentPriority priority,
+                                   String incidentType, String district, String city,
+                                   Double latitude, Double longitude, Boolean anonymous, String reporterName,
+                                   Integer assignedOfficerCount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.incidentType = incidentType;
+        this.district = district;
+        this.city = city;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.anonymous = Boolean.TRUE.equals(anonymous);
+        this.reporterName = this.anonymous ? null : reporterName;
+        this.assignedOfficerCount = assignedOfficerCount != null ? assignedOfficerCount : 0;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.civiguard.dto.notification;
+
+import com.civiguard.model.NotificationLane;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDeliveryStats {
+    private int workers;
+    private List<Lane> lanes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Lane {
+        private NotificationLane lane;
+        // 0 when the lane is not rate limited
+        private double ratePerSecond;
+        private int queued;
+        private long started;
+        private long throttled;
+        private double averageWaitMs;
+        private double maxWaitMs;
+    }
+}
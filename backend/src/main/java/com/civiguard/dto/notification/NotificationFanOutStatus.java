@@ -0,0 +1,40 @@
+package com.civiguard.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk notification delivery.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFanOutStatus {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED,
+        // Handed to delivery, but the progress is held by another instance or was lost on restart
+        DISPATCHED
+    }
+
+    private String jobId;
+    private String type;
+    private String audience;
+    private State state;
+    private int partitions;
+    private Long totalRecipients;
+    // Users reached through more than one partition, notified only once
+    private long duplicatesSkipped;
+    private long delivered;
+    private long batches;
+    private Double progressPercent;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
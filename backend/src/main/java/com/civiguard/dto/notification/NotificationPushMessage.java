@@ -0,0 +1,25 @@
+package com.civiguard.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Message pushed to {@code /user/{id}/queue/notifications}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPushMessage {
+
+    public enum Event {
+        CREATED, READ, ALL_READ
+    }
+
+    private Event event;
+    // The new notification for CREATED (its id is null for bulk alerts), the read one for READ
+    private NotificationResponse notification;
+    private long unreadCount;
+}
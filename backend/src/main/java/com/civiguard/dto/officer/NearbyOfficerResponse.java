@@ -0,0 +1,27 @@
+package com.civiguard.dto.officer;
+
+import com.civiguard.model.Officer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A dispatchable officer ranked by distance to an incident.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyOfficerResponse {
+    private int rank;
+    private OfficerSummary officer;
+    private Officer.OfficerStatus status;
+    private double distanceKm;
+    private double latitude;
+    private double longitude;
+    private String positionSource;
+    private LocalDateTime positionUpdatedAt;
+}
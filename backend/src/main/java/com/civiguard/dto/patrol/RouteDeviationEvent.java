@@ -0,0 +1,32 @@
+package com.civiguard.dto.patrol;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published on {@code /topic/patrol-route-events} when a vehicle leaves or rejoins
+ * the corridor around its active patrol route.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteDeviationEvent {
+
+    public enum EventType {
+        OFF_ROUTE,
+        BACK_ON_ROUTE
+    }
+
+    private EventType type;
+    private Long routeId;
+    private Long vehicleId;
+    private double latitude;
+    private double longitude;
+    private double offRouteMeters;
+    private double progressKm;
+    private double progressPercent;
+    private long timestamp;
+}
@@ -0,0 +1,29 @@
+package com.civiguard.dto.patrol;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest position of a patrol vehicle relative to its active route.
+ * Position fields are {@code null} until the vehicle reports a location.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteProgressResponse {
+    private Long routeId;
+    private Long vehicleId;
+    private int waypointCount;
+    private double totalKm;
+    private Double progressKm;
+    private Double progressPercent;
+    private Integer segmentIndex;
+    private Double offRouteMeters;
+    private Boolean onRoute;
+    private Double latitude;
+    private Double longitude;
+    private Long updatedAt;
+}
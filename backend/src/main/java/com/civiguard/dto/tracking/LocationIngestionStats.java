@@ -0,0 +1,21 @@
+package com.civiguard.dto.tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationIngestionStats {
+    private long tickMillis;
+    private long received;
+    private long dropped;
+    private long broadcast;
+    private long frames;
+    private long evicted;
+    private int pending;
+    private int trackedEntities;
+}
@@ -0,0 +1,32 @@
+package com.civiguard.dto.tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One coalesced broadcast of position updates: at most one entry per entity,
+ * holding the latest fix received during the tick.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationUpdateFrame {
+    private long sequence;
+    private long timestamp;
+    private List<PositionFix> updates;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PositionFix {
+        private long id;
+        private double lat;
+        private double lng;
+        private long ts;
+    }
+}
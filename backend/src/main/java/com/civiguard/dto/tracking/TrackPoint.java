@@ -0,0 +1,14 @@
+package com.civiguard.dto.tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackPoint {
+    private long ts;
+    private double lat;
+    private double lng;
+}
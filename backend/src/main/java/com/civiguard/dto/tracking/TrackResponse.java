@@ -0,0 +1,22 @@
+package com.civiguard.dto.tracking;
+
+import com.civiguard.model.TrackedEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackResponse {
+    private TrackedEntityType entityType;
+    private long entityId;
+    private long from;
+    private long to;
+    private int count;
+    private List<TrackPoint> points;
+}
@@ -0,0 +1,25 @@
+package com.civiguard.event;
+
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.service.AlertService;
+import com.civiguard.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AlertDeliveryEventHandler implements OutboxEventHandler {
+
+    private final AlertService alertService;
+    private final OutboxService outboxService;
+
+    @Override
+    public String eventType() {
+        return AlertService.ALERT_NOTIFICATIONS_EVENT;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        alertService.deliverNotifications(outboxService.readPayload(event, AlertDeliveryPayload.class));
+    }
+}
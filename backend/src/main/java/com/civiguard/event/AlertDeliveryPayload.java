@@ -0,0 +1,19 @@
+package com.civiguard.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox payload that starts the citizen notifications of an alert. The fan-out job ID
+ * is assigned up front so it can be returned with the alert.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertDeliveryPayload {
+    private Long alertId;
+    private String jobId;
+}
@@ -0,0 +1,25 @@
+package com.civiguard.event;
+
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.service.DisasterAlertService;
+import com.civiguard.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DisasterAlertDeliveryEventHandler implements OutboxEventHandler {
+
+    private final DisasterAlertService disasterAlertService;
+    private final OutboxService outboxService;
+
+    @Override
+    public String eventType() {
+        return DisasterAlertService.DISASTER_ALERT_NOTIFICATIONS_EVENT;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        disasterAlertService.deliverNotifications(outboxService.readPayload(event, AlertDeliveryPayload.class));
+    }
+}
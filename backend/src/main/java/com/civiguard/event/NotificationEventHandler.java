@@ -0,0 +1,30 @@
+package com.civiguard.event;
+
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.service.NotificationService;
+import com.civiguard.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationEventHandler implements OutboxEventHandler {
+
+    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+
+    @Override
+    public String eventType() {
+        return NotificationService.NOTIFICATION_EVENT;
+    }
+
+    @Override
+    public boolean deliveredInLane() {
+        return true;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        notificationService.deliver(outboxService.readPayload(event, NotificationEventPayload.class));
+    }
+}
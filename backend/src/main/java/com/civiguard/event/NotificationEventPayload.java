@@ -0,0 +1,23 @@
+package com.civiguard.event;
+
+import com.civiguard.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outbox payload of a queued notification: either explicit recipients or everyone with a role.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationEventPayload {
+    private List<Long> userIds;
+    private User.Role role;
+    private String message;
+    private String type;
+}
@@ -0,0 +1,25 @@
+package com.civiguard.event;
+
+import com.civiguard.model.OutboxEvent;
+
+/**
+ * Carries out one type of {@link OutboxEvent}. Handlers run inside the transaction
+ * that marks the event processed, so database writes they make commit with it; an
+ * exception rolls them back and the event is retried.
+ */
+public interface OutboxEventHandler {
+
+    String eventType();
+
+    /**
+     * Whether events run on the {@link com.civiguard.service.NotificationDeliveryScheduler}
+     * lane given by their priority instead of on the relay's thread. They still run in
+     * the transaction that marks them processed, so they share the lane's rate limit
+     * without losing retries.
+     */
+    default boolean deliveredInLane() {
+        return false;
+    }
+
+    void handle(OutboxEvent event);
+}
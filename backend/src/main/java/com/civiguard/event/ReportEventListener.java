@@ -3,9 +3,9 @@ package com.civiguard.event;
 import com.civiguard.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Slf4j
 @Component
@@ -14,22 +14,14 @@ public class ReportEventListener {
 
     private final NotificationService notificationService;
 
-    @Async
-    @EventListener
+    /**
+     * Queues the admin notification in the transaction that created the report, so it
+     * is delivered exactly when the report commits.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleReportCreatedEvent(ReportCreatedEvent event) {
-        try {
-            var report = event.getReport();
-            log.info("Processing report created event for report #{}", report.getId());
-            
-            notificationService.createNotification(
-                    null, // For admin group
-                    "New Report #" + report.getId() + ": " + report.getTitle(),
-                    "NEW_REPORT"
-            );
-            
-            log.info("Successfully processed report created event for report #{}", report.getId());
-        } catch (Exception e) {
-            log.error("Error processing report created event: {}", e.getMessage(), e);
-        }
+        var report = event.getReport();
+        notificationService.notifyAdminsNewReport(report.getId(), report.getTitle());
+        log.info("Queued admin notification for report #{}", report.getId());
     }
 }
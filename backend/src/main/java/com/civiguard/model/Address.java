@@ -18,5 +18,8 @@ public class Address {
     private String district;
     private String landmark;
 	private String country;
+    // Optional home coordinates, used to target area alerts
+    private Double latitude;
+    private Double longitude;
    
 }
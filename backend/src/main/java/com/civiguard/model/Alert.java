@@ -9,11 +9,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
-@Table(name = "alerts")
+@Table(name = "alerts", indexes = @Index(name = "idx_alerts_active_created", columnList = "is_active, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,22 +54,6 @@ public class Alert {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    @ManyToMany
-    @JoinTable(
-        name = "alert_read_by_users",
-        joinColumns = @JoinColumn(name = "alert_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
-    )
-    private Set<User> readByUsers = new HashSet<>();
-
-    public boolean isReadByUser(User user) {
-        return readByUsers.contains(user);
-    }
-
-    public void markAsReadByUser(User user) {
-        readByUsers.add(user);
-    }
-
     public enum AlertSeverity {
         INFO, WARNING, DANGER, CRITICAL
     }
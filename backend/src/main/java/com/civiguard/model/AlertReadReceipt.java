@@ -0,0 +1,39 @@
+package com.civiguard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One user having read one alert. Stored by ID only, so recording and counting
+ * receipts never loads {@link User} or {@link Alert} entities.
+ */
+@Entity
+@Table(name = "alert_read_by_users")
+@IdClass(AlertReadReceipt.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertReadReceipt {
+    @Id
+    @Column(name = "alert_id")
+    private Long alertId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private LocalDateTime readAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long alertId;
+        private Long userId;
+    }
+}
@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "incidents")
+@Table(name = "incidents", indexes = {
+    @Index(name = "idx_incidents_created", columnList = "created_at, id"),
+    @Index(name = "uk_incidents_report_id", columnList = "report_id", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -199,7 +202,7 @@ public class Incident {
 
     
     @OneToOne
-    @JoinColumn(name = "report_id")
+    @JoinColumn(name = "report_id", insertable = false, updatable = false)
     private Report report;
     
     /**
@@ -233,10 +236,11 @@ public class Incident {
     }
     
     /**
-     * ID of the report this incident was created from, if any.
-     * This is a denormalized field for easier querying.
+     * ID of the report this incident was created from, if any. This is the column
+     * that links the two; {@link #report} is a read-only view of it. At most one
+     * incident can be created from a report.
      */
-    @Column(name = "report_id", insertable = false, updatable = false)
+    @Column(name = "report_id")
     private Long reportId;
 
 
@@ -10,7 +10,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_notifications_created", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,46 @@
+package com.civiguard.model;
+
+import java.util.Set;
+
+/**
+ * Delivery priority of a notification, highest first. Officers' work items sit above
+ * mass alerts so a large fan-out never holds up an assignment.
+ */
+public enum NotificationLane {
+    // CRITICAL alerts and CRITICAL disaster alerts
+    CRITICAL,
+    // Assignments and new incidents for officers and admins
+    OPERATIONAL,
+    // Non-critical safety and disaster alerts to citizens
+    ALERT,
+    // Status changes, updates and anything else
+    INFORMATIONAL;
+
+    private static final Set<String> OPERATIONAL_TYPES =
+            Set.of("ASSIGNED_INCIDENT", "INCIDENT_ASSIGNED", "REPORT_ASSIGNED", "INCIDENT_REPORTED",
+                    "INCIDENT_DIGEST");
+    private static final Set<String> ALERT_TYPES = Set.of("SAFETY_ALERT", "DISASTER_ALERT");
+
+    public static NotificationLane forType(String type) {
+        if (OPERATIONAL_TYPES.contains(type)) {
+            return OPERATIONAL;
+        }
+        return ALERT_TYPES.contains(type) ? ALERT : INFORMATIONAL;
+    }
+
+    /**
+     * The lane of an outbox event, whose priority is the lane's ordinal.
+     */
+    public static NotificationLane forPriority(int priority) {
+        NotificationLane[] lanes = values();
+        return lanes[Math.min(Math.max(priority, 0), lanes.length - 1)];
+    }
+
+    public static NotificationLane forAlert(Alert.AlertSeverity severity) {
+        return severity == Alert.AlertSeverity.CRITICAL ? CRITICAL : ALERT;
+    }
+
+    public static NotificationLane forDisaster(DisasterAlert.AlertSeverity severity) {
+        return severity == DisasterAlert.AlertSeverity.CRITICAL ? CRITICAL : ALERT;
+    }
+}
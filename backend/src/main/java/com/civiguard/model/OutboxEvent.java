@@ -0,0 +1,71 @@
+package com.civiguard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A side effect recorded in the same transaction as the change that caused it, and
+ * carried out afterwards by {@link com.civiguard.service.OutboxRelay}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_due", columnList = "status, priority, id"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregate_type, aggregate_id, status, id"),
+        @Index(name = "idx_outbox_correlation", columnList = "correlation_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(nullable = false, length = 50)
+    private String eventType;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // Caller-assigned ID to look the event up by, e.g. the job ID handed out for it
+    @Column(length = 64)
+    private String correlationId;
+
+    // Lower goes first; see NotificationLane
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    public enum Status {
+        PENDING,
+        PROCESSED,
+        // Gave up after app.outbox.max-attempts
+        FAILED
+    }
+}
@@ -11,7 +11,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 @Entity
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+    @Index(name = "idx_reports_created", columnList = "created_at, id")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @JsonIgnoreProperties({"createdBy", "assignedOfficers", "hibernateLazyInitializer", "handler"})
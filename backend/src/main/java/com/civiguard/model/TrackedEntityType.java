@@ -0,0 +1,9 @@
+package com.civiguard.model;
+
+/**
+ * Kind of entity whose position is tracked, used to key live positions, geofence
+ * membership and recorded history.
+ */
+public enum TrackedEntityType {
+    OFFICER, VEHICLE
+}
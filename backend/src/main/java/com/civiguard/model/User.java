@@ -14,7 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_role_id", columnList = "role, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,36 @@
+package com.civiguard.repository;
+
+import com.civiguard.model.AlertReadReceipt;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface AlertReadReceiptRepository extends JpaRepository<AlertReadReceipt, AlertReadReceipt.Key> {
+
+    /**
+     * Records a receipt unless one exists.
+     *
+     * @return 1 if the receipt was new, 0 otherwise
+     */
+    @Modifying
+    @Query(value = "INSERT INTO alert_read_by_users (alert_id, user_id, read_at) VALUES (:alertId, :userId, :readAt) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("alertId") Long alertId, @Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Streams the readers of an alert; must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.userId FROM AlertReadReceipt r WHERE r.alertId = :alertId")
+    Stream<Long> streamUserIdsByAlertId(@Param("alertId") Long alertId);
+}
@@ -13,31 +13,46 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Repository
 public interface AlertRepository extends JpaRepository<Alert, Long>, JpaSpecificationExecutor<Alert> {
     
-    @EntityGraph(attributePaths = {"readByUsers"})
-    @Query("SELECT DISTINCT a FROM Alert a LEFT JOIN FETCH a.readByUsers WHERE a.isActive = true")
-    List<Alert> findActiveAlertsWithReadByUsers();
-    
-    @EntityGraph(attributePaths = {"readByUsers"})
-    @Query("SELECT DISTINCT a FROM Alert a LEFT JOIN FETCH a.readByUsers WHERE a.id = :id")
-    Optional<Alert> findByIdWithReadByUsers(@Param("id") Long id);
-    
-    @EntityGraph(attributePaths = {"readByUsers"})
-    @Query("SELECT DISTINCT a FROM Alert a LEFT JOIN FETCH a.readByUsers WHERE a.location.district = :district AND a.isActive = true")
-    List<Alert> findActiveByDistrictWithReadByUsers(@Param("district") String district);
-    
-    @EntityGraph(attributePaths = {"readByUsers"})
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query(value = "SELECT a FROM Alert a WHERE a.isActive = true",
+           countQuery = "SELECT COUNT(a) FROM Alert a WHERE a.isActive = true")
+    Page<Alert> findActiveWithCreator(Pageable pageable);
+
+    /**
+     * First keyset page of active alerts, newest first; size the {@code limit} one past
+     * the page to learn whether another follows.
+     */
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query("SELECT a FROM Alert a WHERE a.isActive = true ORDER BY a.createdAt DESC, a.id DESC")
+    List<Alert> findActiveFirstPage(Pageable limit);
+
+    /**
+     * Active alerts strictly after the given {@code (createdAt, id)} position, newest first.
+     */
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query("SELECT a FROM Alert a WHERE a.isActive = true " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Alert> findActiveAfter(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable limit);
+
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query("SELECT a FROM Alert a WHERE a.id = :id")
+    Optional<Alert> findByIdWithCreator(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query("SELECT a FROM Alert a WHERE a.location.district = :district AND a.isActive = true")
+    List<Alert> findActiveByDistrictWithCreator(@Param("district") String district);
+
+    @EntityGraph(attributePaths = {"createdBy"})
     @Query("SELECT a FROM Alert a")
-    Page<Alert> findAllWithReadByUsers(Pageable pageable);
-    
-    @EntityGraph(attributePaths = {"readByUsers"})
-    @Query("SELECT a FROM Alert a WHERE a.id IN :ids")
-    List<Alert> findAllByIdsWithReadByUsers(@Param("ids") Set<Long> ids);
-    
+    Page<Alert> findAllWithCreator(Pageable pageable);
+
     // Standard JPA methods
     List<Alert> findByIsActiveTrue();
     Page<Alert> findByIsActiveTrue(Pageable pageable);
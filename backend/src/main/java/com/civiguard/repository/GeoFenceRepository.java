@@ -3,13 +3,20 @@ package com.civiguard.repository;
 
 import com.civiguard.model.GeoFence;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface GeoFenceRepository extends JpaRepository<GeoFence, Long> {
     List<GeoFence> findByIsActiveTrue();
+
+    @Query("SELECT DISTINCT g FROM GeoFence g LEFT JOIN FETCH g.polygonPoints " +
+           "WHERE g.isActive = true AND (g.endTime IS NULL OR g.endTime > :now)")
+    List<GeoFence> findActiveWithPolygonPointsNotEndedBefore(@Param("now") LocalDateTime now);
     
     List<GeoFence> findByTypeAndIsActiveTrue(GeoFence.FenceType type);
     
@@ -12,7 +12,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import com.civiguard.model.Incident;
@@ -20,12 +19,15 @@ import com.civiguard.model.Incident.IncidentPriority;
 import com.civiguard.model.Incident.IncidentStatus;
 import com.civiguard.model.Officer;
 import com.civiguard.model.User;
+import com.civiguard.specification.IncidentSpecifications;
 
 @Repository
-public interface IncidentRepository extends JpaRepository<Incident, Long>, JpaSpecificationExecutor<Incident> {
+public interface IncidentRepository extends JpaRepository<Incident, Long>, JpaSpecificationExecutor<Incident>,
+        IncidentRepositoryCustom {
     
-    @EntityGraph(attributePaths = {"assignedOfficers", "reportedBy", "updates", "images", "tags"})
-    Page<Incident> findByAssignedOfficersId(Long officerId, Pageable pageable);
+    default Page<Incident> findByAssignedOfficersId(Long officerId, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.assignedToOfficer(officerId), pageable);
+    }
     
     @EntityGraph(attributePaths = {"assignedOfficers", "reportedBy", "updates", "images", "tags"})
     Optional<Incident> findByIdAndAssignedOfficersId(Long id, Long officerId);
@@ -45,13 +47,15 @@ public interface IncidentRepository extends JpaRepository<Incident, Long>, JpaSp
         @Param("excludeOfficerId") Long excludeOfficerId
     );
     
-    @EntityGraph(attributePaths = {"assignedOfficers", "reportedBy", "updates", "images", "tags"})
-    @Query("SELECT DISTINCT i FROM Incident i JOIN i.assignedOfficers o WHERE o.id = :officerId AND i.status IN :statuses")
-    Page<Incident> findByAssignedOfficersIdAndStatusIn(
-        @Param("officerId") Long officerId,
-        @Param("statuses") List<IncidentStatus> statuses,
+    default Page<Incident> findByAssignedOfficersIdAndStatusIn(
+        Long officerId,
+        List<IncidentStatus> statuses,
         Pageable pageable
-    );
+    ) {
+        return findPageWithRelations(
+            IncidentSpecifications.assignedToOfficer(officerId).and(IncidentSpecifications.hasStatusIn(statuses)),
+            pageable);
+    }
     
     @Query("SELECT DISTINCT i FROM Incident i " +
            "JOIN i.assignedOfficers o " +
@@ -88,107 +92,57 @@ public interface IncidentRepository extends JpaRepository<Incident, Long>, JpaSp
         @Param("endDate") LocalDateTime endDate
     );
 
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags")
-    @Override
-    @NonNull
-    Page<Incident> findAll(@NonNull Specification<Incident> spec, @NonNull Pageable pageable);
-    
-    @EntityGraph(attributePaths = {"reportedBy", "assignedOfficers", "images", "tags"})
-    @Query("SELECT DISTINCT i FROM Incident i")
-    @NonNull
+    // Paged listings select a page of IDs first and then fetch only those incidents,
+    // see IncidentRepositoryCustom#findPageWithRelations
+
     default Page<Incident> findAllWithRelations(Specification<Incident> spec, Pageable pageable) {
-        return findAll(spec, pageable);
+        return findPageWithRelations(spec, pageable);
     }
-    
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.reportedBy = :reportedBy")
-    Page<Incident> findByReportedBy(@Param("reportedBy") User reportedBy, Pageable pageable);
-    
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.reportedBy = :reportedBy")
-    @NonNull
-    default Page<Incident> findByReportedByWithRelations(@Param("reportedBy") User reportedBy, @NonNull Pageable pageable) {
+
+    default Page<Incident> findByReportedBy(User reportedBy, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.reportedBy(reportedBy.getId()), pageable);
+    }
+
+    default Page<Incident> findByReportedByWithRelations(User reportedBy, Pageable pageable) {
         return findByReportedBy(reportedBy, pageable);
     }
-    
-    @EntityGraph(attributePaths = {"reportedBy", "assignedOfficers", "images", "tags"})
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.isAnonymous = :isAnonymous")
-    Page<Incident> findByIsAnonymous(@Param("isAnonymous") boolean isAnonymous, Pageable pageable);
-    
-    @EntityGraph(attributePaths = {"reportedBy", "assignedOfficers", "images", "tags"})
-    @Query("SELECT DISTINCT i FROM Incident i JOIN i.assignedOfficers o WHERE o.id = :officerId")
-    Page<Incident> findByAssignedOfficerId(@Param("officerId") Long officerId, Pageable pageable);
-    
+
+    default Page<Incident> findByIsAnonymous(boolean isAnonymous, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.isAnonymous(isAnonymous), pageable);
+    }
+
+    default Page<Incident> findByAssignedOfficerId(Long officerId, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.assignedToOfficer(officerId), pageable);
+    }
+
     // Add a count query to help with debugging
     @Query(value = "SELECT COUNT(DISTINCT i.id) FROM Incident i JOIN i.assignedOfficers o WHERE o.id = :officerId")
     long countByAssignedOfficerId(@Param("officerId") Long officerId);
-    
-    @EntityGraph(attributePaths = {"reportedBy", "assignedOfficers", "images", "tags"})
+
     default Page<Incident> findByAssignedOfficerIdWithRelations(Long officerId, Pageable pageable) {
         return findByAssignedOfficerId(officerId, pageable);
     }
-    
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.status = :status")
-    Page<Incident> findByStatus(@Param("status") Incident.IncidentStatus status, Pageable pageable);
-    
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.priority = :priority")
-    Page<Incident> findByPriority(@Param("priority") Incident.IncidentPriority priority, Pageable pageable);
-    
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.incidentType = :incidentType")
-    Page<Incident> findByIncidentType(@Param("incidentType") String incidentType, Pageable pageable);
-    
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.location.district = :district")
-    Page<Incident> findByDistrict(@Param("district") String district, Pageable pageable);
-    
-    @Query("SELECT DISTINCT i FROM Incident i " +
-           "LEFT JOIN FETCH i.reportedBy " +
-           "LEFT JOIN FETCH i.assignedOfficers " +
-           "LEFT JOIN FETCH i.images " +
-           "LEFT JOIN FETCH i.tags " +
-           "WHERE i.reportDetails.reportDate BETWEEN :startDate AND :endDate")
-    Page<Incident> findByReportDateBetween(
-        @Param("startDate") LocalDateTime startDate, 
-        @Param("endDate") LocalDateTime endDate, 
-        Pageable pageable
-    );
-    
+
+    default Page<Incident> findByStatus(IncidentStatus status, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.hasStatus(status), pageable);
+    }
+
+    default Page<Incident> findByPriority(IncidentPriority priority, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.hasPriority(priority), pageable);
+    }
+
+    default Page<Incident> findByIncidentType(String incidentType, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.hasIncidentType(incidentType), pageable);
+    }
+
+    default Page<Incident> findByDistrict(String district, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.inDistrict(district), pageable);
+    }
+
+    default Page<Incident> findByReportDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        return findPageWithRelations(IncidentSpecifications.reportDateBetween(startDate, endDate), pageable);
+    }
+
     @Query("SELECT COUNT(i) FROM Incident i WHERE i.status = :status")
     long countByStatus(@Param("status") Incident.IncidentStatus status);
     
@@ -206,12 +160,27 @@ public interface IncidentRepository extends JpaRepository<Incident, Long>, JpaSp
     @Query("SELECT i.incidentType, COUNT(i) FROM Incident i GROUP BY i.incidentType")
     List<Object[]> countByIncidentType();
 
+    /**
+     * Returns {@code [id, latitude, longitude, status, priority, incidentType]} rows for every
+     * incident with a location, without hydrating incident entities.
+     */
+    @Query("SELECT i.id, i.location.latitude, i.location.longitude, i.status, i.priority, i.incidentType " +
+           "FROM Incident i WHERE i.location.latitude IS NOT NULL AND i.location.longitude IS NOT NULL")
+    List<Object[]> findHeatmapRows();
+
     /**
      * Find an incident by its associated report ID
      * @param reportId The ID of the report
      * @return An Optional containing the incident if found, or empty otherwise
      */
     Optional<Incident> findByReportId(Long reportId);
+
+    /**
+     * ID of the incident created from the report, looked up through the unique
+     * {@code report_id} index without loading the incident.
+     */
+    @Query("SELECT i.id FROM Incident i WHERE i.reportId = :reportId")
+    Optional<Long> findIdByReportId(@Param("reportId") Long reportId);
     
     @Query("SELECT CASE WHEN COUNT(i) > 0 THEN true ELSE false END FROM Incident i JOIN i.assignedOfficers o WHERE i.id = :incidentId AND o.id = :officerId")
     boolean existsByIdAndAssignedOfficersId(@Param("incidentId") Long incidentId, @Param("officerId") Long officerId);
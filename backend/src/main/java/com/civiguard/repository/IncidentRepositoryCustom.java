@@ -0,0 +1,54 @@
+package com.civiguard.repository;
+
+import com.civiguard.dto.incident.IncidentSummaryResponse;
+import com.civiguard.model.Incident;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IncidentRepositoryCustom {
+
+    /**
+     * Returns a page of incidents with their reporter, assigned officers, images, tags
+     * and updates loaded.
+     * <p>
+     * The page is selected as a list of IDs in the database, and only those incidents
+     * are then fetched, one association per query, so the page limit is never applied
+     * in memory and no collection is multiplied by another. Incidents are ordered by
+     * the pageable's sort, then by ID.
+     *
+     * @param spec a filter that neither fetches associations nor makes the query distinct;
+     *             may be null
+     */
+    Page<Incident> findPageWithRelations(Specification<Incident> spec, Pageable pageable);
+
+    /**
+     * Returns up to {@code limit} incidents strictly after the given {@code (createdAt, id)}
+     * position, newest first, with the associations listed on {@link #findPageWithRelations}.
+     * Costs the same however deep the position is, and never counts.
+     *
+     * @param createdAt the position, or null together with {@code id} for the first page
+     */
+    List<Incident> findSliceWithRelations(Specification<Incident> spec, LocalDateTime createdAt, Long id, int limit);
+
+    /**
+     * Returns a page of list views, selected as a projection without loading any entity.
+     */
+    Page<IncidentSummaryResponse> findSummaries(Specification<Incident> spec, Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findSummaries}, with the position semantics of
+     * {@link #findSliceWithRelations}.
+     */
+    List<IncidentSummaryResponse> findSummarySlice(Specification<Incident> spec, LocalDateTime createdAt,
+                                                   Long id, int limit);
+
+    /**
+     * Fetches the incidents with the given IDs and the associations listed on
+     * {@link #findPageWithRelations}, in the order of the IDs. Missing IDs are skipped.
+     */
+    List<Incident> findAllWithRelationsByIds(List<Long> ids);
+}
@@ -0,0 +1,189 @@
+package com.civiguard.repository;
+
+import com.civiguard.dto.incident.IncidentSummaryResponse;
+import com.civiguard.model.Incident;
+import com.civiguard.model.User;
+import com.civiguard.specification.IncidentSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+@Repository
+public class IncidentRepositoryImpl implements IncidentRepositoryCustom {
+
+    // One query per association keeps each result set to a single collection
+    private static final String FETCH_OFFICERS =
+            "SELECT i FROM Incident i LEFT JOIN FETCH i.reportedBy LEFT JOIN FETCH i.assignedOfficers " +
+            "WHERE i.id IN :ids";
+    private static final String FETCH_IMAGES =
+            "SELECT i FROM Incident i LEFT JOIN FETCH i.images WHERE i.id IN :ids";
+    private static final String FETCH_TAGS =
+            "SELECT i FROM Incident i LEFT JOIN FETCH i.tags WHERE i.id IN :ids";
+    private static final String FETCH_UPDATES =
+            "SELECT i FROM Incident i LEFT JOIN FETCH i.updates u LEFT JOIN FETCH u.updatedBy " +
+            "WHERE i.id IN :ids";
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Incident> findPageWithRelations(Specification<Incident> spec, Pageable pageable) {
+        List<Long> ids = findPageIds(spec, pageable);
+        List<Incident> content = findAllWithRelationsByIds(ids);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<Incident> findSliceWithRelations(Specification<Incident> spec, LocalDateTime createdAt, Long id, int limit) {
+        return findAllWithRelationsByIds(findPageIds(slice(spec, createdAt, id), PageRequest.of(0, limit, NEWEST_FIRST)));
+    }
+
+    @Override
+    public Page<IncidentSummaryResponse> findSummaries(Specification<Incident> spec, Pageable pageable) {
+        List<IncidentSummaryResponse> content = select(IncidentSummaryResponse.class, spec, pageable,
+                IncidentRepositoryImpl::summary);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<IncidentSummaryResponse> findSummarySlice(Specification<Incident> spec, LocalDateTime createdAt,
+                                                          Long id, int limit) {
+        return select(IncidentSummaryResponse.class, slice(spec, createdAt, id),
+                PageRequest.of(0, limit, NEWEST_FIRST), IncidentRepositoryImpl::summary);
+    }
+
+    @Override
+    public List<Incident> findAllWithRelationsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Incident> incidents = entityManager.createQuery(FETCH_OFFICERS, Incident.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        // The same instances come back from the persistence context with one more collection loaded
+        for (String fetch : List.of(FETCH_IMAGES, FETCH_TAGS, FETCH_UPDATES)) {
+            entityManager.createQuery(fetch, Incident.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        }
+
+        Map<Long, Incident> byId = new HashMap<>();
+        for (Incident incident : incidents) {
+            byId.put(incident.getId(), incident);
+        }
+        List<Incident> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Incident incident = byId.get(id);
+            if (incident != null) {
+                ordered.add(incident);
+            }
+        }
+        return ordered;
+    }
+
+    private List<Long> findPageIds(Specification<Incident> spec, Pageable pageable) {
+        return select(Long.class, spec, pageable, (incident, cb) -> incident.get("id"));
+    }
+
+    /**
+     * Runs a paged criteria query over incidents with the given select list.
+     */
+    private <T> List<T> select(Class<T> resultType, Specification<Incident> spec, Pageable pageable,
+                               BiFunction<Root<Incident>, CriteriaBuilder, Selection<? extends T>> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(resultType);
+        Root<Incident> incident = query.from(Incident.class);
+        query.select(selection.apply(incident, cb));
+        Predicate predicate = spec != null ? spec.toPredicate(incident, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(orders(pageable.getSort(), incident, cb));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private static Selection<IncidentSummaryResponse> summary(Root<Incident> incident, CriteriaBuilder cb) {
+        Join<Incident, User> reporter = incident.join("reportedBy", JoinType.LEFT);
+        return cb.construct(IncidentSummaryResponse.class,
+                incident.get("id"),
+                incident.get("title"),
+                incident.get("status"),
+                incident.get("priority"),
+                incident.get("incidentType"),
+                incident.get("location").get("district"),
+                incident.get("location").get("city"),
+                incident.get("location").get("latitude"),
+                incident.get("location").get("longitude"),
+                incident.get("isAnonymous"),
+                reporter.get("name"),
+                cb.size(incident.<Collection<?>>get("assignedOfficers")),
+                incident.get("createdAt"),
+                incident.get("updatedAt"));
+    }
+
+    private long count(Specification<Incident> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Incident> incident = query.from(Incident.class);
+        query.select(cb.count(incident));
+        Predicate predicate = spec != null ? spec.toPredicate(incident, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Specification<Incident> slice(Specification<Incident> spec, LocalDateTime createdAt, Long id) {
+        Specification<Incident> slice = Specification.where(spec);
+        if (createdAt != null && id != null) {
+            slice = slice.and(IncidentSpecifications.createdBefore(createdAt, id));
+        }
+        return slice;
+    }
+
+    /**
+     * The requested order with the ID appended, so rows with equal sort keys keep
+     * their place between page requests.
+     */
+    private static List<Order> orders(Sort sort, Root<Incident> incident, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, incident, cb));
+        if (sort.getOrderFor("id") == null) {
+            boolean ascending = sort.isSorted() && sort.stream().reduce((first, second) -> second)
+                    .map(Sort.Order::isAscending).orElse(false);
+            orders.add(ascending ? cb.asc(incident.get("id")) : cb.desc(incident.get("id")));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,55 @@
+package com.civiguard.repository;
+
+import com.civiguard.model.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    Optional<Notification> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * First keyset page of a user's notifications, newest first; size the {@code limit}
+     * one past the page to learn whether another follows.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND (:unreadOnly = false OR n.read = false) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPageByUserId(@Param("userId") Long userId,
+                                             @Param("unreadOnly") boolean unreadOnly,
+                                             Pageable limit);
+
+    /**
+     * A user's notifications strictly after the given {@code (createdAt, id)} position, newest first.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND (:unreadOnly = false OR n.read = false) " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageByUserIdAfter(@Param("userId") Long userId,
+                                             @Param("unreadOnly") boolean unreadOnly,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.read = false")
+    long countUnreadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Marks all of a user's notifications as read.
+     *
+     * @return the number of notifications that were unread
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllReadByUserId(@Param("userId") Long userId);
+}
@@ -49,6 +49,13 @@ public interface OfficerRepository extends JpaRepository<Officer, Long> {
         @Param("excludeOfficerId") Long excludeOfficerId
     );
     
+    /**
+     * Returns {@code [officerId, userId, status]} rows for every officer, without hydrating
+     * officer entities. {@code userId} is {@code null} for officers without an account.
+     */
+    @Query("SELECT o.id, u.id, o.status FROM Officer o LEFT JOIN o.user u")
+    List<Object[]> findDispatchDirectory();
+
     @Query("SELECT o FROM Officer o WHERE o.rank = :rank AND o.district = :district")
     List<Officer> findByRankAndDistrict(@Param("rank") Officer.Rank rank, @Param("district") String district);
 }
@@ -0,0 +1,64 @@
+package com.civiguard.repository;
+
+import com.civiguard.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Pending events that are due and are the oldest pending event of their
+     * aggregate, by priority and then age. Later events of an aggregate only become eligible once
+     * the ones before them are processed or have failed for good.
+     */
+    @Query("SELECT e.id AS id, e.eventType AS eventType, e.priority AS priority " +
+           "FROM OutboxEvent e WHERE e.status = :pending AND e.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT p.id FROM OutboxEvent p WHERE p.aggregateType = e.aggregateType " +
+           "AND p.aggregateId = e.aggregateId AND p.status = :pending AND p.id < e.id) " +
+           "ORDER BY e.priority, e.id")
+    List<DueEvent> findDueHeads(@Param("pending") OutboxEvent.Status pending,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+    /**
+     * Locks an event that is still in the given state, skipping it when another
+     * instance already holds it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id = :id AND e.status = :status")
+    Optional<OutboxEvent> lockByIdAndStatus(@Param("id") Long id, @Param("status") OutboxEvent.Status status);
+
+    /**
+     * What the relay needs to route a due event before locking it.
+     */
+    interface DueEvent {
+        Long getId();
+
+        String getEventType();
+
+        int getPriority();
+    }
+
+    long countByStatus(OutboxEvent.Status status);
+
+    Optional<OutboxEvent> findFirstByCorrelationIdOrderByIdDesc(String correlationId);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :cutoff")
+    int deleteByStatusAndProcessedAtBefore(@Param("status") OutboxEvent.Status status,
+                                           @Param("cutoff") LocalDateTime cutoff);
+}
@@ -5,6 +5,7 @@ import com.civiguard.model.PatrolRoute;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +19,11 @@ public interface PatrolRouteRepository extends JpaRepository<PatrolRoute, Long>
            "LEFT JOIN FETCH r.patrolVehicle " +
            "LEFT JOIN FETCH r.assignedOfficer")
     List<PatrolRoute> findAllWithVehicleAndOfficer();
+
+    /**
+     * Routes in the given status that have a vehicle, with their waypoints fetched in the same query.
+     */
+    @Query("SELECT DISTINCT r FROM PatrolRoute r LEFT JOIN FETCH r.waypoints " +
+           "WHERE r.status = :status AND r.patrolVehicle IS NOT NULL")
+    List<PatrolRoute> findWithWaypointsByStatus(@Param("status") PatrolRoute.PatrolStatus status);
 }
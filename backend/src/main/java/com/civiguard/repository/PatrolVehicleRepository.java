@@ -4,6 +4,8 @@ package com.civiguard.repository;
 import com.civiguard.model.Officer;
 import com.civiguard.model.PatrolVehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -19,4 +21,22 @@ public interface PatrolVehicleRepository extends JpaRepository<PatrolVehicle, Lo
     List<PatrolVehicle> findByAssignedOfficer(Officer officer);
     
     List<PatrolVehicle> findByLastLocationUpdateAfter(LocalDateTime time);
+
+    /**
+     * Returns {@code [id, latitude, longitude]} rows for every vehicle with a known position,
+     * without hydrating vehicle entities.
+     */
+    @Query("SELECT v.id, v.location.latitude, v.location.longitude FROM PatrolVehicle v " +
+           "WHERE v.location.latitude IS NOT NULL AND v.location.longitude IS NOT NULL")
+    List<Object[]> findVehiclePositions();
+
+    /**
+     * Returns {@code [officerId, latitude, longitude, lastLocationUpdate]} rows for vehicles
+     * with an assigned officer whose position was updated after {@code since}.
+     */
+    @Query("SELECT v.assignedOfficer.id, v.location.latitude, v.location.longitude, v.lastLocationUpdate " +
+           "FROM PatrolVehicle v WHERE v.assignedOfficer IS NOT NULL " +
+           "AND v.location.latitude IS NOT NULL AND v.location.longitude IS NOT NULL " +
+           "AND v.lastLocationUpdate > :since")
+    List<Object[]> findAssignedVehiclePositionsSince(@Param("since") LocalDateTime since);
 }
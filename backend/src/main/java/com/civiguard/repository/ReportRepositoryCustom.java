@@ -28,4 +28,23 @@ public interface ReportRepositoryCustom {
             LocalDateTime dateFrom,
             LocalDateTime dateTo
     );
+
+    /**
+     * Up to {@code limit} matching reports strictly after the {@code (createdAt, id)}
+     * position, newest first, with their creator; no offset and no count.
+     *
+     * @param afterCreatedAt the position, or null together with {@code afterId} for the first page
+     */
+    List<Report> findReportsAfter(
+            String search,
+            ReportStatus status,
+            String type,
+            String priority,
+            Long createdBy,
+            LocalDateTime dateFrom,
+            LocalDateTime dateTo,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit
+    );
 }
@@ -28,62 +28,29 @@ public class ReportRepositoryImpl implements ReportRepositoryCustom {
             LocalDateTime dateTo,
             int limit,
             int offset) {
-        
+
         var cb = entityManager.getCriteriaBuilder();
         var cq = cb.createQuery(Report.class);
         var report = cq.from(Report.class);
-        
+
         // Join the required associations
         report.fetch("createdBy", JoinType.LEFT);
-        
+
         // Build the where clause
-        List<Predicate> predicates = new ArrayList<>();
-        
-        if (search != null && !search.isEmpty()) {
-            String searchPattern = "%" + search.toLowerCase() + "%";
-            predicates.add(cb.or(
-                cb.like(cb.lower(report.get("title")), searchPattern),
-                cb.like(cb.lower(report.get("description")), searchPattern)
-            ));
-        }
-        
-        if (status != null) {
-            predicates.add(cb.equal(report.get("status"), status));
-        }
-        
-        if (type != null && !type.isEmpty()) {
-            predicates.add(cb.equal(cb.lower(report.get("type")), type.toLowerCase()));
-        }
-        
-        if (priority != null && !priority.isEmpty()) {
-            predicates.add(cb.equal(cb.lower(report.get("priority")), priority.toLowerCase()));
-        }
-        
-        if (createdBy != null) {
-            predicates.add(cb.equal(report.get("createdBy").get("id"), createdBy));
-        }
-        
-        if (dateFrom != null) {
-            predicates.add(cb.greaterThanOrEqualTo(report.get("createdAt"), dateFrom));
-        }
-        
-        if (dateTo != null) {
-            predicates.add(cb.lessThanOrEqualTo(report.get("createdAt"), dateTo));
-        }
-        
+        List<Predicate> predicates = predicates(cb, report, search, status, type, priority, createdBy, dateFrom, dateTo);
         cq.where(predicates.toArray(new Predicate[0]));
-        
+
         // Add sorting
         cq.orderBy(cb.desc(report.get("createdAt")));
-        
+
         // Create and execute the query
         TypedQuery<Report> query = entityManager.createQuery(cq);
         query.setFirstResult(offset);
         query.setMaxResults(limit);
-        
+
         return query.getResultList();
     }
-    
+
     @Override
     public long countReportsWithAssociations(
             String search,
@@ -93,14 +60,68 @@ public class ReportRepositoryImpl implements ReportRepositoryCustom {
             Long createdBy,
             LocalDateTime dateFrom,
             LocalDateTime dateTo) {
-            
+
         var cb = entityManager.getCriteriaBuilder();
         var cq = cb.createQuery(Long.class);
         var report = cq.from(Report.class);
-        
+
         // Build the where clause
+        List<Predicate> predicates = predicates(cb, report, search, status, type, priority, createdBy, dateFrom, dateTo);
+
+        cq.select(cb.count(report));
+        cq.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    @Override
+    public List<Report> findReportsAfter(
+            String search,
+            ReportStatus status,
+            String type,
+            String priority,
+            Long createdBy,
+            LocalDateTime dateFrom,
+            LocalDateTime dateTo,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit) {
+
+        var cb = entityManager.getCriteriaBuilder();
+        var cq = cb.createQuery(Report.class);
+        var report = cq.from(Report.class);
+        report.fetch("createdBy", JoinType.LEFT);
+
+        List<Predicate> predicates = predicates(cb, report, search, status, type, priority, createdBy, dateFrom, dateTo);
+        if (afterCreatedAt != null && afterId != null) {
+            // Strictly after the position in (createdAt DESC, id DESC) order
+            predicates.add(cb.or(
+                cb.lessThan(report.get("createdAt"), afterCreatedAt),
+                cb.and(
+                    cb.equal(report.get("createdAt"), afterCreatedAt),
+                    cb.lessThan(report.get("id"), afterId))));
+        }
+        cq.where(predicates.toArray(new Predicate[0]));
+        cq.orderBy(cb.desc(report.get("createdAt")), cb.desc(report.get("id")));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> predicates(
+            CriteriaBuilder cb,
+            Root<Report> report,
+            String search,
+            ReportStatus status,
+            String type,
+            String priority,
+            Long createdBy,
+            LocalDateTime dateFrom,
+            LocalDateTime dateTo) {
+
         List<Predicate> predicates = new ArrayList<>();
-        
+
         if (search != null && !search.isEmpty()) {
             String searchPattern = "%" + search.toLowerCase() + "%";
             predicates.add(cb.or(
@@ -108,34 +129,31 @@ public class ReportRepositoryImpl implements ReportRepositoryCustom {
                 cb.like(cb.lower(report.get("description")), searchPattern)
             ));
         }
-        
+
         if (status != null) {
             predicates.add(cb.equal(report.get("status"), status));
         }
-        
+
         if (type != null && !type.isEmpty()) {
             predicates.add(cb.equal(cb.lower(report.get("type")), type.toLowerCase()));
         }
-        
+
         if (priority != null && !priority.isEmpty()) {
             predicates.add(cb.equal(cb.lower(report.get("priority")), priority.toLowerCase()));
         }
-        
+
         if (createdBy != null) {
             predicates.add(cb.equal(report.get("createdBy").get("id"), createdBy));
         }
-        
+
         if (dateFrom != null) {
             predicates.add(cb.greaterThanOrEqualTo(report.get("createdAt"), dateFrom));
         }
-        
+
         if (dateTo != null) {
             predicates.add(cb.lessThanOrEqualTo(report.get("createdAt"), dateTo));
         }
-        
-        cq.select(cb.count(report));
-        cq.where(predicates.toArray(new Predicate[0]));
-        
-        return entityManager.createQuery(cq).getSingleResult();
+
+        return predicates;
     }
 }
@@ -7,6 +7,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,5 +23,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findByRole(User.Role role);
+
+    /**
+     * Home location rows of active users with the role:
+     * {@code [id, address.latitude, address.longitude, address.district]}.
+     */
+    @Query("SELECT u.id, u.address.latitude, u.address.longitude, u.address.district FROM User u " +
+           "WHERE u.role = :role AND u.active = true")
+    List<Object[]> findHomeLocationRows(@Param("role") User.Role role);
     Page<User> findAll(Specification<User> spec, Pageable pageable);
 }
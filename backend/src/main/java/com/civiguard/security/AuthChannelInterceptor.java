@@ -1,38 +1,29 @@
 package com.civiguard.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.Principal;
 
+/**
+ * Authenticates STOMP sessions on CONNECT, either from a bearer token in the
+ * {@code Authorization} header or from the user already authenticated on the
+ * handshake. The session user is named by user ID so per-user destinations work.
+ */
 @Component
 public class AuthChannelInterceptor implements ChannelInterceptor {
 
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService userDetailsService;
-    private final String jwtSecret = "your-jwt-secret"; // This should be injected from properties
 
-    public AuthChannelInterceptor(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService) {
+    public AuthChannelInterceptor(JwtTokenProvider tokenProvider) {
         this.tokenProvider = tokenProvider;
-        this.userDetailsService = userDetailsService;
-    }
-    
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
     }
 
     @Override
@@ -43,20 +34,16 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
             String token = extractToken(accessor);
             
             if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-                Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-                
-                Long userId = Long.parseLong(claims.getSubject());
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
-                
-                if (userDetails != null) {
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    accessor.setUser(authentication);
+                Authentication authentication = tokenProvider.getAuthentication(token);
+                if (authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+                    accessor.setUser(new UserIdAuthenticationToken(userPrincipal));
+                }
+            } else {
+                Principal user = accessor.getUser();
+                if (user instanceof Authentication authentication
+                        && !(user instanceof UserIdAuthenticationToken)
+                        && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+                    accessor.setUser(new UserIdAuthenticationToken(userPrincipal));
                 }
             }
         }
@@ -0,0 +1,22 @@
+package com.civiguard.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * Authentication of a STOMP session whose name is the user's ID rather than their email,
+ * so {@code /user/{id}/...} destinations resolve to the user's sessions.
+ */
+public class UserIdAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final UserPrincipal userPrincipal;
+
+    public UserIdAuthenticationToken(UserPrincipal userPrincipal) {
+        super(userPrincipal, null, userPrincipal.getAuthorities());
+        this.userPrincipal = userPrincipal;
+    }
+
+    @Override
+    public String getName() {
+        return String.valueOf(userPrincipal.getId());
+    }
+}
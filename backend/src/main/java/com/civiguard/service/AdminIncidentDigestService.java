@@ -0,0 +1,179 @@
+package com.civiguard.service;
+
+import com.civiguard.event.NotificationEventPayload;
+import com.civiguard.model.Incident;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.NotificationLane;
+import com.civiguard.model.User;
+import com.civiguard.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Collapses "new incident" notifications to admins during a surge.
+ * <p>
+ * The first incident of each {@code app.notifications.admin-digest.window-ms} window is
+ * notified as usual; the rest are only counted here, by type, district and priority,
+ * and every admin gets a single {@code INCIDENT_DIGEST} notification summarising them
+ * when the window is flushed. Incidents at or above
+ * {@code app.notifications.admin-digest.immediate-priority} are never collapsed.
+ * <p>
+ * The counts live in memory only: incidents collapsed in the window a node goes down
+ * in are not summarised, although the incidents themselves are unaffected.
+ */
+@Service
+@Slf4j
+public class AdminIncidentDigestService {
+
+    public static final String DIGEST_TYPE = "INCIDENT_DIGEST";
+    public static final String DIGEST_AGGREGATE = "AdminIncidentDigest";
+
+    // Keeps the summary inside the 255 characters of a notification message
+    private static final int TOP_ENTRIES = 3;
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    private final OutboxService outboxService;
+
+    @Value("${app.notifications.admin-digest.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.notifications.admin-digest.immediate-priority:CRITICAL}")
+    private IncidentPriority immediatePriority = IncidentPriority.CRITICAL;
+
+    private Window window = new Window(System.currentTimeMillis());
+
+    public AdminIncidentDigestService(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * Decides whether the admins' notification about a new incident goes into the digest.
+     * A collapsed incident is counted once the current transaction commits.
+     *
+     * @return {@code true} if the incident was collapsed and must not be notified now
+     */
+    public boolean collapse(Incident incident) {
+        if (!enabled || isUrgent(incident.getPriority())) {
+            return false;
+        }
+        synchronized (this) {
+            if (!window.leadingNotified) {
+                window.leadingNotified = true;
+                return false;
+            }
+        }
+        String type = incident.getIncidentType();
+        String district = incident.getLocation() != null ? incident.getLocation().getDistrict() : null;
+        IncidentPriority priority = incident.getPriority();
+        TransactionUtils.afterCommit(() -> record(type, district, priority));
+        return true;
+    }
+
+    /**
+     * Sends the digest of the incidents collapsed since the last flush, if any, and
+     * starts a new window.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.admin-digest.window-ms:300000}")
+    public void flush() {
+        Window flushed;
+        synchronized (this) {
+            flushed = window;
+            window = new Window(System.currentTimeMillis());
+        }
+        if (flushed.incidents == 0) {
+            return;
+        }
+        try {
+            outboxService.enqueue(DIGEST_AGGREGATE, flushed.startedAtMs, NotificationService.NOTIFICATION_EVENT,
+                    NotificationEventPayload.builder()
+                            .role(User.Role.ADMIN)
+                            .message(summarise(flushed))
+                            .type(DIGEST_TYPE)
+                            .build(),
+                    NotificationLane.forType(DIGEST_TYPE).ordinal());
+            log.info("Queued admin digest of {} incidents", flushed.incidents);
+        } catch (RuntimeException e) {
+            log.warn("Could not queue admin digest of {} incidents, retrying with the next window: {}",
+                    flushed.incidents, e.getMessage());
+            synchronized (this) {
+                window.merge(flushed);
+            }
+        }
+    }
+
+    public synchronized long getPendingCount() {
+        return window.incidents;
+    }
+
+    private boolean isUrgent(IncidentPriority priority) {
+        return priority != null && immediatePriority != null && priority.compareTo(immediatePriority) >= 0;
+    }
+
+    private synchronized void record(String type, String district, IncidentPriority priority) {
+        window.incidents++;
+        window.byType.merge(label(type), 1L, Long::sum);
+        window.byDistrict.merge(label(district), 1L, Long::sum);
+        window.byPriority.merge(priority != null ? priority : IncidentPriority.MEDIUM, 1L, Long::sum);
+    }
+
+    private static String summarise(Window flushed) {
+        long minutes = Math.max(1, Math.round((System.currentTimeMillis() - flushed.startedAtMs) / 60000.0));
+        StringBuilder message = new StringBuilder()
+                .append(flushed.incidents).append(" more incidents reported in the last ")
+                .append(minutes).append(" min. Priority: ");
+        // Highest priority first
+        for (int i = IncidentPriority.values().length - 1; i >= 0; i--) {
+            Long count = flushed.byPriority.get(IncidentPriority.values()[i]);
+            if (count != null) {
+                message.append(IncidentPriority.values()[i]).append(' ').append(count).append(", ");
+            }
+        }
+        message.setLength(message.length() - 2);
+        message.append(". Types: ").append(top(flushed.byType))
+                .append(". Districts: ").append(top(flushed.byDistrict)).append('.');
+        return message.length() <= MAX_MESSAGE_LENGTH
+                ? message.toString()
+                : message.substring(0, MAX_MESSAGE_LENGTH - 3) + "...";
+    }
+
+    private static String top(Map<String, Long> counts) {
+        String top = counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_ENTRIES)
+                .map(entry -> entry.getKey() + " " + entry.getValue())
+                .collect(Collectors.joining(", "));
+        return counts.size() > TOP_ENTRIES ? top + " (+" + (counts.size() - TOP_ENTRIES) + " more)" : top;
+    }
+
+    private static String label(String value) {
+        return value == null || value.isBlank() ? "Unspecified" : value.trim();
+    }
+
+    private static final class Window {
+        final long startedAtMs;
+        boolean leadingNotified;
+        long incidents;
+        final Map<String, Long> byType = new HashMap<>();
+        final Map<String, Long> byDistrict = new HashMap<>();
+        final Map<IncidentPriority, Long> byPriority = new EnumMap<>(IncidentPriority.class);
+
+        Window(long startedAtMs) {
+            this.startedAtMs = startedAtMs;
+        }
+
+        void merge(Window other) {
+            incidents += other.incidents;
+            other.byType.forEach((key, count) -> byType.merge(key, count, Long::sum));
+            other.byDistrict.forEach((key, count) -> byDistrict.merge(key, count, Long::sum));
+            other.byPriority.forEach((key, count) -> byPriority.merge(key, count, Long::sum));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.civiguard.service;
+
+import com.civiguard.repository.AlertReadReceiptRepository;
+import com.civiguard.util.IdBitmap;
+import com.civiguard.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Alert read receipts, kept in {@code alert_read_by_users} and cached as one
+ * {@link IdBitmap} of reader IDs per alert.
+ * <p>
+ * An alert's bitmap is loaded on first use and then updated after every new receipt
+ * commits, so per-user read status and read counts never touch the database or load
+ * entities. Bitmaps not used for {@code app.alerts.read-receipts.idle-eviction-ms} are
+ * dropped, as are the least recently used ones beyond
+ * {@code app.alerts.read-receipts.max-cached-alerts}.
+ */
+@Service
+@Slf4j
+public class AlertReadReceiptService {
+
+    private final AlertReadReceiptRepository alertReadReceiptRepository;
+    private final TransactionTemplate readTransaction;
+    private final Map<Long, Readers> readers = new ConcurrentHashMap<>();
+
+    @Value("${app.alerts.read-receipts.max-cached-alerts:1000}")
+    private int maxCachedAlerts = 1000;
+
+    @Value("${app.alerts.read-receipts.idle-eviction-ms:3600000}")
+    private long idleEvictionMs = 3600000;
+
+    public AlertReadReceiptService(AlertReadReceiptRepository alertReadReceiptRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.alertReadReceiptRepository = alertReadReceiptRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public boolean isRead(Long alertId, Long userId) {
+        return userId != null && readers(alertId).contains(userId);
+    }
+
+    public long getReadCount(Long alertId) {
+        return readers(alertId).count();
+    }
+
+    /**
+     * Records that the user read the alert.
+     *
+     * @return whether this is the user's first read
+     */
+    @Transactional
+    public boolean markRead(Long alertId, Long userId) {
+        if (isRead(alertId, userId)) {
+            return false;
+        }
+        boolean inserted = alertReadReceiptRepository.insertIfAbsent(alertId, userId, LocalDateTime.now()) > 0;
+        if (inserted) {
+            // Waits for a concurrent load of the same alert, which may have missed this row
+            TransactionUtils.afterCommit(() -> readers.computeIfPresent(alertId, (id, cached) -> {
+                cached.add(userId);
+                return cached;
+            }));
+        }
+        return inserted;
+    }
+
+    @Scheduled(fixedDelayString = "${app.alerts.read-receipts.sweep-interval-ms:300000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMs;
+        readers.values().removeIf(cached -> cached.lastUsedMs < cutoff);
+    }
+
+    private Readers readers(Long alertId) {
+        Readers cached = readers.get(alertId);
+        if (cached == null) {
+            cached = readers.computeIfAbsent(alertId, this::load);
+            evictOverflow();
+        }
+        cached.lastUsedMs = System.currentTimeMillis();
+        return cached;
+    }
+
+    private Readers load(Long alertId) {
+        Readers loaded = new Readers();
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<Long> userIds = alertReadReceiptRepository.streamUserIdsByAlertId(alertId)) {
+                userIds.forEach(loaded::add);
+            }
+        });
+        log.debug("Loaded {} read receipts for alert {} ({} bytes)", loaded.count(), alertId, loaded.sizeInBytes());
+        return loaded;
+    }
+
+    private void evictOverflow() {
+        int excess = readers.size() - maxCachedAlerts;
+        if (excess <= 0) {
+            return;
+        }
+        readers.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedMs))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(readers::remove);
+    }
+
+    private static final class Readers {
+        private final IdBitmap userIds = new IdBitmap();
+        private volatile long lastUsedMs = System.currentTimeMillis();
+
+        private synchronized boolean contains(long userId) {
+            return userIds.contains(userId);
+        }
+
+        private synchronized void add(long userId) {
+            userIds.add(userId);
+        }
+
+        private synchronized long count() {
+            return userIds.cardinality();
+        }
+
+        private synchronized long sizeInBytes() {
+            return userIds.sizeInBytes();
+        }
+    }
+}
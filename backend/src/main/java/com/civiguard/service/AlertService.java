@@ -1,16 +1,24 @@
 package com.civiguard.service;
 
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.alert.AlertRequest;
 import com.civiguard.dto.alert.AlertResponse;
+import com.civiguard.dto.notification.NotificationFanOutStatus;
+import com.civiguard.event.AlertDeliveryPayload;
 import com.civiguard.exception.ResourceNotFoundException;
 import com.civiguard.model.Alert;
+import com.civiguard.model.Location;
+import com.civiguard.model.NotificationLane;
 import com.civiguard.model.User;
 import com.civiguard.repository.AlertRepository;
 import com.civiguard.repository.UserRepository;
+import com.civiguard.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,9 +32,15 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AlertService {
 
+    public static final String ALERT_NOTIFICATIONS_EVENT = "ALERT_NOTIFICATIONS";
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final AlertRepository alertRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final NotificationFanOutService notificationFanOutService;
+    private final CitizenLocationIndex citizenLocationIndex;
+    private final OutboxService outboxService;
+    private final AlertReadReceiptService alertReadReceiptService;
 
     @Transactional
     public AlertResponse createAlert(AlertRequest request, Long userId) {
@@ -47,94 +61,99 @@ public class AlertService {
         Alert savedAlert = alertRepository.save(alert);
         log.info("Alert created: {}", savedAlert.getId());
         
-        // Notify citizens based on the alert's location
-        notifyUsersInArea(savedAlert);
+        // Notify citizens based on the alert's location once the alert is committed
+        String notificationJobId = NotificationFanOutService.newJobId();
+        outboxService.enqueue("Alert", savedAlert.getId(), ALERT_NOTIFICATIONS_EVENT,
+                new AlertDeliveryPayload(savedAlert.getId(), notificationJobId),
+                NotificationLane.forAlert(savedAlert.getSeverity()).ordinal(), notificationJobId);
 
         // Pass the creator as the current user for the response
-        return mapToResponse(savedAlert, user);
+        AlertResponse response = mapToResponse(savedAlert, user);
+        response.setNotificationJobId(notificationJobId);
+        return response;
     }
 
     @Transactional(readOnly = true)
     public AlertResponse getAlertById(Long id) {
-        Alert alert = alertRepository.findByIdWithReadByUsers(id)
+        Alert alert = alertRepository.findByIdWithCreator(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alert", "id", id));
         return mapToResponse(alert, null);
     }
     
     @Transactional(readOnly = true)
     public AlertResponse getAlertById(Long id, User currentUser) {
-        Alert alert = alertRepository.findByIdWithReadByUsers(id)
+        Alert alert = alertRepository.findByIdWithCreator(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alert", "id", id));
         return mapToResponse(alert, currentUser);
     }
     
     @Transactional
     public AlertResponse markAlertAsRead(Long alertId, Long userId) {
-        // Use findByIdWithReadByUsers to ensure the readByUsers collection is initialized
-        Alert alert = alertRepository.findByIdWithReadByUsers(alertId)
+        Alert alert = alertRepository.findByIdWithCreator(alertId)
                 .orElseThrow(() -> new ResourceNotFoundException("Alert", "id", alertId));
-        
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-                
-        if (!alert.isReadByUser(user)) {
-            alert.markAsReadByUser(user);
-            alert = alertRepository.save(alert);
+
+        long readCount = alertReadReceiptService.getReadCount(alertId);
+        if (alertReadReceiptService.markRead(alertId, userId)) {
+            // The cached receipts only pick up the new one after commit
+            readCount++;
             log.info("Alert {} marked as read by user {}", alertId, userId);
         }
-        
-        return mapToResponse(alert, user);
+
+        AlertResponse response = mapToResponseForUser(alert, userId);
+        response.setRead(true);
+        response.setReadCount(readCount);
+        return response;
     }
 
     @Transactional(readOnly = true)
     public Page<AlertResponse> getAllAlerts(Pageable pageable) {
-        Page<Alert> alerts = alertRepository.findAllWithReadByUsers(pageable);
+        Page<Alert> alerts = alertRepository.findAllWithCreator(pageable);
         return alerts.map(alert -> mapToResponse(alert, null));
     }
     
     @Transactional(readOnly = true)
     public Page<AlertResponse> getAllAlerts(Pageable pageable, User currentUser) {
-        Page<Alert> alerts = alertRepository.findAllWithReadByUsers(pageable);
+        Page<Alert> alerts = alertRepository.findAllWithCreator(pageable);
         return alerts.map(alert -> mapToResponse(alert, currentUser));
     }
 
     @Transactional(readOnly = true)
-    public Page<AlertResponse> getActiveAlerts(Pageable pageable) {
-        // For non-paginated active alerts with read status, we need to fetch all and convert to page
-        List<Alert> activeAlerts = alertRepository.findActiveAlertsWithReadByUsers();
-        return new org.springframework.data.domain.PageImpl<>(
-            activeAlerts.stream()
-                .map(alert -> mapToResponse(alert, null))
-                .collect(Collectors.toList()),
-            pageable,
-            activeAlerts.size()
-        );
+    public Page<AlertResponse> getActiveAlerts(Pageable pageable, User currentUser) {
+        Pageable newestFirst = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
+        return alertRepository.findActiveWithCreator(newestFirst).map(alert -> mapToResponse(alert, currentUser));
     }
-    
+
+    /**
+     * Keyset page of active alerts, newest first. Each page is one indexed range scan of
+     * {@code size + 1} rows, and read status comes from the cached receipts.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     */
     @Transactional(readOnly = true)
-    public Page<AlertResponse> getActiveAlerts(Pageable pageable, User currentUser) {
-        // For non-paginated active alerts with read status, we need to fetch all and convert to page
-        List<Alert> activeAlerts = alertRepository.findActiveAlertsWithReadByUsers();
-        return new org.springframework.data.domain.PageImpl<>(
-            activeAlerts.stream()
-                .map(alert -> mapToResponse(alert, currentUser))
-                .collect(Collectors.toList()),
-            pageable,
-            activeAlerts.size()
-        );
+    public CursorPage<AlertResponse> getActiveAlerts(String cursor, Integer size, User currentUser) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Alert> alerts = after == null
+                ? alertRepository.findActiveFirstPage(limit)
+                : alertRepository.findActiveAfter(after.getCreatedAt(), after.getId(), limit);
+
+        return CursorPage.of(alerts, pageSize, Alert::getCreatedAt, Alert::getId,
+                alert -> mapToResponse(alert, currentUser));
     }
 
     @Transactional(readOnly = true)
     public List<AlertResponse> getActiveAlertsByDistrict(String district, User currentUser) {
-        return alertRepository.findActiveByDistrictWithReadByUsers(district).stream()
+        return alertRepository.findActiveByDistrictWithCreator(district).stream()
                 .map(alert -> mapToResponse(alert, currentUser))
                 .collect(Collectors.toList());
     }
 
     @Transactional
     public AlertResponse updateAlertStatus(Long id, boolean isActive, User currentUser) {
-        // Use findByIdWithReadByUsers to ensure the readByUsers collection is initialized
-        Alert alert = alertRepository.findByIdWithReadByUsers(id)
+        Alert alert = alertRepository.findByIdWithCreator(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alert", "id", id));
         alert.setActive(isActive);
         
@@ -180,18 +199,50 @@ public class AlertService {
         return alertRepository.findAll(spec, pageable).map(alert -> mapToResponse(alert, currentUser));
     }
 
-    private void notifyUsersInArea(Alert alert) {
-        List<User> citizens = userRepository.findByRole(User.Role.CITIZEN);
-        
+    public NotificationFanOutStatus getNotificationJob(String jobId) {
+        return notificationFanOutService.getJob(jobId);
+    }
+
+    /**
+     * Starts the citizen notifications of an alert. Called by the outbox relay.
+     */
+    @Transactional
+    public void deliverNotifications(AlertDeliveryPayload payload) {
+        alertRepository.findById(payload.getAlertId()).ifPresentOrElse(
+                alert -> notifyUsersInArea(alert, payload.getJobId()),
+                () -> log.warn("Alert {} no longer exists, skipping its notifications", payload.getAlertId()));
+    }
+
+    private void notifyUsersInArea(Alert alert, String jobId) {
         String message = alert.getSeverity() + " ALERT: " + alert.getTitle();
-        for (User citizen : citizens) {
-            notificationService.createNotification(citizen, message, "SAFETY_ALERT");
+        Location location = alert.getLocation();
+        String district = location != null ? location.getDistrict() : null;
+        NotificationLane lane = NotificationLane.forAlert(alert.getSeverity());
+
+        if (location != null && location.getLatitude() != null && location.getLongitude() != null
+                && alert.getRadius() != null && alert.getRadius() > 0) {
+            // Citizens living inside the radius, plus those without coordinates in the alert's district
+            long[] recipients = citizenLocationIndex.findWithinRadius(
+                    location.getLatitude(), location.getLongitude(), alert.getRadius(), district);
+            notificationFanOutService.fanOutToUsers(jobId, lane, recipients,
+                    "radius:" + alert.getRadius() + "km", message, "SAFETY_ALERT");
+            log.info("Queued {} citizen notifications for alert {} as job {}", recipients.length, alert.getId(), jobId);
+        } else if (district != null && !district.isBlank()) {
+            long[] recipients = citizenLocationIndex.findInDistrict(district);
+            notificationFanOutService.fanOutToUsers(jobId, lane, recipients, "district:" + district, message, "SAFETY_ALERT");
+            log.info("Queued {} citizen notifications for alert {} as job {}", recipients.length, alert.getId(), jobId);
+        } else {
+            // No area given: the alert is for everyone
+            notificationFanOutService.fanOutToRole(jobId, lane, User.Role.CITIZEN, message, "SAFETY_ALERT");
+            log.info("Queued citizen notifications for alert {} as job {}", alert.getId(), jobId);
         }
-        
-        log.info("Notified {} citizens about new alert: {}", citizens.size(), alert.getId());
     }
 
     private AlertResponse mapToResponse(Alert alert, User currentUser) {
+        return mapToResponseForUser(alert, currentUser != null ? currentUser.getId() : null);
+    }
+
+    private AlertResponse mapToResponseForUser(Alert alert, Long currentUserId) {
         AlertResponse response = new AlertResponse();
         response.setId(alert.getId());
         response.setTitle(alert.getTitle());
@@ -203,9 +254,12 @@ public class AlertService {
         response.setEndTime(alert.getEndTime());
         response.setActive(alert.isActive());
         
-        // Set read status if current user is provided
-        if (currentUser != null) {
-            response.setRead(alert.isReadByUser(currentUser));
+        // Read status and count come from the cached receipts, without loading readers
+        if (alert.getId() != null) {
+            if (currentUserId != null) {
+                response.setRead(alertReadReceiptService.isRead(alert.getId(), currentUserId));
+            }
+            response.setReadCount(alertReadReceiptService.getReadCount(alert.getId()));
         }
 
         if (alert.getCreatedBy() != null) {
@@ -0,0 +1,433 @@
+package com.civiguard.service;
+
+import com.civiguard.model.Address;
+import com.civiguard.model.User;
+import com.civiguard.repository.UserRepository;
+import com.civiguard.util.GeoUtils;
+import com.civiguard.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of where active citizens live, used to resolve an alert's area to its recipients.
+ * <p>
+ * Citizens with home coordinates are kept in fixed-size lat/lng cells, so a radius
+ * query only measures the citizens of the cells its bounding box overlaps. Every
+ * citizen with a district is also kept in a district partition; citizens without
+ * coordinates are matched on district instead, so an alert still reaches them when
+ * it falls in their district.
+ * <p>
+ * Profile changes are applied after commit and the index is rebuilt every
+ * {@code app.alerts.targeting.refresh-interval-ms}. Writers are serialised and replace
+ * cell and partition arrays, so queries need no locking.
+ */
+@Service
+@Slf4j
+public class CitizenLocationIndex {
+
+    private static final long[] NO_USERS = new long[0];
+
+    private final UserRepository userRepository;
+    private final double cellSizeDeg;
+
+    private volatile State state = new State();
+    // Changes committed while a rebuild is reading the database, replayed onto the new state
+    private List<Entry> journal;
+
+    public CitizenLocationIndex(
+            UserRepository userRepository,
+            @Value("${app.alerts.targeting.cell-size-deg:0.05}") double cellSizeDeg) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("Citizen index cell size must be positive");
+        }
+        this.userRepository = userRepository;
+        this.cellSizeDeg = cellSizeDeg;
+    }
+
+    /**
+     * Rebuilds the index from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.alerts.targeting.refresh-interval-ms:900000}",
+            fixedDelayString = "${app.alerts.targeting.refresh-interval-ms:900000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            List<Object[]> rows = userRepository.findHomeLocationRows(User.Role.CITIZEN);
+            Map<Long, List<Entry>> cellEntries = new HashMap<>();
+            Map<String, List<Entry>> districtEntries = new HashMap<>();
+            State rebuilt = new State();
+            for (Object[] row : rows) {
+                Entry entry = entry((Long) row[0], (Double) row[1], (Double) row[2], (String) row[3]);
+                if (entry == null) {
+                    continue;
+                }
+                rebuilt.entries.put(entry.userId, entry);
+                if (entry.hasCoordinates()) {
+                    cellEntries.computeIfAbsent(entry.cellKey, key -> new ArrayList<>()).add(entry);
+                }
+                if (entry.district != null) {
+                    districtEntries.computeIfAbsent(entry.district, key -> new ArrayList<>()).add(entry);
+                }
+            }
+            cellEntries.forEach((key, entries) -> rebuilt.cells.put(key, Cell.of(entries)));
+            districtEntries.forEach((district, entries) ->
+                    rebuilt.districts.put(district, sortedIds(entries)));
+
+            synchronized (this) {
+                for (Entry entry : journal) {
+                    upsert(rebuilt, entry);
+                }
+                state = rebuilt;
+            }
+            log.info("Citizen location index loaded {} citizens in {} cells and {} districts",
+                    rebuilt.entries.size(), rebuilt.cells.size(), rebuilt.districts.size());
+        } catch (Exception e) {
+            log.error("Error loading citizen location index", e);
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Indexes, moves or drops a user once the surrounding transaction commits.
+     * Only active citizens are indexed.
+     */
+    public void onUserSaved(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        Address address = user.getAddress();
+        Entry entry = user.getRole() == User.Role.CITIZEN && user.isActive() && address != null
+                ? entry(user.getId(), address.getLatitude(), address.getLongitude(), address.getDistrict())
+                : null;
+        Entry change = entry != null ? entry : Entry.removed(user.getId());
+        TransactionUtils.afterCommit(() -> apply(change));
+    }
+
+    /**
+     * Resolves the citizens living within {@code radiusKm} of a point, plus citizens
+     * without home coordinates whose district is {@code district}.
+     *
+     * @return sorted, distinct user IDs
+     */
+    public long[] findWithinRadius(double latitude, double longitude, double radiusKm, String district) {
+        State current = state;
+        IdBuffer ids = new IdBuffer();
+
+        if (radiusKm > 0) {
+            double latDelta = GeoUtils.kmToLatDegrees(radiusKm);
+            double lngDelta = Math.min(GeoUtils.kmToLngDegrees(radiusKm, latitude), 180);
+            int fromRow = cellIndex(latitude - latDelta + 90);
+            int toRow = cellIndex(latitude + latDelta + 90);
+            int fromCol = cellIndex(longitude - lngDelta + 180);
+            int toCol = cellIndex(longitude + lngDelta + 180);
+            long cellsInBox = (long) (toRow - fromRow + 1) * (toCol - fromCol + 1);
+
+            if (cellsInBox <= current.cells.size()) {
+                for (int row = fromRow; row <= toRow; row++) {
+                    for (int col = fromCol; col <= toCol; col++) {
+                        Cell cell = current.cells.get(cellKey(row, col));
+                        if (cell != null) {
+                            collect(cell, latitude, longitude, radiusKm, ids);
+                        }
+                    }
+                }
+            } else {
+                // A radius wider than the populated area: scanning every cell is cheaper
+                for (Cell cell : current.cells.values()) {
+                    collect(cell, latitude, longitude, radiusKm, ids);
+                }
+            }
+        }
+
+        String districtKey = normalize(district);
+        if (districtKey != null) {
+            for (long userId : current.districts.getOrDefault(districtKey, NO_USERS)) {
+                Entry entry = current.entries.get(userId);
+                if (entry != null && !entry.hasCoordinates()) {
+                    ids.add(userId);
+                }
+            }
+        }
+        return ids.toSortedDistinct();
+    }
+
+    /**
+     * Returns every indexed citizen whose home district is {@code district}.
+     *
+     * @return sorted user IDs
+     */
+    public long[] findInDistrict(String district) {
+        String districtKey = normalize(district);
+        if (districtKey == null) {
+            return NO_USERS;
+        }
+        return state.districts.getOrDefault(districtKey, NO_USERS).clone();
+    }
+
+    public int size() {
+        return state.entries.size();
+    }
+
+    private synchronized void apply(Entry entry) {
+        if (journal != null) {
+            journal.add(entry);
+        }
+        upsert(state, entry);
+    }
+
+    private void upsert(State target, Entry entry) {
+        Entry previous = entry.removed
+                ? target.entries.remove(entry.userId)
+                : target.entries.put(entry.userId, entry);
+        if (previous != null) {
+            if (previous.hasCoordinates()) {
+                Cell cell = target.cells.get(previous.cellKey);
+                Cell updated = cell != null ? cell.without(previous.userId) : null;
+                if (updated == null) {
+                    target.cells.remove(previous.cellKey);
+                } else {
+                    target.cells.put(previous.cellKey, updated);
+                }
+            }
+            if (previous.district != null) {
+                long[] updated = without(target.districts.getOrDefault(previous.district, NO_USERS), previous.userId);
+                if (updated.length == 0) {
+                    target.districts.remove(previous.district);
+                } else {
+                    target.districts.put(previous.district, updated);
+                }
+            }
+        }
+        if (entry.removed) {
+            return;
+        }
+        if (entry.hasCoordinates()) {
+            Cell cell = target.cells.get(entry.cellKey);
+            target.cells.put(entry.cellKey, cell != null ? cell.with(entry) : Cell.of(List.of(entry)));
+        }
+        if (entry.district != null) {
+            target.districts.put(entry.district,
+                    with(target.districts.getOrDefault(entry.district, NO_USERS), entry.userId));
+        }
+    }
+
+    private Entry entry(Long userId, Double latitude, Double longitude, String district) {
+        if (userId == null) {
+            return null;
+        }
+        boolean located = latitude != null && longitude != null
+                && Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+        String districtKey = normalize(district);
+        if (!located && districtKey == null) {
+            return null;
+        }
+        return located
+                ? new Entry(userId, latitude, longitude, cellKey(cellIndex(latitude + 90), cellIndex(longitude + 180)),
+                        districtKey, false)
+                : new Entry(userId, Double.NaN, Double.NaN, 0, districtKey, false);
+    }
+
+    private static void collect(Cell cell, double latitude, double longitude, double radiusKm, IdBuffer ids) {
+        for (int i = 0; i < cell.ids.length; i++) {
+            if (GeoUtils.distanceKm(latitude, longitude, cell.lats[i], cell.lngs[i]) <= radiusKm) {
+                ids.add(cell.ids[i]);
+            }
+        }
+    }
+
+    private static long[] sortedIds(List<Entry> entries) {
+        long[] ids = new long[entries.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entries.get(i).userId;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static long[] with(long[] sorted, long userId) {
+        int index = Arrays.binarySearch(sorted, userId);
+        if (index >= 0) {
+            return sorted;
+        }
+        int insertAt = -index - 1;
+        long[] updated = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, updated, 0, insertAt);
+        updated[insertAt] = userId;
+        System.arraycopy(sorted, insertAt, updated, insertAt + 1, sorted.length - insertAt);
+        return updated;
+    }
+
+    private static long[] without(long[] sorted, long userId) {
+        int index = Arrays.binarySearch(sorted, userId);
+        if (index < 0) {
+            return sorted;
+        }
+        long[] updated = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, updated, 0, index);
+        System.arraycopy(sorted, index + 1, updated, index, sorted.length - index - 1);
+        return updated;
+    }
+
+    private static String normalize(String district) {
+        if (district == null || district.isBlank()) {
+            return null;
+        }
+        return district.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int cellIndex(double shiftedDegrees) {
+        return (int) Math.floor(shiftedDegrees / cellSizeDeg);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class State {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+        private final Map<String, long[]> districts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * One citizen's indexed home: coordinates (NaN when unknown) and normalised district.
+     */
+    private static final class Entry {
+        private final long userId;
+        private final double latitude;
+        private final double longitude;
+        private final long cellKey;
+        private final String district;
+        private final boolean removed;
+
+        private Entry(long userId, double latitude, double longitude, long cellKey, String district, boolean removed) {
+            this.userId = userId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cellKey = cellKey;
+            this.district = district;
+            this.removed = removed;
+        }
+
+        private static Entry removed(long userId) {
+            return new Entry(userId, Double.NaN, Double.NaN, 0, null, true);
+        }
+
+        private boolean hasCoordinates() {
+            return !Double.isNaN(latitude);
+        }
+    }
+
+    /**
+     * The citizens of one grid cell as parallel arrays.
+     */
+    private static final class Cell {
+        private final long[] ids;
+        private final double[] lats;
+        private final double[] lngs;
+
+        private Cell(long[] ids, double[] lats, double[] lngs) {
+            this.ids = ids;
+            this.lats = lats;
+            this.lngs = lngs;
+        }
+
+        private static Cell of(List<Entry> entries) {
+            int size = entries.size();
+            long[] ids = new long[size];
+            double[] lats = new double[size];
+            double[] lngs = new double[size];
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries.get(i);
+                ids[i] = entry.userId;
+                lats[i] = entry.latitude;
+                lngs[i] = entry.longitude;
+            }
+            return new Cell(ids, lats, lngs);
+        }
+
+        private Cell with(Entry entry) {
+            int size = ids.length;
+            long[] newIds = Arrays.copyOf(ids, size + 1);
+            double[] newLats = Arrays.copyOf(lats, size + 1);
+            double[] newLngs = Arrays.copyOf(lngs, size + 1);
+            newIds[size] = entry.userId;
+            newLats[size] = entry.latitude;
+            newLngs[size] = entry.longitude;
+            return new Cell(newIds, newLats, newLngs);
+        }
+
+        /**
+         * @return the cell without the user, or {@code null} if it would be empty
+         */
+        private Cell without(long userId) {
+            int index = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == userId) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] newIds = new long[ids.length - 1];
+            double[] newLats = new double[ids.length - 1];
+            double[] newLngs = new double[ids.length - 1];
+            for (int i = 0, j = 0; i < ids.length; i++) {
+                if (i != index) {
+                    newIds[j] = ids[i];
+                    newLats[j] = lats[i];
+                    newLngs[j++] = lngs[i];
+                }
+            }
+            return new Cell(newIds, newLats, newLngs);
+        }
+    }
+
+    private static final class IdBuffer {
+        private long[] ids = new long[64];
+        private int size;
+
+        private void add(long userId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = userId;
+        }
+
+        private long[] toSortedDistinct() {
+            Arrays.sort(ids, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || ids[i] != ids[unique - 1]) {
+                    ids[unique++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(ids, unique);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.civiguard.service;
+
+import com.civiguard.model.GeoFence;
+import com.civiguard.model.GeoFencePoint;
+import com.civiguard.model.Location;
+import com.civiguard.util.GeoUtils;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, primitive-only copy of a {@link GeoFence}'s geometry and activation window.
+ * <p>
+ * Polygon vertices are stored as flat {@code double[]} arrays together with the
+ * slope of every edge, so {@link #contains(double, double)} neither allocates nor
+ * touches the entity graph. Instances are built once per fence version by
+ * {@link GeoFenceGeometryCache}.
+ */
+@Getter
+public final class CompiledGeoFence {
+
+    // Absorbs rounding so points exactly on a circle's edge are not rejected by the box
+    private static final double BOUNDS_PADDING_DEGREES = 1e-9;
+
+    private final long id;
+    private final GeoFence.FenceType type;
+    private final LocalDateTime version;
+
+    // Activation window in epoch millis, open-ended bounds use MIN/MAX_VALUE
+    private final long activeFrom;
+    private final long activeUntil;
+
+    private final double minLat;
+    private final double minLng;
+    private final double maxLat;
+    private final double maxLng;
+
+    private final double centerLat;
+    private final double centerLng;
+    private final double radiusKm;
+
+    // Vertex i and the edge from vertex i-1 (wrapping) to vertex i
+    private final double[] lats;
+    private final double[] lngs;
+    private final double[] edgeSlopes;
+
+    private CompiledGeoFence(long id, GeoFence.FenceType type, LocalDateTime version,
+                             long activeFrom, long activeUntil,
+                             double minLat, double minLng, double maxLat, double maxLng,
+                             double centerLat, double centerLng, double radiusKm,
+                             double[] lats, double[] lngs, double[] edgeSlopes) {
+        this.id = id;
+        this.type = type;
+        this.version = version;
+        this.activeFrom = activeFrom;
+        this.activeUntil = activeUntil;
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.maxLat = maxLat;
+        this.maxLng = maxLng;
+        this.centerLat = centerLat;
+        this.centerLng = centerLng;
+        this.radiusKm = radiusKm;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.edgeSlopes = edgeSlopes;
+    }
+
+    /**
+     * Compiles the fence geometry. Polygon points must already be initialised.
+     *
+     * @return the compiled fence, or {@code null} if the geometry is incomplete
+     */
+    public static CompiledGeoFence compile(GeoFence fence) {
+        if (fence.getId() == null || fence.getType() == null) {
+            return null;
+        }
+        if (fence.getType() == GeoFence.FenceType.CIRCLE) {
+            return compileCircle(fence);
+        }
+        if (fence.getType() == GeoFence.FenceType.POLYGON) {
+            return compilePolygon(fence);
+        }
+        return null;
+    }
+
+    private static CompiledGeoFence compileCircle(GeoFence fence) {
+        Location center = fence.getCenter();
+        if (center == null || center.getLatitude() == null || center.getLongitude() == null
+                || fence.getRadiusKm() == null) {
+            return null;
+        }
+        double lat = center.getLatitude();
+        double lng = center.getLongitude();
+        double radiusKm = fence.getRadiusKm();
+        // The box must enclose the haversine circle used by contains(), so it is derived
+        // from the same sphere. The widest east-west extent lies poleward of the centre,
+        // hence asin(sin(d) / cos(lat)) rather than d / cos(lat).
+        double angularRadius = radiusKm / GeoUtils.EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angularRadius) + BOUNDS_PADDING_DEGREES;
+        double sinRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(lat));
+        double dLng = sinRatio >= 1 || Double.isNaN(sinRatio)
+                ? 360
+                : Math.toDegrees(Math.asin(sinRatio)) + BOUNDS_PADDING_DEGREES;
+        return new CompiledGeoFence(fence.getId(), GeoFence.FenceType.CIRCLE, fence.getUpdatedAt(),
+                toEpochMillis(fence.getStartTime(), Long.MIN_VALUE), toEpochMillis(fence.getEndTime(), Long.MAX_VALUE),
+                lat - dLat, lng - dLng, lat + dLat, lng + dLng,
+                lat, lng, radiusKm, null, null, null);
+    }
+
+    private static CompiledGeoFence compilePolygon(GeoFence fence) {
+        List<GeoFencePoint> points = fence.getPolygonPoints();
+        if (points == null || points.size() < 3) {
+            return null;
+        }
+        List<GeoFencePoint> ordered = points.stream()
+                .sorted(Comparator.comparing(GeoFencePoint::getPointOrder,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        int size = ordered.size();
+        double[] lats = new double[size];
+        double[] lngs = new double[size];
+        double minLat = Double.POSITIVE_INFINITY, minLng = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY, maxLng = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            Location location = ordered.get(i).getLocation();
+            if (location == null || location.getLatitude() == null || location.getLongitude() == null) {
+                return null;
+            }
+            lats[i] = location.getLatitude();
+            lngs[i] = location.getLongitude();
+            minLat = Math.min(minLat, lats[i]);
+            maxLat = Math.max(maxLat, lats[i]);
+            minLng = Math.min(minLng, lngs[i]);
+            maxLng = Math.max(maxLng, lngs[i]);
+        }
+
+        double[] edgeSlopes = new double[size];
+        for (int i = 0, j = size - 1; i < size; j = i++) {
+            double dLng = lngs[j] - lngs[i];
+            // Vertical edges are never crossed by the ray test, so their slope is unused
+            edgeSlopes[i] = dLng == 0 ? 0 : (lats[j] - lats[i]) / dLng;
+        }
+
+        return new CompiledGeoFence(fence.getId(), GeoFence.FenceType.POLYGON, fence.getUpdatedAt(),
+                toEpochMillis(fence.getStartTime(), Long.MIN_VALUE), toEpochMillis(fence.getEndTime(), Long.MAX_VALUE),
+                minLat, minLng, maxLat, maxLng, 0, 0, 0, lats, lngs, edgeSlopes);
+    }
+
+    private static long toEpochMillis(LocalDateTime time, long defaultValue) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : defaultValue;
+    }
+
+    /**
+     * Whether the fence's start/end window includes the given instant.
+     */
+    public boolean isActiveAt(long epochMillis) {
+        return epochMillis >= activeFrom && epochMillis < activeUntil;
+    }
+
+    public boolean boundsContain(double latitude, double longitude) {
+        return latitude >= minLat && latitude <= maxLat
+                && longitude >= minLng && longitude <= maxLng;
+    }
+
+    /**
+     * Exact containment test: haversine for circles, ray casting for polygons.
+     */
+    public boolean contains(double latitude, double longitude) {
+        if (!boundsContain(latitude, longitude)) {
+            return false;
+        }
+        if (type == GeoFence.FenceType.CIRCLE) {
+            return GeoUtils.distanceKm(latitude, longitude, centerLat, centerLng) <= radiusKm;
+        }
+
+        boolean inside = false;
+        for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+            if ((lngs[i] > longitude) != (lngs[j] > longitude)
+                    && latitude < edgeSlopes[i] * (longitude - lngs[i]) + lats[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    public int vertexCount() {
+        return lats != null ? lats.length : 0;
+    }
+}
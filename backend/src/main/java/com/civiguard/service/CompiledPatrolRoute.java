@@ -0,0 +1,216 @@
+package com.civiguard.service;
+
+import com.civiguard.model.PatrolRoute;
+import com.civiguard.util.GeoUtils;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, primitive-only copy of a {@link PatrolRoute}'s waypoints.
+ * <p>
+ * Waypoints are packed into {@code double[]} arrays together with the cumulative
+ * distance from the first waypoint, and each segment is registered in every grid
+ * cell its bounding box (padded by {@code indexPaddingKm}) overlaps. Projecting a
+ * position onto the route therefore only measures the segments of one cell while
+ * the vehicle is near the route, and falls back to all segments once it is
+ * further away than the padding.
+ * <p>
+ * Segment distances are measured on a local planar projection around the route's
+ * mean latitude, which is accurate at patrol (city) scale.
+ */
+@Getter
+public final class CompiledPatrolRoute {
+
+    private final long id;
+    private final Long vehicleId;
+
+    private final double[] lats;
+    private final double[] lngs;
+    // Distance in km from the first waypoint to waypoint i along the route
+    private final double[] cumulativeKm;
+    private final double totalKm;
+
+    // Planar km coordinates of each waypoint
+    private final double[] xs;
+    private final double[] ys;
+    private final double kmPerDegreeLng;
+
+    private final double cellSizeDeg;
+    private final double indexPaddingKm;
+    // Cell key -> indexes of the segments (waypoint i to i+1) near that cell
+    private final Map<Long, int[]> segmentCells;
+
+    private CompiledPatrolRoute(long id, Long vehicleId, double[] lats, double[] lngs, double[] cumulativeKm,
+                                double[] xs, double[] ys, double kmPerDegreeLng,
+                                double cellSizeDeg, double indexPaddingKm, Map<Long, int[]> segmentCells) {
+        this.id = id;
+        this.vehicleId = vehicleId;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.cumulativeKm = cumulativeKm;
+        this.totalKm = cumulativeKm[cumulativeKm.length - 1];
+        this.xs = xs;
+        this.ys = ys;
+        this.kmPerDegreeLng = kmPerDegreeLng;
+        this.cellSizeDeg = cellSizeDeg;
+        this.indexPaddingKm = indexPaddingKm;
+        this.segmentCells = segmentCells;
+    }
+
+    /**
+     * Compiles the route's waypoints.
+     *
+     * @return the compiled route, or {@code null} if it has fewer than two valid waypoints
+     */
+    public static CompiledPatrolRoute compile(PatrolRoute route, double cellSizeDeg, double indexPaddingKm) {
+        List<PatrolRoute.Waypoint> waypoints = route.getWaypoints();
+        if (route.getId() == null || waypoints == null) {
+            return null;
+        }
+        double[] lats = new double[waypoints.size()];
+        double[] lngs = new double[waypoints.size()];
+        int size = 0;
+        for (PatrolRoute.Waypoint waypoint : waypoints) {
+            if (waypoint != null && waypoint.getLat() != null && waypoint.getLng() != null) {
+                lats[size] = waypoint.getLat();
+                lngs[size++] = waypoint.getLng();
+            }
+        }
+        if (size < 2) {
+            return null;
+        }
+        lats = Arrays.copyOf(lats, size);
+        lngs = Arrays.copyOf(lngs, size);
+
+        double meanLat = Arrays.stream(lats).average().orElse(0);
+        double kmPerDegreeLng = GeoUtils.KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(meanLat)), 0.01);
+        double[] cumulativeKm = new double[size];
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = lngs[i] * kmPerDegreeLng;
+            ys[i] = lats[i] * GeoUtils.KM_PER_DEGREE_LAT;
+            if (i > 0) {
+                cumulativeKm[i] = cumulativeKm[i - 1] + GeoUtils.distanceKm(lats[i - 1], lngs[i - 1], lats[i], lngs[i]);
+            }
+        }
+
+        Map<Long, int[]> segmentCells = new HashMap<>();
+        double padLat = GeoUtils.kmToLatDegrees(indexPaddingKm);
+        double padLng = indexPaddingKm / kmPerDegreeLng;
+        for (int segment = 0; segment < size - 1; segment++) {
+            int fromRow = cellIndex(Math.min(lats[segment], lats[segment + 1]) - padLat + 90, cellSizeDeg);
+            int toRow = cellIndex(Math.max(lats[segment], lats[segment + 1]) + padLat + 90, cellSizeDeg);
+            int fromCol = cellIndex(Math.min(lngs[segment], lngs[segment + 1]) - padLng + 180, cellSizeDeg);
+            int toCol = cellIndex(Math.max(lngs[segment], lngs[segment + 1]) + padLng + 180, cellSizeDeg);
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int col = fromCol; col <= toCol; col++) {
+                    long key = cellKey(row, col);
+                    int[] current = segmentCells.get(key);
+                    int[] updated = current == null ? new int[1] : Arrays.copyOf(current, current.length + 1);
+                    updated[updated.length - 1] = segment;
+                    segmentCells.put(key, updated);
+                }
+            }
+        }
+
+        Long vehicleId = route.getPatrolVehicle() != null ? route.getPatrolVehicle().getId() : null;
+        return new CompiledPatrolRoute(route.getId(), vehicleId, lats, lngs, cumulativeKm, xs, ys, kmPerDegreeLng,
+                cellSizeDeg, indexPaddingKm, segmentCells);
+    }
+
+    /**
+     * Projects a position onto the nearest point of the route.
+     */
+    public Projection project(double latitude, double longitude) {
+        double px = longitude * kmPerDegreeLng;
+        double py = latitude * GeoUtils.KM_PER_DEGREE_LAT;
+
+        int[] candidates = segmentCells.get(cellKey(cellIndex(latitude + 90, cellSizeDeg),
+                cellIndex(longitude + 180, cellSizeDeg)));
+        int segment = candidates != null ? nearestSegment(px, py, candidates) : -1;
+        // Any segment closer than the padding is registered in this cell, so the cell is only
+        // inconclusive when nothing in it is within the padding
+        if (segment < 0 || segmentDistanceKm(px, py, segment) > indexPaddingKm) {
+            segment = nearestSegment(px, py, null);
+        }
+
+        double t = segmentPosition(px, py, segment);
+        double segmentKm = cumulativeKm[segment + 1] - cumulativeKm[segment];
+        double alongKm = cumulativeKm[segment] + t * segmentKm;
+        return new Projection(segment, alongKm, totalKm > 0 ? alongKm / totalKm : 1,
+                segmentDistanceKm(px, py, segment));
+    }
+
+    public int waypointCount() {
+        return lats.length;
+    }
+
+    public int segmentCount() {
+        return lats.length - 1;
+    }
+
+    private int nearestSegment(double px, double py, int[] segments) {
+        int count = segments != null ? segments.length : lats.length - 1;
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int segment = segments != null ? segments[i] : i;
+            double distance = segmentDistanceKm(px, py, segment);
+            // Ties go to the earlier segment so progress does not jump ahead at shared vertices
+            if (distance < bestDistance || (distance == bestDistance && segment < best)) {
+                bestDistance = distance;
+                best = segment;
+            }
+        }
+        return best;
+    }
+
+    private double segmentPosition(double px, double py, int segment) {
+        double dx = xs[segment + 1] - xs[segment];
+        double dy = ys[segment + 1] - ys[segment];
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return 0;
+        }
+        double t = ((px - xs[segment]) * dx + (py - ys[segment]) * dy) / lengthSquared;
+        return Math.max(0, Math.min(1, t));
+    }
+
+    private double segmentDistanceKm(double px, double py, int segment) {
+        double t = segmentPosition(px, py, segment);
+        double dx = px - (xs[segment] + t * (xs[segment + 1] - xs[segment]));
+        double dy = py - (ys[segment] + t * (ys[segment + 1] - ys[segment]));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static int cellIndex(double shiftedDegrees, double cellSizeDeg) {
+        return (int) Math.floor(shiftedDegrees / cellSizeDeg);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Where a position falls relative to the route.
+     */
+    @Getter
+    public static final class Projection {
+        private final int segmentIndex;
+        private final double alongKm;
+        private final double fraction;
+        private final double offRouteKm;
+
+        private Projection(int segmentIndex, double alongKm, double fraction, double offRouteKm) {
+            this.segmentIndex = segmentIndex;
+            this.alongKm = alongKm;
+            this.fraction = fraction;
+            this.offRouteKm = offRouteKm;
+        }
+    }
+}
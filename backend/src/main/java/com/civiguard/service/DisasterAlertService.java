@@ -1,10 +1,15 @@
 
 package com.civiguard.service;
 
+import com.civiguard.dto.disaster.DisasterAlertDeliveryProgress;
 import com.civiguard.dto.disaster.DisasterAlertRequest;
 import com.civiguard.dto.disaster.DisasterAlertResponse;
 import com.civiguard.exception.ResourceNotFoundException;
+import com.civiguard.dto.notification.NotificationFanOutStatus;
+import com.civiguard.event.AlertDeliveryPayload;
 import com.civiguard.model.DisasterAlert;
+import com.civiguard.model.Location;
+import com.civiguard.model.NotificationLane;
 import com.civiguard.model.User;
 import com.civiguard.repository.DisasterAlertRepository;
 import com.civiguard.repository.UserRepository;
@@ -14,7 +19,11 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,10 +31,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DisasterAlertService {
 
+    public static final String DISASTER_ALERT_NOTIFICATIONS_EVENT = "DISASTER_ALERT_NOTIFICATIONS";
+    private static final String DISASTER_ALERTS_TOPIC = "/topic/disaster-alerts";
+
     private final DisasterAlertRepository disasterAlertRepository;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
-    private final NotificationService notificationService;
+    private final NotificationFanOutService notificationFanOutService;
+    private final CitizenLocationIndex citizenLocationIndex;
+    private final OutboxService outboxService;
 
     @Transactional
     public DisasterAlertResponse createDisasterAlert(DisasterAlertRequest request, Long userId) {
@@ -50,12 +64,17 @@ public class DisasterAlertService {
         DisasterAlert savedAlert = disasterAlertRepository.save(alert);
         
         // Send WebSocket notification
-        messagingTemplate.convertAndSend("/topic/disaster-alerts", mapToResponse(savedAlert));
+        messagingTemplate.convertAndSend(DISASTER_ALERTS_TOPIC, mapToResponse(savedAlert));
         
-        // Notify all users in affected areas
-        notifyUsersInAffectedAreas(savedAlert);
+        // Notify all users in affected areas once the alert is committed; delivery runs in the background
+        String deliveryJobId = NotificationFanOutService.newJobId();
+        outboxService.enqueue("DisasterAlert", savedAlert.getId(), DISASTER_ALERT_NOTIFICATIONS_EVENT,
+                new AlertDeliveryPayload(savedAlert.getId(), deliveryJobId),
+                NotificationLane.forDisaster(savedAlert.getSeverity()).ordinal(), deliveryJobId);
         
-        return mapToResponse(savedAlert);
+        DisasterAlertResponse response = mapToResponse(savedAlert);
+        response.setDeliveryJobId(deliveryJobId);
+        return response;
     }
 
     @Transactional(readOnly = true)
@@ -102,23 +121,82 @@ public class DisasterAlertService {
         DisasterAlert savedAlert = disasterAlertRepository.save(alert);
         
         // Send WebSocket notification
-        messagingTemplate.convertAndSend("/topic/disaster-alerts", mapToResponse(savedAlert));
+        messagingTemplate.convertAndSend(DISASTER_ALERTS_TOPIC, mapToResponse(savedAlert));
         
         return mapToResponse(savedAlert);
     }
 
-    private void notifyUsersInAffectedAreas(DisasterAlert alert) {
-        // This method would use the NotificationService to send notifications to users
-        // For now, we'll log the action
-        log.info("Notifying users in affected areas about disaster alert: {}", alert.getId());
-        
-        // Example implementation:
+    public NotificationFanOutStatus getDeliveryJob(String jobId) {
+        return notificationFanOutService.getJob(jobId);
+    }
+
+    /**
+     * Starts the citizen notifications of a disaster alert. Called by the outbox relay.
+     */
+    @Transactional
+    public void deliverNotifications(AlertDeliveryPayload payload) {
+        disasterAlertRepository.findById(payload.getAlertId()).ifPresentOrElse(
+                alert -> notifyUsersInAffectedAreas(alert, payload.getJobId()),
+                () -> log.warn("Disaster alert {} no longer exists, skipping its notifications", payload.getAlertId()));
+    }
+
+    /**
+     * Queues notifications to citizens around the epicenter and in every affected area.
+     * Each of those is one partition, delivered in parallel; citizens in several of them
+     * are notified once. Progress is published on {@value #DISASTER_ALERTS_TOPIC}.
+     */
+    private void notifyUsersInAffectedAreas(DisasterAlert alert, String jobId) {
+        Long alertId = alert.getId();
         String message = alert.getTitle() + ": " + alert.getDescription();
-        for (String area : alert.getAffectedAreas()) {
-            // Find users in this area and notify them
-            // This is simplified - would need more complex logic in real implementation
-            log.info("Sending notifications to users in area: {}", area);
-        }
+
+        // Copy what the partitions need now; they are resolved after the transaction ends
+        List<String> areas = alert.getAffectedAreas() != null ? new ArrayList<>(alert.getAffectedAreas()) : List.of();
+        Location epicenter = alert.getEpicenter();
+        Double radiusKm = alert.getImpactRadiusKm();
+        boolean hasImpactZone = epicenter != null && epicenter.getLatitude() != null
+                && epicenter.getLongitude() != null && radiusKm != null && radiusKm > 0;
+        double latitude = hasImpactZone ? epicenter.getLatitude() : 0;
+        double longitude = hasImpactZone ? epicenter.getLongitude() : 0;
+
+        Supplier<Map<String, long[]>> partitions = () -> {
+            Map<String, long[]> resolved = new LinkedHashMap<>();
+            if (hasImpactZone) {
+                resolved.put("epicenter", citizenLocationIndex.findWithinRadius(latitude, longitude, radiusKm, null));
+            }
+            for (String area : areas) {
+                resolved.putIfAbsent("area:" + area, citizenLocationIndex.findInDistrict(area));
+            }
+            return resolved;
+        };
+
+        notificationFanOutService.fanOutToPartitions(jobId, NotificationLane.forDisaster(alert.getSeverity()),
+                "disaster:" + alertId, message, "DISASTER_ALERT", partitions,
+                status -> publishDeliveryProgress(alertId, status));
+        log.info("Queued notifications for disaster alert {} as job {} ({} areas, impact zone: {})",
+                alertId, jobId, areas.size(), hasImpactZone);
+    }
+
+    private void publishDeliveryProgress(Long alertId, NotificationFanOutStatus status) {
+        DisasterAlertDeliveryProgress.Event event = switch (status.getState()) {
+            case COMPLETED -> DisasterAlertDeliveryProgress.Event.DELIVERY_COMPLETED;
+            case FAILED -> DisasterAlertDeliveryProgress.Event.DELIVERY_FAILED;
+            default -> status.getBatches() == 0
+                    ? DisasterAlertDeliveryProgress.Event.DELIVERY_STARTED
+                    : DisasterAlertDeliveryProgress.Event.DELIVERY_PROGRESS;
+        };
+        messagingTemplate.convertAndSend(DISASTER_ALERTS_TOPIC, DisasterAlertDeliveryProgress.builder()
+                .event(event)
+                .alertId(alertId)
+                .jobId(status.getJobId())
+                .state(status.getState())
+                .partitions(status.getPartitions())
+                .totalRecipients(status.getTotalRecipients())
+                .delivered(status.getDelivered())
+                .duplicatesSkipped(status.getDuplicatesSkipped())
+                .progressPercent(status.getProgressPercent())
+                .error(status.getError())
+                .timestamp(System.currentTimeMillis())
+                .build());
     }
 
     private DisasterAlertResponse mapToResponse(DisasterAlert alert) {
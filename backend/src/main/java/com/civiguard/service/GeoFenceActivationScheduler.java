@@ -0,0 +1,199 @@
+package com.civiguard.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves fences into and out of the {@link GeoFenceIndex} at the boundaries of
+ * their {@code startTime}/{@code endTime} window.
+ * <p>
+ * Upcoming boundaries are kept in a priority queue ordered by time, and a single
+ * timer is armed for the earliest one. The index therefore only ever holds fences
+ * that are in their window, and lookups never filter by time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeoFenceActivationScheduler {
+
+    private final GeoFenceIndex geoFenceIndex;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "geofence-activation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PriorityQueue<Boundary> boundaries =
+            new PriorityQueue<>(Comparator.comparingLong(Boundary::at));
+    // Latest registration per fence; boundaries from older registrations are ignored
+    private final Map<Long, Registration> registrations = new HashMap<>();
+    // Changes made while a rebuild is reading the database, replayed onto its snapshot
+    private List<Change> journal;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt = Long.MAX_VALUE;
+    private long generation;
+
+    /**
+     * Registers a fence, indexing it now if it is inside its window and scheduling
+     * its remaining boundaries.
+     */
+    public synchronized void register(CompiledGeoFence fence) {
+        if (journal != null) {
+            journal.add(new Change(fence.getId(), fence));
+        }
+        long now = System.currentTimeMillis();
+        Registration registration = new Registration(fence, ++generation);
+        registrations.put(fence.getId(), registration);
+
+        if (fence.isActiveAt(now)) {
+            geoFenceIndex.put(fence);
+        } else {
+            geoFenceIndex.remove(fence.getId());
+        }
+        scheduleBoundaries(registration, now);
+        armTimer();
+    }
+
+    /**
+     * Forgets a fence and removes it from the index immediately.
+     */
+    public synchronized void unregister(Long fenceId) {
+        if (journal != null) {
+            journal.add(new Change(fenceId, null));
+        }
+        registrations.remove(fenceId);
+        geoFenceIndex.remove(fenceId);
+    }
+
+    /**
+     * Starts recording {@link #register}/{@link #unregister} calls, so that a snapshot
+     * read from the database afterwards can be passed to {@link #replaceAll} without
+     * losing changes committed in the meantime. Must be paired with {@link #endReplace()}.
+     */
+    public synchronized void beginReplace() {
+        journal = new ArrayList<>();
+    }
+
+    public synchronized void endReplace() {
+        journal = null;
+    }
+
+    /**
+     * Replaces all registrations, rebuilding the index from the fences that are
+     * currently inside their window. Changes recorded since {@link #beginReplace()}
+     * are applied on top, and recording stops.
+     */
+    public synchronized void replaceAll(Collection<CompiledGeoFence> fences) {
+        long now = System.currentTimeMillis();
+        registrations.clear();
+        boundaries.clear();
+
+        List<CompiledGeoFence> activeNow = new ArrayList<>();
+        for (CompiledGeoFence fence : fences) {
+            Registration registration = new Registration(fence, ++generation);
+            registrations.put(fence.getId(), registration);
+            if (fence.isActiveAt(now)) {
+                activeNow.add(fence);
+            }
+            scheduleBoundaries(registration, now);
+        }
+
+        geoFenceIndex.rebuild(activeNow);
+        if (journal != null) {
+            List<Change> changes = journal;
+            journal = null;
+            for (Change change : changes) {
+                if (change.fence() != null) {
+                    register(change.fence());
+                } else {
+                    unregister(change.fenceId());
+                }
+            }
+        }
+        armTimer();
+        log.debug("Geofence activation scheduler tracking {} fences, {} pending boundaries",
+                registrations.size(), boundaries.size());
+    }
+
+    public synchronized int getPendingBoundaryCount() {
+        return boundaries.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void scheduleBoundaries(Registration registration, long now) {
+        CompiledGeoFence fence = registration.fence();
+        if (fence.getActiveFrom() > now && fence.getActiveFrom() < fence.getActiveUntil()) {
+            boundaries.add(new Boundary(fence.getActiveFrom(), fence.getId(), registration.generation()));
+        }
+        if (fence.getActiveUntil() > now && fence.getActiveUntil() != Long.MAX_VALUE) {
+            boundaries.add(new Boundary(fence.getActiveUntil(), fence.getId(), registration.generation()));
+        }
+    }
+
+    private void armTimer() {
+        Boundary next = boundaries.peek();
+        if (next == null || (wakeUp != null && !wakeUp.isDone() && wakeUpAt <= next.at())) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = next.at();
+        long delay = Math.max(0, wakeUpAt - System.currentTimeMillis());
+        wakeUp = timer.schedule(this::fireDueBoundaries, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void fireDueBoundaries() {
+        long now = System.currentTimeMillis();
+        wakeUp = null;
+        wakeUpAt = Long.MAX_VALUE;
+
+        while (!boundaries.isEmpty() && boundaries.peek().at() <= now) {
+            Boundary boundary = boundaries.poll();
+            Registration registration = registrations.get(boundary.fenceId());
+            if (registration == null || registration.generation() != boundary.generation()) {
+                continue;
+            }
+            CompiledGeoFence fence = registration.fence();
+            if (fence.isActiveAt(now)) {
+                geoFenceIndex.put(fence);
+                log.info("Geofence {} entered its active window", fence.getId());
+            } else {
+                geoFenceIndex.remove(fence.getId());
+                if (now >= fence.getActiveUntil()) {
+                    registrations.remove(fence.getId());
+                }
+                log.info("Geofence {} left its active window", fence.getId());
+            }
+        }
+        armTimer();
+    }
+
+    private record Registration(CompiledGeoFence fence, long generation) {
+    }
+
+    private record Change(Long fenceId, CompiledGeoFence fence) {
+    }
+
+    private record Boundary(long at, long fenceId, long generation) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.geofence.GeoFenceEvent;
+import com.civiguard.dto.geofence.GeoFenceEvent.EventType;
+import com.civiguard.model.Location;
+import com.civiguard.model.TrackedEntityType;
+import com.civiguard.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the fence membership of officers and vehicles as their positions
+ * stream in and publishes ENTER, EXIT and DWELL events.
+ * <p>
+ * Membership is only re-evaluated once an entity has moved further than
+ * {@code app.geofencing.events.min-move-meters} from the position it was last
+ * evaluated at, and evaluation runs against the in-memory {@link GeoFenceIndex},
+ * so pings never hit the database. DWELL events and exits caused by fences being
+ * deactivated are emitted by a periodic sweep.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeoFenceEventEngine {
+
+    private static final String EVENTS_TOPIC = "/topic/geofence-events";
+
+    private final GeoFenceIndex geoFenceIndex;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, TrackedEntity> trackedEntities = new ConcurrentHashMap<>();
+    private final AtomicLong evaluations = new AtomicLong();
+    private final AtomicLong skippedPositions = new AtomicLong();
+
+    @Value("${app.geofencing.events.enabled:true}")
+    private boolean eventsEnabled;
+
+    @Value("${app.geofencing.events.min-move-meters:25}")
+    private double minMoveMeters;
+
+    @Value("${app.geofencing.events.dwell-ms:300000}")
+    private long dwellMillis;
+
+    @Value("${app.geofencing.events.idle-eviction-ms:1800000}")
+    private long idleEvictionMillis;
+
+    public void onOfficerPosition(String officerId, Location location) {
+        onPosition(TrackedEntityType.OFFICER, officerId, location);
+    }
+
+    public void onVehiclePosition(Long vehicleId, Location location) {
+        onPosition(TrackedEntityType.VEHICLE, String.valueOf(vehicleId), location);
+    }
+
+    private void onPosition(TrackedEntityType entityType, String entityId, Location location) {
+        if (entityId == null || location == null
+                || location.getLatitude() == null || location.getLongitude() == null) {
+            return;
+        }
+        onPosition(entityType, entityId, location.getLatitude(), location.getLongitude(), System.currentTimeMillis());
+    }
+
+    /**
+     * Records a position fix and publishes any membership changes it causes.
+     */
+    public void onPosition(TrackedEntityType entityType, String entityId, double latitude, double longitude, long timestamp) {
+        if (!eventsEnabled) {
+            return;
+        }
+        List<GeoFenceEvent> events = new ArrayList<>();
+
+        trackedEntities.compute(key(entityType, entityId), (key, entity) -> {
+            if (entity == null) {
+                entity = new TrackedEntity(entityType, entityId);
+            } else if (GeoUtils.distanceKm(entity.lastLat, entity.lastLng, latitude, longitude) * 1000 < minMoveMeters) {
+                entity.lastSeen = timestamp;
+                skippedPositions.incrementAndGet();
+                return entity;
+            }
+            evaluate(entity, latitude, longitude, timestamp, events);
+            return entity;
+        });
+
+        publish(events);
+    }
+
+    /**
+     * Emits DWELL events for long stays, EXIT events for fences that are no longer
+     * active, and forgets entities that stopped reporting.
+     */
+    @Scheduled(fixedDelayString = "${app.geofencing.events.sweep-interval-ms:15000}")
+    public void sweep() {
+        if (!eventsEnabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<GeoFenceEvent> events = new ArrayList<>();
+
+        for (String key : trackedEntities.keySet()) {
+            trackedEntities.computeIfPresent(key, (k, entity) -> {
+                if (now - entity.lastSeen > idleEvictionMillis) {
+                    return null;
+                }
+                Iterator<Map.Entry<Long, Membership>> iterator = entity.memberships.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Long, Membership> membership = iterator.next();
+                    if (!geoFenceIndex.contains(membership.getKey())) {
+                        iterator.remove();
+                        events.add(event(EventType.EXIT, entity, membership.getKey(), now));
+                    } else if (!membership.getValue().dwellReported
+                            && now - membership.getValue().enteredAt >= dwellMillis) {
+                        membership.getValue().dwellReported = true;
+                        GeoFenceEvent dwell = event(EventType.DWELL, entity, membership.getKey(), now);
+                        dwell.setDwellMillis(now - membership.getValue().enteredAt);
+                        events.add(dwell);
+                    }
+                }
+                return entity;
+            });
+        }
+
+        publish(events);
+    }
+
+    public int getTrackedEntityCount() {
+        return trackedEntities.size();
+    }
+
+    public long getEvaluationCount() {
+        return evaluations.get();
+    }
+
+    public long getSkippedPositionCount() {
+        return skippedPositions.get();
+    }
+
+    private void evaluate(TrackedEntity entity, double latitude, double longitude, long timestamp,
+                          List<GeoFenceEvent> events) {
+        evaluations.incrementAndGet();
+        entity.lastLat = latitude;
+        entity.lastLng = longitude;
+        entity.lastSeen = timestamp;
+
+        long[] fenceIds = geoFenceIndex.containingIds(latitude, longitude);
+
+        Iterator<Long> iterator = entity.memberships.keySet().iterator();
+        while (iterator.hasNext()) {
+            Long fenceId = iterator.next();
+            if (!containsId(fenceIds, fenceId)) {
+                iterator.remove();
+                events.add(event(EventType.EXIT, entity, fenceId, timestamp));
+            }
+        }
+        for (long fenceId : fenceIds) {
+            if (!entity.memberships.containsKey(fenceId)) {
+                entity.memberships.put(fenceId, new Membership(timestamp));
+                events.add(event(EventType.ENTER, entity, fenceId, timestamp));
+            }
+        }
+    }
+
+    private void publish(List<GeoFenceEvent> events) {
+        for (GeoFenceEvent event : events) {
+            try {
+                messagingTemplate.convertAndSend(EVENTS_TOPIC, event);
+            } catch (Exception e) {
+                log.error("Error publishing geofence {} event for {} {}", event.getType(),
+                        event.getEntityType(), event.getEntityId(), e);
+            }
+        }
+    }
+
+    private static GeoFenceEvent event(EventType type, TrackedEntity entity, Long fenceId, long timestamp) {
+        return GeoFenceEvent.builder()
+                .type(type)
+                .entityType(entity.entityType)
+                .entityId(entity.entityId)
+                .fenceId(fenceId)
+                .latitude(entity.lastLat)
+                .longitude(entity.lastLng)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static boolean containsId(long[] ids, long id) {
+        for (long candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(TrackedEntityType entityType, String entityId) {
+        return entityType.name() + ':' + entityId;
+    }
+
+    /**
+     * Per-entity state; only touched inside {@code ConcurrentHashMap.compute*}.
+     */
+    private static final class TrackedEntity {
+        private final TrackedEntityType entityType;
+        private final String entityId;
+        private final Map<Long, Membership> memberships = new HashMap<>(4);
+        private double lastLat;
+        private double lastLng;
+        private long lastSeen;
+
+        private TrackedEntity(TrackedEntityType entityType, String entityId) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+    }
+
+    private static final class Membership {
+        private final long enteredAt;
+        private boolean dwellReported;
+
+        private Membership(long enteredAt) {
+            this.enteredAt = enteredAt;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.civiguard.service;
+
+import com.civiguard.model.GeoFence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of {@link CompiledGeoFence} instances keyed by fence ID.
+ * <p>
+ * An entry is reused as long as the fence's {@code updatedAt} matches the version
+ * it was compiled from, and is dropped explicitly when the fence changes.
+ */
+@Component
+@Slf4j
+public class GeoFenceGeometryCache {
+
+    private final Map<Long, CompiledGeoFence> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled geometry for the fence, compiling it if it is missing
+     * or stale. Polygon points must be initialised when a compile is needed.
+     *
+     * @return the compiled fence, or {@code null} if its geometry is incomplete
+     */
+    public CompiledGeoFence get(GeoFence fence) {
+        CompiledGeoFence cached = compiled.get(fence.getId());
+        if (cached != null && Objects.equals(cached.getVersion(), fence.getUpdatedAt())) {
+            return cached;
+        }
+
+        CompiledGeoFence fresh = CompiledGeoFence.compile(fence);
+        if (fresh == null) {
+            log.warn("Geofence {} has incomplete geometry and will not be evaluated", fence.getId());
+            compiled.remove(fence.getId());
+            return null;
+        }
+        compiled.put(fence.getId(), fresh);
+        return fresh;
+    }
+
+    public CompiledGeoFence getIfPresent(Long fenceId) {
+        return compiled.get(fenceId);
+    }
+
+    public void invalidate(Long fenceId) {
+        compiled.remove(fenceId);
+    }
+
+    /**
+     * Drops every cached fence whose ID is not in the given set.
+     */
+    public void retainOnly(Collection<Long> fenceIds) {
+        compiled.keySet().retainAll(fenceIds);
+    }
+
+    public int size() {
+        return compiled.size();
+    }
+}
@@ -0,0 +1,206 @@
+package com.civiguard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory grid index over the active geofences.
+ * <p>
+ * Each fence is registered in every fixed-size lat/lng cell its bounding box
+ * overlaps, so a point lookup only has to look at the fences of one cell.
+ * Fences that would cover more than {@code maxCellsPerFence} cells are kept in
+ * a small overflow list that is scanned on every lookup instead.
+ * <p>
+ * Lookups are lock-free and allocation-free apart from the result array;
+ * writers are serialised and publish new cell arrays.
+ */
+@Component
+@Slf4j
+public class GeoFenceIndex {
+
+    private static final CompiledGeoFence[] NO_ENTRIES = new CompiledGeoFence[0];
+    private static final long[] NO_IDS = new long[0];
+
+    private final double cellSizeDeg;
+    private final int maxCellsPerFence;
+
+    private volatile Map<Long, CompiledGeoFence> entries = new ConcurrentHashMap<>();
+    private volatile Map<Long, CompiledGeoFence[]> cells = new ConcurrentHashMap<>();
+    private volatile CompiledGeoFence[] oversized = NO_ENTRIES;
+
+    public GeoFenceIndex(
+            @Value("${app.geofencing.index.cell-size-deg:0.05}") double cellSizeDeg,
+            @Value("${app.geofencing.index.max-cells-per-fence:4096}") int maxCellsPerFence) {
+        this.cellSizeDeg = cellSizeDeg;
+        this.maxCellsPerFence = maxCellsPerFence;
+    }
+
+    /**
+     * Replaces the whole index with the given fences.
+     */
+    public synchronized void rebuild(Collection<CompiledGeoFence> fences) {
+        Map<Long, CompiledGeoFence> newEntries = new ConcurrentHashMap<>();
+        Map<Long, CompiledGeoFence[]> newCells = new ConcurrentHashMap<>();
+        List<CompiledGeoFence> newOversized = new ArrayList<>();
+
+        for (CompiledGeoFence entry : fences) {
+            newEntries.put(entry.getId(), entry);
+            if (cellCount(entry) > maxCellsPerFence) {
+                newOversized.add(entry);
+            } else {
+                forEachCell(entry, key -> newCells.put(key, append(newCells.get(key), entry)));
+            }
+        }
+
+        this.entries = newEntries;
+        this.cells = newCells;
+        this.oversized = newOversized.toArray(NO_ENTRIES);
+        log.info("Geofence index rebuilt with {} fences over {} cells ({} oversized)",
+                newEntries.size(), newCells.size(), newOversized.size());
+    }
+
+    /**
+     * Adds or replaces a single fence.
+     */
+    public synchronized void put(CompiledGeoFence entry) {
+        remove(entry.getId());
+        entries.put(entry.getId(), entry);
+        if (cellCount(entry) > maxCellsPerFence) {
+            oversized = append(oversized, entry);
+        } else {
+            forEachCell(entry, key -> cells.put(key, append(cells.get(key), entry)));
+        }
+    }
+
+    public synchronized void remove(Long fenceId) {
+        CompiledGeoFence existing = entries.remove(fenceId);
+        if (existing == null) {
+            return;
+        }
+        if (cellCount(existing) > maxCellsPerFence) {
+            oversized = without(oversized, fenceId);
+        } else {
+            forEachCell(existing, key -> {
+                CompiledGeoFence[] remaining = without(cells.get(key), fenceId);
+                if (remaining.length == 0) {
+                    cells.remove(key);
+                } else {
+                    cells.put(key, remaining);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns {@code true} if any indexed fence contains the point.
+     */
+    public boolean containsAny(double latitude, double longitude) {
+        CompiledGeoFence[] cell = cells.get(cellKey(cellIndex(latitude + 90), cellIndex(longitude + 180)));
+        if (cell != null) {
+            for (CompiledGeoFence fence : cell) {
+                if (fence.contains(latitude, longitude)) {
+                    return true;
+                }
+            }
+        }
+        for (CompiledGeoFence fence : oversized) {
+            if (fence.contains(latitude, longitude)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the IDs of all indexed fences that contain the point.
+     */
+    public long[] containingIds(double latitude, double longitude) {
+        CompiledGeoFence[] cell = cells.get(cellKey(cellIndex(latitude + 90), cellIndex(longitude + 180)));
+        CompiledGeoFence[] overflow = oversized;
+        int cellLength = cell != null ? cell.length : 0;
+        if (cellLength + overflow.length == 0) {
+            return NO_IDS;
+        }
+
+        long[] ids = null;
+        int count = 0;
+        for (int i = 0; i < cellLength + overflow.length; i++) {
+            CompiledGeoFence fence = i < cellLength ? cell[i] : overflow[i - cellLength];
+            if (fence.contains(latitude, longitude)) {
+                if (ids == null) {
+                    ids = new long[cellLength + overflow.length - i];
+                }
+                ids[count++] = fence.getId();
+            }
+        }
+        if (ids == null) {
+            return NO_IDS;
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    public CompiledGeoFence get(Long fenceId) {
+        return entries.get(fenceId);
+    }
+
+    public boolean contains(Long fenceId) {
+        return entries.containsKey(fenceId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private long cellCount(CompiledGeoFence entry) {
+        long rows = cellIndex(entry.getMaxLat() + 90) - cellIndex(entry.getMinLat() + 90) + 1L;
+        long cols = cellIndex(entry.getMaxLng() + 180) - cellIndex(entry.getMinLng() + 180) + 1L;
+        return rows * cols;
+    }
+
+    private void forEachCell(CompiledGeoFence entry, LongConsumer action) {
+        int fromRow = cellIndex(entry.getMinLat() + 90);
+        int toRow = cellIndex(entry.getMaxLat() + 90);
+        int fromCol = cellIndex(entry.getMinLng() + 180);
+        int toCol = cellIndex(entry.getMaxLng() + 180);
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int col = fromCol; col <= toCol; col++) {
+                action.accept(cellKey(row, col));
+            }
+        }
+    }
+
+    private int cellIndex(double shiftedDegrees) {
+        return (int) Math.floor(shiftedDegrees / cellSizeDeg);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static CompiledGeoFence[] append(CompiledGeoFence[] current, CompiledGeoFence entry) {
+        if (current == null) {
+            return new CompiledGeoFence[] { entry };
+        }
+        CompiledGeoFence[] copy = Arrays.copyOf(current, current.length + 1);
+        copy[current.length] = entry;
+        return copy;
+    }
+
+    private static CompiledGeoFence[] without(CompiledGeoFence[] current, long fenceId) {
+        if (current == null) {
+            return NO_ENTRIES;
+        }
+        return Arrays.stream(current)
+                .filter(entry -> entry.getId() != fenceId)
+                .toArray(CompiledGeoFence[]::new);
+    }
+}
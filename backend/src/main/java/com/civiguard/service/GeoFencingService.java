@@ -1,6 +1,7 @@
 
 package com.civiguard.service;
 
+import com.civiguard.dto.geofence.GeoFenceBatchCheckResponse;
 import com.civiguard.dto.geofence.GeoFencePointResponse;
 import com.civiguard.dto.geofence.GeoFenceRequest;
 import com.civiguard.dto.geofence.GeoFenceResponse;
@@ -11,16 +12,24 @@ import com.civiguard.model.GeoFencePoint;
 import com.civiguard.model.Location;
 import com.civiguard.model.User;
 import com.civiguard.repository.GeoFenceRepository;
+import com.civiguard.repository.PatrolVehicleRepository;
 import com.civiguard.repository.UserRepository;
+import com.civiguard.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Service for managing geofencing operations.
@@ -33,6 +42,12 @@ public class GeoFencingService {
 
     private final GeoFenceRepository geoFenceRepository;
     private final UserRepository userRepository;
+    private final GeoFenceIndex geoFenceIndex;
+    private final GeoFenceGeometryCache geoFenceGeometryCache;
+    private final GeoFenceActivationScheduler geoFenceActivationScheduler;
+    private final PatrolVehicleRepository patrolVehicleRepository;
+
+    private static final long[] NO_FENCE_IDS = new long[0];
     
     @Value("${app.geofencing.enabled}")
     private boolean geofencingEnabled;
@@ -40,6 +55,12 @@ public class GeoFencingService {
     @Value("${app.geofencing.max-fence-radius-km}")
     private double maxFenceRadiusKm;
 
+    @Value("${app.geofencing.batch.parallel-threshold:2048}")
+    private int batchParallelThreshold;
+
+    @Value("${app.geofencing.batch.max-points:50000}")
+    private int batchMaxPoints;
+
     @Transactional
     public GeoFenceResponse createGeoFence(GeoFenceRequest request, Long userId) {
         if (!geofencingEnabled) {
@@ -79,9 +100,41 @@ public class GeoFencingService {
         }
         
         GeoFence savedGeoFence = geoFenceRepository.save(geoFence);
+        TransactionUtils.afterCommit(() -> indexFence(savedGeoFence));
         return mapToResponse(savedGeoFence);
     }
 
+    /**
+     * Reloads the spatial index from the database. Runs once the application is
+     * ready and then periodically, so fences changed outside this service
+     * (other instances, manual SQL) are picked up eventually. Fences whose
+     * start time is still ahead are handed to the activation scheduler, which
+     * adds them to the index when their window opens.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.geofencing.index.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.geofencing.index.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        // Before the snapshot is read, so fences committed while it loads are kept
+        geoFenceActivationScheduler.beginReplace();
+        try {
+            List<CompiledGeoFence> compiledFences = new ArrayList<>();
+            for (GeoFence fence : geoFenceRepository.findActiveWithPolygonPointsNotEndedBefore(LocalDateTime.now())) {
+                CompiledGeoFence compiled = geoFenceGeometryCache.get(fence);
+                if (compiled != null) {
+                    compiledFences.add(compiled);
+                }
+            }
+            geoFenceGeometryCache.retainOnly(compiledFences.stream().map(CompiledGeoFence::getId).toList());
+            geoFenceActivationScheduler.replaceAll(compiledFences);
+        } catch (Exception e) {
+            log.error("Error rebuilding geofence index", e);
+        } finally {
+            geoFenceActivationScheduler.endReplace();
+        }
+    }
+
     @Transactional(readOnly = true)
     public GeoFenceResponse getGeoFenceById(Long id) {
         GeoFence geoFence = geoFenceRepository.findById(id)
@@ -117,84 +170,127 @@ public class GeoFencingService {
         
         geoFence.setActive(false);
         GeoFence savedGeoFence = geoFenceRepository.save(geoFence);
+        TransactionUtils.afterCommit(() -> {
+            geoFenceActivationScheduler.unregister(id);
+            geoFenceGeometryCache.invalidate(id);
+        });
         return mapToResponse(savedGeoFence);
     }
 
-    @Transactional(readOnly = true)
     public boolean isPointInAnyActiveFence(Location point) {
-        List<GeoFence> activeGeoFences = geoFenceRepository.findByIsActiveTrue();
+        validatePoint(point);
         
-        for (GeoFence fence : activeGeoFences) {
-            if (isPointInFence(point, fence)) {
-                return true;
-            }
-        }
-        
-        return false;
+        return geoFenceIndex.containsAny(point.getLatitude(), point.getLongitude());
     }
 
     @Transactional(readOnly = true)
     public List<GeoFenceResponse> findActiveGeoFencesContainingPoint(Location point) {
-        List<GeoFence> activeGeoFences = geoFenceRepository.findByIsActiveTrue();
+        validatePoint(point);
         
-        return activeGeoFences.stream()
-                .filter(fence -> isPointInFence(point, fence))
+        long[] matchingIds = geoFenceIndex.containingIds(point.getLatitude(), point.getLongitude());
+        if (matchingIds.length == 0) {
+            return new ArrayList<>();
+        }
+        
+        return geoFenceRepository.findAllById(Arrays.stream(matchingIds).boxed().toList()).stream()
+                .filter(GeoFence::isActive)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
-    private boolean isPointInFence(Location point, GeoFence fence) {
-        if (fence.getType() == GeoFence.FenceType.CIRCLE) {
-            return isPointInCircle(point, fence.getCenter(), fence.getRadiusKm());
-        } else if (fence.getType() == GeoFence.FenceType.POLYGON) {
-            return isPointInPolygon(point, fence.getPolygonPoints());
+    /**
+     * Evaluates many points against the active fences in one call and returns only
+     * fence IDs. Large batches are split across the common fork-join pool; points
+     * without coordinates simply match nothing.
+     */
+    public GeoFenceBatchCheckResponse findActiveGeoFenceIdsContainingPoints(List<Location> points) {
+        if (points == null || points.isEmpty()) {
+            throw new BadRequestException("At least one point is required");
         }
-        return false;
-    }
-
-    private boolean isPointInCircle(Location point, Location center, double radiusKm) {
-        double distance = calculateDistance(point.getLatitude(), point.getLongitude(), 
-                center.getLatitude(), center.getLongitude());
-        return distance <= radiusKm;
+        if (points.size() > batchMaxPoints) {
+            throw new BadRequestException("Cannot check more than " + batchMaxPoints + " points per request");
+        }
+        
+        int size = points.size();
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            Location point = points.get(i);
+            boolean hasCoordinates = point != null && point.getLatitude() != null && point.getLongitude() != null;
+            latitudes[i] = hasCoordinates ? point.getLatitude() : Double.NaN;
+            longitudes[i] = hasCoordinates ? point.getLongitude() : Double.NaN;
+        }
+        
+        return toBatchResponse(null, matchPoints(latitudes, longitudes));
     }
 
-    private boolean isPointInPolygon(Location point, List<GeoFencePoint> geoFencePoints) {
-        // This is a simplified implementation of the ray-casting algorithm
-        // A more accurate implementation would be needed for production use
+    /**
+     * Evaluates the current position of every patrol vehicle against the active fences.
+     * A vehicle without a location matches nothing.
+     */
+    @Transactional(readOnly = true)
+    public GeoFenceBatchCheckResponse findActiveGeoFenceIdsForVehicles() {
+        List<Object[]> positions = patrolVehicleRepository.findVehiclePositions();
         
-        boolean inside = false;
-        int j = geoFencePoints.size() - 1;
+        int size = positions.size();
+        List<Long> vehicleIds = new ArrayList<>(size);
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            Object[] row = positions.get(i);
+            vehicleIds.add((Long) row[0]);
+            latitudes[i] = row[1] instanceof Number latitude ? latitude.doubleValue() : Double.NaN;
+            longitudes[i] = row[2] instanceof Number longitude ? longitude.doubleValue() : Double.NaN;
+        }
         
-        for (int i = 0; i < geoFencePoints.size(); i++) {
-            Location p1 = geoFencePoints.get(i).getLocation();
-            Location p2 = geoFencePoints.get(j).getLocation();
-            
-            if ((p1.getLongitude() > point.getLongitude()) != (p2.getLongitude() > point.getLongitude()) &&
-                (point.getLatitude() < (p2.getLatitude() - p1.getLatitude()) * 
-                (point.getLongitude() - p1.getLongitude()) / 
-                (p2.getLongitude() - p1.getLongitude()) + p1.getLatitude())) {
-                inside = !inside;
+        return toBatchResponse(vehicleIds, matchPoints(latitudes, longitudes));
+    }
+
+    private long[][] matchPoints(double[] latitudes, double[] longitudes) {
+        long[][] matches = new long[latitudes.length][];
+        IntStream indexes = IntStream.range(0, latitudes.length);
+        if (latitudes.length >= batchParallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> matches[i] = matchPoint(latitudes[i], longitudes[i]));
+        return matches;
+    }
+
+    private long[] matchPoint(double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            return NO_FENCE_IDS;
+        }
+        return geoFenceIndex.containingIds(latitude, longitude);
+    }
+
+    private GeoFenceBatchCheckResponse toBatchResponse(List<Long> entityIds, long[][] matches) {
+        int matchedPointCount = 0;
+        for (long[] fenceIds : matches) {
+            if (fenceIds.length > 0) {
+                matchedPointCount++;
             }
-            j = i;
         }
         
-        return inside;
+        return GeoFenceBatchCheckResponse.builder()
+                .pointCount(matches.length)
+                .matchedPointCount(matchedPointCount)
+                .entityIds(entityIds)
+                .fenceIds(Arrays.asList(matches))
+                .build();
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        // Haversine formula to calculate distance between two points
-        double earthRadiusKm = 6371;
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) + 
-                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * 
-                   Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-                   
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return earthRadiusKm * c;
+    private void indexFence(GeoFence fence) {
+        geoFenceGeometryCache.invalidate(fence.getId());
+        CompiledGeoFence compiled = geoFenceGeometryCache.get(fence);
+        if (compiled != null) {
+            geoFenceActivationScheduler.register(compiled);
+        }
+    }
+
+    private void validatePoint(Location point) {
+        if (point == null || point.getLatitude() == null || point.getLongitude() == null) {
+            throw new BadRequestException("Latitude and longitude are required");
+        }
     }
 
     private void validateGeoFenceRequest(GeoFenceRequest request) {
@@ -0,0 +1,337 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.incident.IncidentHeatmapTile;
+import com.civiguard.exception.BadRequestException;
+import com.civiguard.model.Incident;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import com.civiguard.model.Location;
+import com.civiguard.repository.IncidentRepository;
+import com.civiguard.util.GeoUtils;
+import com.civiguard.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side heatmap of incident locations, kept as per-tile counts.
+ * <p>
+ * A tile at zoom {@code z} is served as a grid of bins, which are the tiles of zoom
+ * {@code z + bin-bits}. Counts are kept for every bin level between
+ * {@code min-zoom + bin-bits} and {@code max-zoom + bin-bits}, so serving a tile
+ * costs a fixed number of lookups no matter how many incidents it covers.
+ * <p>
+ * Each bin holds an {@code int[]}: the total, then one slot per
+ * {@link IncidentStatus}, one per {@link IncidentPriority} and one per incident
+ * type seen so far. Incident changes are applied incrementally after commit; the
+ * whole heatmap is rebuilt from the database on startup and every
+ * {@code app.incidents.heatmap.rebuild-interval-ms} to reconcile any drift.
+ * Writers are serialised and replace bin arrays, so tile reads need no locking.
+ */
+@Service
+@Slf4j
+public class IncidentHeatmapService {
+
+    private static final IncidentStatus[] STATUSES = IncidentStatus.values();
+    private static final IncidentPriority[] PRIORITIES = IncidentPriority.values();
+    private static final int TOTAL = 0;
+    private static final int STATUS_OFFSET = 1;
+    private static final int PRIORITY_OFFSET = STATUS_OFFSET + STATUSES.length;
+    private static final int TYPE_OFFSET = PRIORITY_OFFSET + PRIORITIES.length;
+    private static final String UNSPECIFIED_TYPE = "UNSPECIFIED";
+
+    private final IncidentRepository incidentRepository;
+    private final int minZoom;
+    private final int maxZoom;
+    private final int binBits;
+    private final int firstLevel;
+    private final int lastLevel;
+
+    // Type slots only ever grow, so bin arrays stay valid across rebuilds
+    private final Map<String, Integer> typeSlots = new ConcurrentHashMap<>();
+    private volatile String[] typeNames = new String[0];
+
+    private volatile State state;
+    // Changes committed while a rebuild is reading the database, replayed onto the new state
+    private List<Mutation> journal;
+
+    public IncidentHeatmapService(
+            IncidentRepository incidentRepository,
+            @Value("${app.incidents.heatmap.min-zoom:3}") int minZoom,
+            @Value("${app.incidents.heatmap.max-zoom:15}") int maxZoom,
+            @Value("${app.incidents.heatmap.bin-bits:3}") int binBits) {
+        if (minZoom < 0 || maxZoom < minZoom || binBits < 0 || maxZoom + binBits > 30) {
+            throw new IllegalArgumentException("Invalid heatmap zoom configuration");
+        }
+        this.incidentRepository = incidentRepository;
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.binBits = binBits;
+        this.firstLevel = minZoom + binBits;
+        this.lastLevel = maxZoom + binBits;
+        this.state = new State(lastLevel - firstLevel + 1);
+    }
+
+    /**
+     * Rebuilds all tiles from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.incidents.heatmap.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${app.incidents.heatmap.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            State rebuilt = new State(lastLevel - firstLevel + 1);
+            for (Object[] row : incidentRepository.findHeatmapRows()) {
+                Entry entry = entry((Double) row[1], (Double) row[2], (IncidentStatus) row[3],
+                        (IncidentPriority) row[4], (String) row[5]);
+                if (entry != null) {
+                    upsert(rebuilt, (Long) row[0], entry);
+                }
+            }
+            synchronized (this) {
+                for (Mutation mutation : journal) {
+                    upsert(rebuilt, mutation.incidentId, mutation.entry);
+                }
+                state = rebuilt;
+            }
+            log.info("Incident heatmap rebuilt with {} incidents", rebuilt.incidents.size());
+        } catch (Exception e) {
+            log.error("Error rebuilding incident heatmap", e);
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Applies the incident's current location, status, priority and type once the
+     * surrounding transaction commits.
+     */
+    public void onIncidentSaved(Incident incident) {
+        if (incident == null || incident.getId() == null) {
+            return;
+        }
+        Location location = incident.getLocation();
+        Entry entry = location != null
+                ? entry(location.getLatitude(), location.getLongitude(), incident.getStatus(),
+                        incident.getPriority(), incident.getIncidentType())
+                : null;
+        Long incidentId = incident.getId();
+        TransactionUtils.afterCommit(() -> apply(incidentId, entry));
+    }
+
+    public void onIncidentDeleted(Long incidentId) {
+        if (incidentId != null) {
+            TransactionUtils.afterCommit(() -> apply(incidentId, null));
+        }
+    }
+
+    /**
+     * Returns the binned counts of one tile.
+     */
+    public IncidentHeatmapTile getTile(int zoom, int x, int y) {
+        if (zoom < minZoom || zoom > maxZoom) {
+            throw new BadRequestException("Zoom must be between " + minZoom + " and " + maxZoom);
+        }
+        if (x < 0 || y < 0 || x >= (1 << zoom) || y >= (1 << zoom)) {
+            throw new BadRequestException("Tile coordinates are out of range for zoom " + zoom);
+        }
+
+        Map<Long, int[]> level = state.levels[zoom + binBits - firstLevel];
+        int side = 1 << binBits;
+        int[] bins = new int[side * side];
+        int[][] binCounts = new int[side * side][];
+        int found = 0;
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int[] counts = level.get(key((x << binBits) | col, (y << binBits) | row));
+                if (counts != null && counts[TOTAL] > 0) {
+                    bins[found] = row * side + col;
+                    binCounts[found++] = counts;
+                }
+            }
+        }
+
+        String[] types = typeNames;
+        long total = 0;
+        int[] totals = new int[found];
+        int[][] byStatus = new int[STATUSES.length][found];
+        int[][] byPriority = new int[PRIORITIES.length][found];
+        int[][] byType = new int[types.length][found];
+        for (int i = 0; i < found; i++) {
+            int[] counts = binCounts[i];
+            totals[i] = counts[TOTAL];
+            total += counts[TOTAL];
+            for (int s = 0; s < STATUSES.length; s++) {
+                byStatus[s][i] = counts[STATUS_OFFSET + s];
+            }
+            for (int p = 0; p < PRIORITIES.length; p++) {
+                byPriority[p][i] = counts[PRIORITY_OFFSET + p];
+            }
+            for (int t = 0; t < types.length && TYPE_OFFSET + t < counts.length; t++) {
+                byType[t][i] = counts[TYPE_OFFSET + t];
+            }
+        }
+
+        return IncidentHeatmapTile.builder()
+                .zoom(zoom)
+                .x(x)
+                .y(y)
+                .binsPerSide(side)
+                .total(total)
+                .bins(Arrays.copyOf(bins, found))
+                .counts(totals)
+                .byStatus(nonEmpty(STATUSES, byStatus))
+                .byPriority(nonEmpty(PRIORITIES, byPriority))
+                .byType(nonEmpty(types, byType))
+                .build();
+    }
+
+    public int getIncidentCount() {
+        return state.incidents.size();
+    }
+
+    private synchronized void apply(Long incidentId, Entry entry) {
+        if (journal != null) {
+            journal.add(new Mutation(incidentId, entry));
+        }
+        upsert(state, incidentId, entry);
+    }
+
+    private void upsert(State target, Long incidentId, Entry entry) {
+        Entry previous = entry != null ? target.incidents.put(incidentId, entry) : target.incidents.remove(incidentId);
+        if (previous != null) {
+            add(target, previous, -1);
+        }
+        if (entry != null) {
+            add(target, entry, 1);
+        }
+    }
+
+    private void add(State target, Entry entry, int delta) {
+        int width = TYPE_OFFSET + typeNames.length;
+        for (int level = firstLevel; level <= lastLevel; level++) {
+            int shift = lastLevel - level;
+            long key = key(entry.x >>> shift, entry.y >>> shift);
+            Map<Long, int[]> bins = target.levels[level - firstLevel];
+            int[] current = bins.get(key);
+            if (current == null && delta < 0) {
+                continue;
+            }
+            // Copy on write so readers always see a consistent bin
+            int[] counts = current == null ? new int[width] : Arrays.copyOf(current, Math.max(current.length, width));
+            counts[TOTAL] += delta;
+            counts[STATUS_OFFSET + entry.status] += delta;
+            counts[PRIORITY_OFFSET + entry.priority] += delta;
+            counts[TYPE_OFFSET + entry.type] += delta;
+            if (counts[TOTAL] <= 0) {
+                bins.remove(key);
+            } else {
+                bins.put(key, counts);
+            }
+        }
+    }
+
+    private Entry entry(Double latitude, Double longitude, IncidentStatus status,
+                        IncidentPriority priority, String incidentType) {
+        if (latitude == null || longitude == null || status == null || priority == null) {
+            return null;
+        }
+        return new Entry(GeoUtils.tileX(longitude, lastLevel), GeoUtils.tileY(latitude, lastLevel),
+                status.ordinal(), priority.ordinal(), typeSlot(incidentType));
+    }
+
+    private int typeSlot(String incidentType) {
+        String type = incidentType == null || incidentType.isBlank() ? UNSPECIFIED_TYPE : incidentType;
+        Integer slot = typeSlots.get(type);
+        if (slot != null) {
+            return slot;
+        }
+        synchronized (typeSlots) {
+            return typeSlots.computeIfAbsent(type, name -> {
+                String[] names = Arrays.copyOf(typeNames, typeNames.length + 1);
+                names[names.length - 1] = name;
+                typeNames = names;
+                return names.length - 1;
+            });
+        }
+    }
+
+    private static Map<String, int[]> nonEmpty(Object[] keys, int[][] values) {
+        Map<String, int[]> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            for (int value : values[i]) {
+                if (value != 0) {
+                    result.put(keys[i].toString(), values[i]);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * Bin counts for every level plus the last applied entry per incident.
+     */
+    private static final class State {
+        private final Map<Long, int[]>[] levels;
+        private final Map<Long, Entry> incidents = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private State(int levelCount) {
+            this.levels = new Map[levelCount];
+            for (int i = 0; i < levelCount; i++) {
+                levels[i] = new ConcurrentHashMap<>();
+            }
+        }
+    }
+
+    /**
+     * An incident's contribution: its bin at the deepest level and its breakdown slots.
+     */
+    private static final class Entry {
+        private final int x;
+        private final int y;
+        private final int status;
+        private final int priority;
+        private final int type;
+
+        private Entry(int x, int y, int status, int priority, int type) {
+            this.x = x;
+            this.y = y;
+            this.status = status;
+            this.priority = priority;
+            this.type = type;
+        }
+    }
+
+    private static final class Mutation {
+        private final Long incidentId;
+        private final Entry entry;
+
+        private Mutation(Long incidentId, Entry entry) {
+            this.incidentId = incidentId;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.civiguard.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of report ID to incident ID, for the incidents created from reports.
+ * <p>
+ * A report is converted at most once, so a mapping never changes while the incident
+ * exists; entries only go away when the incident is deleted or when they are the
+ * least recently used beyond {@code app.incidents.report-links.max-cached}. Reports
+ * without an incident are not cached, since they may be converted later.
+ */
+@Component
+public class IncidentReportLinkCache {
+
+    private final Map<Long, Long> incidentIds;
+
+    public IncidentReportLinkCache(@Value("${app.incidents.report-links.max-cached:10000}") int maxCached) {
+        this.incidentIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxCached;
+            }
+        };
+    }
+
+    public synchronized Long get(Long reportId) {
+        return incidentIds.get(reportId);
+    }
+
+    public synchronized void put(Long reportId, Long incidentId) {
+        incidentIds.put(reportId, incidentId);
+    }
+
+    public synchronized void invalidate(Long reportId) {
+        incidentIds.remove(reportId);
+    }
+
+    public synchronized int size() {
+        return incidentIds.size();
+    }
+}
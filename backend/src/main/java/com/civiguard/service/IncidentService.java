@@ -13,7 +13,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.hibernate.Hibernate; // <-- For explicit initialization
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,12 +23,14 @@ import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.ReportDetailsDTO;
 import com.civiguard.dto.incident.AnonymousIncidentRequest;
 import com.civiguard.dto.incident.CategoryCountDto;
 import com.civiguard.dto.incident.IncidentRequest;
 import com.civiguard.dto.incident.UpdateIncidentRequest;
 import com.civiguard.dto.incident.IncidentResponse;
+import com.civiguard.dto.incident.IncidentSummaryResponse;
 import com.civiguard.dto.incident.MonthlyIncidentStats;
 import com.civiguard.exception.ResourceNotFoundException;
 import com.civiguard.exception.UnauthorizedException;
@@ -43,6 +44,9 @@ import com.civiguard.model.User;
 import com.civiguard.repository.IncidentRepository;
 import com.civiguard.repository.OfficerRepository;
 import com.civiguard.repository.UserRepository;
+import com.civiguard.specification.IncidentSpecifications;
+import com.civiguard.util.KeysetCursor;
+import com.civiguard.util.TransactionUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -58,6 +62,9 @@ public class IncidentService {
     
     private final OfficerRepository officerRepository;
     private final NotificationService notificationService;
+    private final IncidentHeatmapService incidentHeatmapService;
+    private final IncidentReportLinkCache incidentReportLinkCache;
+    private final IncidentStatisticsService incidentStatisticsService;
 
     @Value("${app.incident.anonymous-reporting-enabled:true}")
     private boolean anonymousReportingEnabled;
@@ -129,12 +136,20 @@ public class IncidentService {
 
         // Save the incident first to get an ID
         Incident savedIncident = incidentRepository.save(incident);
+        incidentHeatmapService.onIncidentSaved(savedIncident);
+        incidentStatisticsService.onIncidentCreated(savedIncident);
 
         // Assign officers if any
         if (officerIds != null && !officerIds.isEmpty()) {
             assignOfficersToIncident(savedIncident.getId(), new ArrayList<>(officerIds));
         }
 
+        if (savedIncident.getReportId() != null) {
+            Long reportId = savedIncident.getReportId();
+            Long incidentId = savedIncident.getId();
+            TransactionUtils.afterCommit(() -> incidentReportLinkCache.put(reportId, incidentId));
+        }
+
         // Notify administrators about the new incident
         notificationService.notifyAdminsNewIncident(savedIncident);
 
@@ -195,6 +210,8 @@ public class IncidentService {
 
         // Save the new incident
         Incident savedIncident = incidentRepository.save(newIncident);
+        incidentHeatmapService.onIncidentSaved(savedIncident);
+        incidentStatisticsService.onIncidentCreated(savedIncident);
 
         // Notify administrators about the new anonymous incident
         notificationService.notifyAdminsNewIncident(savedIncident);
@@ -204,13 +221,9 @@ public class IncidentService {
 
     @Transactional(readOnly = true)
     public IncidentResponse getIncidentById(Long id) {
-        Incident incident = incidentRepository.findById(id)
+        Incident incident = incidentRepository.findAllWithRelationsByIds(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Incident", "id", id));
-        // Eagerly initialize lazy collections
-        Hibernate.initialize(incident.getTags());
-        Hibernate.initialize(incident.getAssignedOfficers());
-        Hibernate.initialize(incident.getImages());
-        Hibernate.initialize(incident.getUpdates());
         return mapToResponse(incident);
     }
 
@@ -219,7 +232,74 @@ public class IncidentService {
             String type, IncidentStatus status, IncidentPriority priority,
             String district, LocalDateTime startDate, LocalDateTime endDate,
             Pageable pageable) {
+        Specification<Incident> spec = filters(type, status, priority, district, startDate, endDate);
+        return incidentRepository.findPageWithRelations(spec, pageable).map(this::mapToResponse);
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getAllIncidents}, newest first. The total is
+     * only counted when {@code includeTotal} is set.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<IncidentResponse> scrollIncidents(
+            String type, IncidentStatus status, IncidentPriority priority,
+            String district, LocalDateTime startDate, LocalDateTime endDate,
+            String cursor, Integer size, boolean includeTotal) {
+        Specification<Incident> spec = filters(type, status, priority, district, startDate, endDate);
+        return scroll(spec, cursor, size, includeTotal);
+    }
+
+    /**
+     * List view of {@link #getAllIncidents}: the same filters and paging, selected as a
+     * projection without loading incidents, updates or officers.
+     */
+    @Transactional(readOnly = true)
+    public Page<IncidentSummaryResponse> getIncidentSummaries(
+            String type, IncidentStatus status, IncidentPriority priority,
+            String district, LocalDateTime startDate, LocalDateTime endDate,
+            Pageable pageable) {
+        Specification<Incident> spec = filters(type, status, priority, district, startDate, endDate);
+        return incidentRepository.findSummaries(spec, pageable);
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getIncidentSummaries}, newest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<IncidentSummaryResponse> scrollIncidentSummaries(
+            String type, IncidentStatus status, IncidentPriority priority,
+            String district, LocalDateTime startDate, LocalDateTime endDate,
+            String cursor, Integer size, boolean includeTotal) {
+        Specification<Incident> spec = filters(type, status, priority, district, startDate, endDate);
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<IncidentSummaryResponse> summaries = incidentRepository.findSummarySlice(spec,
+                after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null, pageSize + 1);
+        CursorPage<IncidentSummaryResponse> page = CursorPage.of(summaries, pageSize,
+                IncidentSummaryResponse::getCreatedAt, IncidentSummaryResponse::getId, summary -> summary);
+        if (includeTotal) {
+            page.setTotalElements(incidentRepository.count(spec));
+        }
+        return page;
+    }
 
+    private CursorPage<IncidentResponse> scroll(Specification<Incident> spec, String cursor, Integer size,
+                                                boolean includeTotal) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Incident> incidents = incidentRepository.findSliceWithRelations(spec,
+                after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null, pageSize + 1);
+        CursorPage<IncidentResponse> page = CursorPage.of(incidents, pageSize,
+                Incident::getCreatedAt, Incident::getId, this::mapToResponse);
+        if (includeTotal) {
+            page.setTotalElements(incidentRepository.count(spec));
+        }
+        return page;
+    }
+
+    private Specification<Incident> filters(
+            String type, IncidentStatus status, IncidentPriority priority,
+            String district, LocalDateTime startDate, LocalDateTime endDate) {
         Specification<Incident> spec = Specification.where(null);
 
         if (type != null && !type.isEmpty()) {
@@ -239,38 +319,21 @@ public class IncidentService {
         }
 
         if (startDate != null && endDate != null) {
-            spec = spec.and((root, query, cb) -> cb.between(root.get("reportDate"), startDate, endDate));
+            spec = spec.and(IncidentSpecifications.reportDateBetween(startDate, endDate));
         } else if (startDate != null) {
-            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("reportDate"), startDate));
+            spec = spec.and(IncidentSpecifications.reportDateOnOrAfter(startDate));
         } else if (endDate != null) {
-            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("reportDate"), endDate));
+            spec = spec.and(IncidentSpecifications.reportDateOnOrBefore(endDate));
         }
 
-        // Eagerly fetch images to avoid LazyInitializationException
-        Page<Incident> page = incidentRepository.findAll(spec, pageable);
-        // Eagerly initialize lazy collections for each incident
-        for (Incident incident : page.getContent()) {
-            Hibernate.initialize(incident.getTags());
-            Hibernate.initialize(incident.getAssignedOfficers());
-            Hibernate.initialize(incident.getImages());
-            Hibernate.initialize(incident.getUpdates());
-        }
-        return page.map(this::mapToResponse);
+        return spec;
     }
 
     @Transactional(readOnly = true)
     public Page<IncidentResponse> getIncidentsByUser(Long userId, Pageable pageable) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-        Page<Incident> page = incidentRepository.findByReportedBy(user, pageable);
-        // Eagerly initialize lazy collections for each incident
-        for (Incident incident : page.getContent()) {
-            Hibernate.initialize(incident.getTags());
-            Hibernate.initialize(incident.getAssignedOfficers());
-            Hibernate.initialize(incident.getImages());
-            Hibernate.initialize(incident.getUpdates());
-        }
-        return page.map(this::mapToResponse);
+        return incidentRepository.findByReportedBy(user, pageable).map(this::mapToResponse);
     }
 
     @Transactional(readOnly = true)
@@ -323,6 +386,7 @@ public class IncidentService {
     public IncidentResponse updateIncidentStatus(Long id, IncidentStatus status, String notes, Long userId) {
         Incident incident = incidentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Incident", "id", id));
+        IncidentStatisticsService.Key countedAs = IncidentStatisticsService.Key.of(incident);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
@@ -342,6 +406,8 @@ public class IncidentService {
         incident.getUpdates().add(update);
 
         Incident savedIncident = incidentRepository.save(incident);
+        incidentHeatmapService.onIncidentSaved(savedIncident);
+        incidentStatisticsService.onIncidentChanged(countedAs, savedIncident);
 
         // Notify the reporter if not anonymous
         if (!incident.isAnonymous() && incident.getReportedBy() != null) {
@@ -472,35 +538,11 @@ public class IncidentService {
     }
 
     public List<MonthlyIncidentStats> getMonthlyIncidentStats() {
-        List<Object[]> stats = incidentRepository.countIncidentsByMonthAndStatus();
-        Map<String, MonthlyIncidentStats> statsMap = new HashMap<>();
-        
-        for (Object[] row : stats) {
-            String month = (String) row[0];
-            String status = ((Enum<?>) row[1]).name();
-            Long count = ((Number) row[2]).longValue();
-            
-            MonthlyIncidentStats monthlyStats = statsMap.computeIfAbsent(month, k -> new MonthlyIncidentStats());
-            monthlyStats.setMonth(month);
-            
-            switch (status) {
-                case "REPORTED" -> monthlyStats.setReported(count);
-                case "UNDER_INVESTIGATION" -> monthlyStats.setUnderInvestigation(count);
-                case "RESOLVED" -> monthlyStats.setResolved(count);
-                case "CLOSED" -> monthlyStats.setClosed(count);
-            }
-        }
-        
-        return new ArrayList<>(statsMap.values());
+        return incidentStatisticsService.getMonthlyStats();
     }
 
     public List<CategoryCountDto> getIncidentTypeStats() {
-        List<Object[]> results = incidentRepository.countByIncidentType();
-        List<CategoryCountDto> dtos = new java.util.ArrayList<>();
-        for (Object[] row : results) {
-            dtos.add(new CategoryCountDto((String) row[0], (Long) row[1]));
-        }
-        return dtos;
+        return incidentStatisticsService.getTypeCounts();
     }
 @Transactional
 public IncidentResponse updateIncident(Long id, UpdateIncidentRequest request, Long userId) {
@@ -515,6 +557,7 @@ public IncidentResponse updateIncident(Long id, UpdateIncidentRequest request, L
     // Find the incident
     Incident incident = incidentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Incident", "id", id));
+    IncidentStatisticsService.Key countedAs = IncidentStatisticsService.Key.of(incident);
 
     // Check if the incident can be modified
     if (incident.getStatus() == IncidentStatus.CLOSED || incident.getStatus() == IncidentStatus.RESOLVED) {
@@ -591,6 +634,8 @@ public IncidentResponse updateIncident(Long id, UpdateIncidentRequest request, L
     }
 
     Incident savedIncident = incidentRepository.save(incident);
+    incidentHeatmapService.onIncidentSaved(savedIncident);
+    incidentStatisticsService.onIncidentChanged(countedAs, savedIncident);
     
     // Notify relevant users about the update
     // if (!incident.isAnonymous() && incident.getReportedBy() != null) {
@@ -608,6 +653,7 @@ public void deleteIncident(Long id) {
 
     Incident incident = incidentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Incident", "id", id));
+    IncidentStatisticsService.Key countedAs = IncidentStatisticsService.Key.of(incident);
 
     // Prevent deletion of incidents that are under investigation or have been resolved
     if (incident.getStatus() == IncidentStatus.UNDER_INVESTIGATION || 
@@ -638,6 +684,12 @@ public void deleteIncident(Long id) {
         
         // Now delete the incident
         incidentRepository.delete(incident);
+        incidentHeatmapService.onIncidentDeleted(id);
+        incidentStatisticsService.onIncidentDeleted(countedAs);
+        Long reportId = incident.getReportId();
+        if (reportId != null) {
+            TransactionUtils.afterCommit(() -> incidentReportLinkCache.invalidate(reportId));
+        }
         
         log.info("Successfully deleted incident with ID: {}", id);
     } catch (Exception e) {
@@ -653,12 +705,34 @@ public void deleteIncident(Long id) {
  */
 @Transactional(readOnly = true)
 public Optional<Incident> getIncidentByReportId(Long reportId) {
+    Optional<Long> incidentId = findIncidentIdByReportId(reportId);
+    if (incidentId.isEmpty()) {
+        return Optional.empty();
+    }
+    Optional<Incident> incident = incidentRepository.findAllWithRelationsByIds(List.of(incidentId.get()))
+            .stream().findFirst();
+    if (incident.isEmpty()) {
+        // The incident was deleted by a transaction this instance did not see
+        incidentReportLinkCache.invalidate(reportId);
+    }
+    return incident;
+}
+
+/**
+ * ID of the incident created from the report, served from the report link cache
+ * and otherwise from the unique index on {@code report_id}.
+ */
+@Transactional(readOnly = true)
+public Optional<Long> findIncidentIdByReportId(Long reportId) {
     if (reportId == null) {
         return Optional.empty();
     }
-    // Since Incident has a reference to Report, we need to find the Incident that references this report
-    return incidentRepository.findAll().stream()
-            .filter(incident -> incident.getReport() != null && reportId.equals(incident.getReport().getId()))
-            .findFirst();
+    Long cached = incidentReportLinkCache.get(reportId);
+    if (cached != null) {
+        return Optional.of(cached);
+    }
+    Optional<Long> incidentId = incidentRepository.findIdByReportId(reportId);
+    incidentId.ifPresent(id -> incidentReportLinkCache.put(reportId, id));
+    return incidentId;
 }
 }
@@ -0,0 +1,327 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.incident.CategoryCountDto;
+import com.civiguard.dto.incident.MonthlyIncidentStats;
+import com.civiguard.model.Incident;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import com.civiguard.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dashboard incident statistics, kept as in-memory counters by report month and status,
+ * incident type, district, status and priority.
+ * <p>
+ * Incident lifecycle changes are applied incrementally after commit, so reading the
+ * statistics never touches the database. Every {@code app.incidents.stats.reconcile-interval-ms}
+ * and on startup, {@code incident_stats_summary} is recomputed from {@code incidents}
+ * with one grouped insert, and the counters are reloaded from that table to undo any
+ * drift, such as changes made by other instances. Changes committed while a reconcile
+ * runs are replayed onto the reloaded counters; one that the recomputation also saw is
+ * counted twice until the next reconcile.
+ */
+@Service
+@Slf4j
+public class IncidentStatisticsService {
+
+    static final String SUMMARY_TABLE = "incident_stats_summary";
+
+    private static final String CREATE_SUMMARY_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + SUMMARY_TABLE + " (" +
+            "report_month VARCHAR(7), status VARCHAR(32), incident_type VARCHAR(255), " +
+            "district VARCHAR(255), priority VARCHAR(32), incident_count BIGINT NOT NULL)";
+    // Serialises reconciles across instances so one never deletes the rows another inserted
+    private static final String LOCK_SUMMARY_TABLE =
+            "LOCK TABLE " + SUMMARY_TABLE + " IN EXCLUSIVE MODE";
+    private static final String CLEAR_SUMMARY =
+            "DELETE FROM " + SUMMARY_TABLE;
+    private static final String REFRESH_SUMMARY =
+            "INSERT INTO " + SUMMARY_TABLE +
+            " (report_month, status, incident_type, district, priority, incident_count) " +
+            "SELECT LEFT(report_date, 7), status, incident_type, district, priority, COUNT(*) " +
+            "FROM incidents GROUP BY 1, 2, 3, 4, 5";
+    private static final String LOAD_SUMMARY =
+            "SELECT report_month, status, incident_type, district, priority, incident_count FROM " + SUMMARY_TABLE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private Counters counters = new Counters();
+    // Changes committed while a reconcile is reading the database, replayed onto the reloaded counters
+    private List<Change> journal;
+
+    public IncidentStatisticsService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recomputes the summary table from the incidents and reloads the counters from it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.incidents.stats.reconcile-interval-ms:900000}",
+            fixedDelayString = "${app.incidents.stats.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            Counters reloaded = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute(CREATE_SUMMARY_TABLE);
+                jdbcTemplate.execute(LOCK_SUMMARY_TABLE);
+                jdbcTemplate.update(CLEAR_SUMMARY);
+                jdbcTemplate.update(REFRESH_SUMMARY);
+                Counters loaded = new Counters();
+                jdbcTemplate.query(LOAD_SUMMARY, rs -> {
+                    Key key = new Key(rs.getString(1), enumValue(IncidentStatus.class, rs.getString(2)),
+                            rs.getString(3), rs.getString(4), enumValue(IncidentPriority.class, rs.getString(5)));
+                    loaded.add(key, rs.getLong(6));
+                });
+                return loaded;
+            });
+            long drift;
+            synchronized (this) {
+                for (Change change : journal) {
+                    reloaded.apply(change);
+                }
+                drift = reloaded.total - counters.total;
+                counters = reloaded;
+            }
+            log.info("Incident statistics reconciled with {} incidents (drift {})", reloaded.total, drift);
+        } catch (Exception e) {
+            log.error("Error reconciling incident statistics", e);
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    public void onIncidentCreated(Incident incident) {
+        if (incident != null) {
+            record(new Change(null, Key.of(incident)));
+        }
+    }
+
+    /**
+     * Moves the incident from the counters it was taken under, before the change,
+     * to those of its current values once the surrounding transaction commits.
+     */
+    public void onIncidentChanged(Key before, Incident incident) {
+        Key after = Key.of(incident);
+        if (!after.equals(before)) {
+            record(new Change(before, after));
+        }
+    }
+
+    public void onIncidentDeleted(Key before) {
+        if (before != null) {
+            record(new Change(before, null));
+        }
+    }
+
+    /**
+     * Incident counts by status for every report month, oldest month first.
+     */
+    public synchronized List<MonthlyIncidentStats> getMonthlyStats() {
+        List<MonthlyIncidentStats> stats = new ArrayList<>(counters.byMonth.size());
+        counters.byMonth.forEach((month, byStatus) -> stats.add(new MonthlyIncidentStats(month,
+                byStatus[IncidentStatus.REPORTED.ordinal()],
+                byStatus[IncidentStatus.UNDER_INVESTIGATION.ordinal()],
+                byStatus[IncidentStatus.RESOLVED.ordinal()],
+                byStatus[IncidentStatus.CLOSED.ordinal()])));
+        stats.sort(Comparator.comparing(MonthlyIncidentStats::getMonth));
+        return stats;
+    }
+
+    public synchronized List<CategoryCountDto> getTypeCounts() {
+        return categoryCounts(counters.byType);
+    }
+
+    public synchronized List<CategoryCountDto> getDistrictCounts() {
+        return categoryCounts(counters.byDistrict);
+    }
+
+    public synchronized Map<IncidentStatus, Long> getStatusCounts() {
+        return enumCounts(IncidentStatus.class, counters.byStatus);
+    }
+
+    public synchronized Map<IncidentPriority, Long> getPriorityCounts() {
+        return enumCounts(IncidentPriority.class, counters.byPriority);
+    }
+
+    public synchronized long getTotal() {
+        return counters.total;
+    }
+
+    private void record(Change change) {
+        TransactionUtils.afterCommit(() -> apply(change));
+    }
+
+    private synchronized void apply(Change change) {
+        if (journal != null) {
+            journal.add(change);
+        }
+        counters.apply(change);
+    }
+
+    private static List<CategoryCountDto> categoryCounts(Map<String, Long> counts) {
+        List<CategoryCountDto> result = new ArrayList<>(counts.size());
+        counts.forEach((name, count) -> result.add(new CategoryCountDto(name, count)));
+        result.sort(Comparator.comparingLong(CategoryCountDto::getCount).reversed());
+        return result;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> enumCounts(Class<E> type, long[] counts) {
+        Map<E, Long> result = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            if (counts[value.ordinal()] > 0) {
+                result.put(value, counts[value.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The values an incident is counted under. Take one before changing or deleting an
+     * incident and pass it to {@link #onIncidentChanged} or {@link #onIncidentDeleted}.
+     */
+    public static final class Key {
+        private final String month;
+        private final IncidentStatus status;
+        private final String incidentType;
+        private final String district;
+        private final IncidentPriority priority;
+
+        Key(String month, IncidentStatus status, String incidentType, String district, IncidentPriority priority) {
+            this.month = month;
+            this.status = status;
+            this.incidentType = incidentType;
+            this.district = district;
+            this.priority = priority;
+        }
+
+        public static Key of(Incident incident) {
+            // Months follow the report date, stored as an ISO yyyy-MM-dd string
+            String reportDate = incident.getReportDetails() != null ? incident.getReportDetails().getReportDate() : null;
+            String month = reportDate != null && reportDate.length() >= 7 ? reportDate.substring(0, 7) : null;
+            String district = incident.getLocation() != null ? incident.getLocation().getDistrict() : null;
+            return new Key(month, incident.getStatus(), incident.getIncidentType(), district, incident.getPriority());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(month, other.month) && status == other.status
+                    && Objects.equals(incidentType, other.incidentType)
+                    && Objects.equals(district, other.district) && priority == other.priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(month, status, incidentType, district, priority);
+        }
+    }
+
+    private static final class Change {
+        private final Key before;
+        private final Key after;
+
+        private Change(Key before, Key after) {
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    /**
+     * One rollup per dimension; only touched while holding the service's lock.
+     */
+    private static final class Counters {
+        private final Map<String, long[]> byMonth = new HashMap<>();
+        private final Map<String, Long> byType = new HashMap<>();
+        private final Map<String, Long> byDistrict = new HashMap<>();
+        private final long[] byStatus = new long[IncidentStatus.values().length];
+        private final long[] byPriority = new long[IncidentPriority.values().length];
+        private long total;
+
+        private void apply(Change change) {
+            if (change.before != null) {
+                add(change.before, -1);
+            }
+            if (change.after != null) {
+                add(change.after, 1);
+            }
+        }
+
+        private void add(Key key, long delta) {
+            total += delta;
+            if (key.status != null) {
+                byStatus[key.status.ordinal()] += delta;
+                if (key.month != null) {
+                    long[] months = byMonth.computeIfAbsent(key.month, month -> new long[byStatus.length]);
+                    months[key.status.ordinal()] += delta;
+                    if (isEmpty(months)) {
+                        byMonth.remove(key.month);
+                    }
+                }
+            }
+            if (key.priority != null) {
+                byPriority[key.priority.ordinal()] += delta;
+            }
+            addTo(byType, key.incidentType, delta);
+            if (key.district != null) {
+                addTo(byDistrict, key.district, delta);
+            }
+        }
+
+        private static void addTo(Map<String, Long> counts, String name, long delta) {
+            long count = counts.getOrDefault(name, 0L) + delta;
+            if (count > 0) {
+                counts.put(name, count);
+            } else {
+                counts.remove(name);
+            }
+        }
+
+        private static boolean isEmpty(long[] counts) {
+            for (long count : counts) {
+                if (count > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
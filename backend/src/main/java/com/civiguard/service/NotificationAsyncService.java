@@ -3,11 +3,15 @@ package com.civiguard.service;
 import com.civiguard.model.Report;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Report notifications that must not hold up the caller. They are written to the
+ * outbox in the caller's transaction and delivered by the outbox relay, which
+ * replaces the earlier {@code @Async} hand-off that dropped work when the pool was
+ * saturated or the application restarted.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -15,20 +19,9 @@ public class NotificationAsyncService {
 
     private final NotificationService notificationService;
 
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public void sendNewReportNotification(Report report) {
-        try {
-            log.info("Sending notification for report #{}", report.getId());
-            notificationService.createNotification(
-                    null, // For admin group
-                    "New Report #" + report.getId() + ": " + report.getTitle(),
-                    "NEW_REPORT"
-            );
-            log.info("Successfully notified admins about new report #{}", report.getId());
-        } catch (Exception e) {
-            log.error("Failed to send notification for report #{}: {}", 
-                    report.getId(), e.getMessage(), e);
-        }
+        notificationService.notifyAdminsNewReport(report.getId(), report.getTitle());
+        log.debug("Queued admin notification for report #{}", report.getId());
     }
 }
@@ -0,0 +1,283 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.notification.NotificationDeliveryStats;
+import com.civiguard.model.NotificationLane;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs notification delivery work in priority lanes.
+ * <p>
+ * Workers always take the oldest task of the highest {@link NotificationLane} that has
+ * work and tokens. Each lane has a token bucket refilled at
+ * {@code app.notifications.delivery.lanes.<lane>.per-second} notifications per second
+ * (0 for no limit) holding at most one second of tokens; a task takes as many tokens as
+ * notifications it writes. A throttled lane is skipped rather than waited on, so a rate
+ * limited mass alert never holds back the lanes below it either. Bulk deliveries submit
+ * one batch at a time, which lets higher lanes cut in between batches.
+ * <p>
+ * Queue depth per lane is published as the {@code notifications.delivery.queued} gauge.
+ */
+@Service
+@Slf4j
+public class NotificationDeliveryScheduler {
+
+    private final Lane[] lanes;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    @Autowired
+    public NotificationDeliveryScheduler(
+            @Value("${app.notifications.delivery.workers:4}") int workers,
+            @Value("${app.notifications.delivery.lanes.critical.per-second:0}") double criticalPerSecond,
+            @Value("${app.notifications.delivery.lanes.operational.per-second:0}") double operationalPerSecond,
+            @Value("${app.notifications.delivery.lanes.alert.per-second:20000}") double alertPerSecond,
+            @Value("${app.notifications.delivery.lanes.informational.per-second:5000}") double informationalPerSecond,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(new double[] { criticalPerSecond, operationalPerSecond, alertPerSecond, informationalPerSecond },
+                System::nanoTime);
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Notification delivery needs at least one worker");
+        }
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::work, "notification-delivery-" + (i + 1));
+            worker.setDaemon(true);
+            this.workers.add(worker);
+            worker.start();
+        }
+        meterRegistry.ifAvailable(this::registerGauges);
+    }
+
+    /**
+     * Creates a scheduler without workers; tasks run when {@link #runNext()} is called.
+     */
+    NotificationDeliveryScheduler(double[] perSecond, LongSupplier clock) {
+        NotificationLane[] values = NotificationLane.values();
+        this.lanes = new Lane[values.length];
+        for (NotificationLane lane : values) {
+            lanes[lane.ordinal()] = new Lane(lane, new TokenBucket(perSecond[lane.ordinal()]));
+        }
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queues delivery work in a lane.
+     *
+     * @param notifications how many notifications the task writes, charged to the lane's rate limit
+     */
+    public void submit(NotificationLane lane, int notifications, Runnable task) {
+        Lane target = lanes[lane.ordinal()];
+        lock.lock();
+        try {
+            target.queue.addLast(new Task(task, Math.max(1, notifications), clock.getAsLong()));
+            target.depth.incrementAndGet();
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public NotificationDeliveryStats getStats() {
+        List<NotificationDeliveryStats.Lane> laneStats = new ArrayList<>(lanes.length);
+        lock.lock();
+        try {
+            for (Lane lane : lanes) {
+                laneStats.add(NotificationDeliveryStats.Lane.builder()
+                        .lane(lane.lane)
+                        .ratePerSecond(lane.bucket.perSecond)
+                        .queued(lane.depth.get())
+                        .started(lane.started)
+                        .throttled(lane.throttled)
+                        .averageWaitMs(lane.started == 0 ? 0 : lane.totalWaitNanos / 1e6 / lane.started)
+                        .maxWaitMs(lane.maxWaitNanos / 1e6)
+                        .build());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return NotificationDeliveryStats.builder()
+                .workers(workers.size())
+                .lanes(laneStats)
+                .build();
+    }
+
+    /**
+     * Runs the next task that may start now.
+     *
+     * @return false if no lane had a task ready
+     */
+    boolean runNext() {
+        Runnable task;
+        lock.lock();
+        try {
+            task = poll(clock.getAsLong()).task;
+        } finally {
+            lock.unlock();
+        }
+        if (task == null) {
+            return false;
+        }
+        run(task);
+        return true;
+    }
+
+    private void work() {
+        while (running) {
+            Runnable task;
+            lock.lock();
+            try {
+                Next next = poll(clock.getAsLong());
+                if (next.task == null) {
+                    if (next.waitNanos == Long.MAX_VALUE) {
+                        workAvailable.await();
+                    } else {
+                        workAvailable.awaitNanos(next.waitNanos);
+                    }
+                    continue;
+                }
+                task = next.task;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            run(task);
+        }
+    }
+
+    /**
+     * Takes the head of the highest lane with tokens, or reports how long until one has them.
+     */
+    private Next poll(long now) {
+        long waitNanos = Long.MAX_VALUE;
+        for (Lane lane : lanes) {
+            Task head = lane.queue.peekFirst();
+            if (head == null) {
+                continue;
+            }
+            long delay = lane.bucket.tryAcquire(head.notifications, now);
+            if (delay == 0) {
+                lane.queue.pollFirst();
+                lane.depth.decrementAndGet();
+                long waited = now - head.queuedAtNanos;
+                lane.started++;
+                lane.totalWaitNanos += waited;
+                lane.maxWaitNanos = Math.max(lane.maxWaitNanos, waited);
+                return new Next(head.runnable, 0);
+            }
+            if (!head.throttled) {
+                head.throttled = true;
+                lane.throttled++;
+            }
+            waitNanos = Math.min(waitNanos, delay);
+        }
+        return new Next(null, waitNanos);
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Notification delivery task failed", e);
+        }
+    }
+
+    private void registerGauges(MeterRegistry registry) {
+        for (Lane lane : lanes) {
+            Gauge.builder("notifications.delivery.queued", lane.depth, AtomicInteger::get)
+                    .description("Notification delivery tasks waiting in the lane")
+                    .tag("lane", lane.lane.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Token bucket holding up to one second of tokens. A task larger than the bucket may
+     * start once it is full and leaves it in debt, so big batches are paced, not starved.
+     */
+    static final class TokenBucket {
+        private final double perSecond;
+        private double tokens;
+        private long refilledAtNanos = Long.MIN_VALUE;
+
+        TokenBucket(double perSecond) {
+            this.perSecond = Math.max(0, perSecond);
+            this.tokens = this.perSecond;
+        }
+
+        /**
+         * @return 0 if the tokens were taken, otherwise nanoseconds until they will be available
+         */
+        long tryAcquire(int amount, long now) {
+            if (perSecond == 0) {
+                return 0;
+            }
+            if (refilledAtNanos != Long.MIN_VALUE) {
+                tokens = Math.min(perSecond, tokens + (now - refilledAtNanos) * perSecond / 1e9);
+            }
+            refilledAtNanos = now;
+            double needed = Math.min(amount, perSecond);
+            if (tokens >= needed) {
+                tokens -= amount;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((needed - tokens) / perSecond * 1e9));
+        }
+    }
+
+    private static final class Lane {
+        private final NotificationLane lane;
+        private final TokenBucket bucket;
+        private final ArrayDeque<Task> queue = new ArrayDeque<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private long started;
+        private long throttled;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        private Lane(NotificationLane lane, TokenBucket bucket) {
+            this.lane = lane;
+            this.bucket = bucket;
+        }
+    }
+
+    private static final class Task {
+        private final Runnable runnable;
+        private final int notifications;
+        private final long queuedAtNanos;
+        private boolean throttled;
+
+        private Task(Runnable runnable, int notifications, long queuedAtNanos) {
+            this.runnable = runnable;
+            this.notifications = notifications;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+
+    private record Next(Runnable task, long waitNanos) {
+    }
+}
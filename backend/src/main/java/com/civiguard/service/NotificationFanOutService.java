@@ -0,0 +1,461 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.notification.NotificationFanOutStatus;
+import com.civiguard.dto.notification.NotificationFanOutStatus.State;
+import com.civiguard.exception.ResourceNotFoundException;
+import com.civiguard.model.NotificationLane;
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.model.User;
+import com.civiguard.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Delivers one notification to a large audience without loading {@link User} entities.
+ * <p>
+ * Recipient IDs are paged in ascending order ({@code id > last ORDER BY id LIMIT batch})
+ * and every page is written to {@code notifications} as one JDBC batch in its own
+ * transaction, so memory stays bounded by {@code app.notifications.fan-out.batch-size}
+ * and a failure keeps the batches already delivered. Each committed batch is handed to
+ * {@link NotificationPushService} for connected recipients. A job may be split into
+ * partitions, which are delivered in parallel. Jobs start once the submitting
+ * transaction commits and every batch is queued separately in the job's
+ * {@link NotificationLane} of the {@link NotificationDeliveryScheduler}, so urgent
+ * notifications overtake a large job between its batches. Progress is kept for
+ * {@code app.notifications.fan-out.job-retention-ms} after a job finishes.
+ */
+@Service
+@Slf4j
+public class NotificationFanOutService {
+
+    private static final String COUNT_BY_ROLE = "SELECT COUNT(*) FROM users WHERE role = ?";
+    private static final String NEXT_IDS_BY_ROLE =
+            "SELECT id FROM users WHERE role = ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (message, type, read, user_id, created_at) VALUES (?, ?, false, ?, ?)";
+    // Width of Notification.message; JDBC writes bypass entity validation
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationPushService notificationPushService;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationDeliveryScheduler scheduler;
+    private final OutboxService outboxService;
+    private final int batchSize;
+    private final long jobRetentionMs;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.notifications.fan-out.progress-interval-ms:1000}")
+    private long progressIntervalMs = 1000;
+
+    public NotificationFanOutService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NotificationPushService notificationPushService,
+            NotificationDeliveryScheduler scheduler,
+            OutboxService outboxService,
+            @Value("${app.notifications.fan-out.batch-size:1000}") int batchSize,
+            @Value("${app.notifications.fan-out.job-retention-ms:3600000}") long jobRetentionMs) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Fan-out batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationPushService = notificationPushService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.jobRetentionMs = jobRetentionMs;
+        this.scheduler = scheduler;
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * Returns a new ID for a fan-out job, so callers can hand it out before the job is queued.
+     */
+    public static String newJobId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Queues a notification to every user with the role. Delivery starts once the
+     * current transaction commits, or immediately when there is none.
+     *
+     * @param jobId the ID to poll with {@link #getJob(String)}
+     */
+    public void fanOutToRole(String jobId, NotificationLane lane, User.Role role, String message, String type) {
+        String roleName = role.name();
+        RecipientSource source = new RecipientSource() {
+            @Override
+            public Long count() {
+                return jdbcTemplate.queryForObject(COUNT_BY_ROLE, Long.class, roleName);
+            }
+
+            @Override
+            public List<Long> nextIds(long afterId, int limit) {
+                return jdbcTemplate.queryForList(NEXT_IDS_BY_ROLE, Long.class, roleName, afterId, limit);
+            }
+        };
+        submit(jobId, lane, "role:" + roleName, message, type, null, job -> List.of(source));
+    }
+
+    /**
+     * Queues a notification to the given users, which must be sorted and distinct.
+     *
+     * @param jobId    the ID to poll with {@link #getJob(String)}
+     * @param audience short description of who the users are, shown in the job status
+     */
+    public void fanOutToUsers(String jobId, NotificationLane lane, long[] userIds, String audience,
+                              String message, String type) {
+        RecipientSource source = arraySource(userIds.clone());
+        submit(jobId, lane, audience, message, type, null, job -> List.of(source));
+    }
+
+    /**
+     * Queues a notification to several partitions of users, delivered in parallel.
+     * <p>
+     * The partitions are resolved by a delivery worker, so the caller returns at once.
+     * Each partition must be sorted; a user in several partitions is only notified
+     * by the first one. The listener is called when delivery starts, at most every
+     * {@code app.notifications.fan-out.progress-interval-ms} while it runs, and once
+     * it finishes.
+     *
+     * @param jobId      the ID to poll with {@link #getJob(String)}
+     * @param partitions resolves the partitions, keyed by name in delivery order
+     */
+    public void fanOutToPartitions(String jobId, NotificationLane lane, String audience, String message, String type,
+                                   Supplier<Map<String, long[]>> partitions,
+                                   Consumer<NotificationFanOutStatus> progressListener) {
+        submit(jobId, lane, audience, message, type, progressListener, job -> {
+            Collection<long[]> resolved = partitions.get().values();
+            List<long[]> distinct = deduplicate(resolved);
+            long requested = resolved.stream().mapToLong(ids -> ids.length).sum();
+            long kept = distinct.stream().mapToLong(ids -> ids.length).sum();
+            job.duplicatesSkipped = requested - kept;
+
+            List<RecipientSource> sources = new ArrayList<>(distinct.size());
+            for (long[] ids : distinct) {
+                if (ids.length > 0) {
+                    sources.add(arraySource(ids));
+                }
+            }
+            return sources;
+        });
+    }
+
+    /**
+     * Returns the progress of a fan-out job. Jobs handed out with an outbox event that
+     * this instance has not started are reported from the event: {@code QUEUED} while
+     * it is pending, {@code DISPATCHED} once another instance (or this one before a
+     * restart) took it, and {@code FAILED} if it could not be started.
+     */
+    public NotificationFanOutStatus getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job != null) {
+            return job.toStatus();
+        }
+        OutboxEvent event = outboxService.findByCorrelationId(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification job", "id", jobId));
+        NotificationFanOutStatus.NotificationFanOutStatusBuilder status = NotificationFanOutStatus.builder()
+                .jobId(jobId)
+                .queuedAt(event.getCreatedAt());
+        return switch (event.getStatus()) {
+            case PENDING -> status.state(State.QUEUED).build();
+            case PROCESSED -> status.state(State.DISPATCHED).startedAt(event.getProcessedAt()).build();
+            case FAILED -> status.state(State.FAILED).error(event.getLastError()).build();
+        };
+    }
+
+    /**
+     * Removes from each sorted partition the users already present in an earlier one.
+     */
+    static List<long[]> deduplicate(Collection<long[]> partitions) {
+        List<long[]> result = new ArrayList<>(partitions.size());
+        long[] seen = new long[0];
+        for (long[] partition : partitions) {
+            long[] kept = new long[partition.length];
+            int size = 0;
+            int s = 0;
+            for (int i = 0; i < partition.length; i++) {
+                long userId = partition[i];
+                if (i > 0 && userId == partition[i - 1]) {
+                    continue;
+                }
+                while (s < seen.length && seen[s] < userId) {
+                    s++;
+                }
+                if (s == seen.length || seen[s] != userId) {
+                    kept[size++] = userId;
+                }
+            }
+            kept = Arrays.copyOf(kept, size);
+            result.add(kept);
+            seen = merge(seen, kept);
+        }
+        return result;
+    }
+
+    private void submit(String jobId, NotificationLane lane, String audience, String message, String type,
+                        Consumer<NotificationFanOutStatus> progressListener, Planner planner) {
+        String text = message != null && message.length() > MAX_MESSAGE_LENGTH
+                ? message.substring(0, MAX_MESSAGE_LENGTH - 3) + "..."
+                : message;
+        TransactionUtils.afterCommit(() -> {
+            purgeFinishedJobs();
+            Job job = new Job(jobId, lane, audience, type, progressListener);
+            jobs.put(jobId, job);
+            scheduler.submit(lane, 1, () -> start(job, text, planner));
+        });
+    }
+
+    private void start(Job job, String message, Planner planner) {
+        List<RecipientSource> sources;
+        Long total = 0L;
+        try {
+            sources = planner.plan(job);
+            for (RecipientSource source : sources) {
+                Long count = source.count();
+                total = total != null && count != null ? total + count : null;
+            }
+        } catch (Exception e) {
+            log.error("Notification job {} could not resolve its recipients", job.id, e);
+            job.failed(e.getMessage());
+            job.finish();
+            return;
+        }
+
+        job.start(total, sources.size());
+        if (sources.isEmpty()) {
+            job.finish();
+            return;
+        }
+        for (RecipientSource source : sources) {
+            scheduleBatch(job, message, source, 0);
+        }
+    }
+
+    private void scheduleBatch(Job job, String message, RecipientSource recipients, long afterId) {
+        scheduler.submit(job.lane, batchSize, () -> deliverBatch(job, message, recipients, afterId));
+    }
+
+    /**
+     * Writes the next page of a partition and queues the one after it, if any.
+     */
+    private void deliverBatch(Job job, String message, RecipientSource recipients, long afterId) {
+        boolean partitionDone = true;
+        try {
+            if (job.error != null) {
+                // Another partition failed; stop writing
+                return;
+            }
+            List<Long> ids = recipients.nextIds(afterId, batchSize);
+            if (ids.isEmpty()) {
+                return;
+            }
+            Timestamp createdAt = Timestamp.valueOf(job.queuedAt);
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, ids, ids.size(), (ps, userId) -> {
+                        ps.setString(1, message);
+                        ps.setString(2, job.type);
+                        ps.setLong(3, userId);
+                        ps.setTimestamp(4, createdAt);
+                    }));
+            notificationPushService.onNotificationsCreated(ids, message, job.type, job.queuedAt);
+            job.delivered.addAndGet(ids.size());
+            job.batches.incrementAndGet();
+            job.publishProgress(progressIntervalMs);
+            if (ids.size() == batchSize) {
+                partitionDone = false;
+                scheduleBatch(job, message, recipients, ids.get(ids.size() - 1));
+            }
+        } catch (Exception e) {
+            log.error("Notification job {} failed after {} deliveries", job.id, job.delivered.get(), e);
+            job.failed(e.getMessage());
+        } finally {
+            if (partitionDone && job.remainingPartitions.decrementAndGet() == 0) {
+                job.finish();
+                log.info("Notification job {} delivered {} {} notifications to {} in {} batches",
+                        job.id, job.delivered.get(), job.type, job.audience, job.batches.get());
+            }
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - jobRetentionMs;
+        jobs.values().removeIf(job -> job.finishedAtMs != 0 && job.finishedAtMs < cutoff);
+    }
+
+    private static RecipientSource arraySource(long[] ids) {
+        return new RecipientSource() {
+            @Override
+            public Long count() {
+                return (long) ids.length;
+            }
+
+            @Override
+            public List<Long> nextIds(long afterId, int limit) {
+                int from = Arrays.binarySearch(ids, afterId);
+                from = from >= 0 ? from + 1 : -from - 1;
+                int to = Math.min(ids.length, from + limit);
+                List<Long> page = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    page.add(ids[i]);
+                }
+                return page;
+            }
+        };
+    }
+
+    private static long[] merge(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            merged[k++] = a[i] <= b[j] ? a[i++] : b[j++];
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[k++] = b[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * Pages through recipient user IDs in ascending order.
+     */
+    interface RecipientSource {
+
+        /**
+         * Returns the expected number of recipients, or {@code null} if unknown.
+         */
+        Long count();
+
+        List<Long> nextIds(long afterId, int limit);
+    }
+
+    /**
+     * Resolves a job's partitions once it is picked up by a delivery worker.
+     */
+    private interface Planner {
+        List<RecipientSource> plan(Job job);
+    }
+
+    private static final class Job {
+        private final String id;
+        private final NotificationLane lane;
+        private final String audience;
+        private final String type;
+        private final Consumer<NotificationFanOutStatus> progressListener;
+        private final LocalDateTime queuedAt = LocalDateTime.now();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicInteger remainingPartitions = new AtomicInteger();
+        private final AtomicLong lastPublishedMs = new AtomicLong();
+        private volatile State state = State.QUEUED;
+        private volatile Long total;
+        private volatile int partitions;
+        private volatile long duplicatesSkipped;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedAtMs;
+        private volatile String error;
+
+        private Job(String id, NotificationLane lane, String audience, String type,
+                    Consumer<NotificationFanOutStatus> progressListener) {
+            this.id = id;
+            this.lane = lane;
+            this.audience = audience;
+            this.type = type;
+            this.progressListener = progressListener;
+        }
+
+        private void start(Long total, int partitions) {
+            this.total = total;
+            this.partitions = partitions;
+            this.remainingPartitions.set(partitions);
+            this.startedAt = LocalDateTime.now();
+            this.state = State.RUNNING;
+            publish();
+        }
+
+        private void failed(String error) {
+            if (this.error == null) {
+                this.error = error != null ? error : "Delivery failed";
+            }
+        }
+
+        private void finish() {
+            this.finishedAt = LocalDateTime.now();
+            this.finishedAtMs = System.currentTimeMillis();
+            this.state = error != null ? State.FAILED : State.COMPLETED;
+            publish();
+        }
+
+        private void publishProgress(long intervalMs) {
+            long now = System.currentTimeMillis();
+            long last = lastPublishedMs.get();
+            if (now - last >= intervalMs && lastPublishedMs.compareAndSet(last, now)) {
+                publish();
+            }
+        }
+
+        private void publish() {
+            if (progressListener == null) {
+                return;
+            }
+            lastPublishedMs.set(System.currentTimeMillis());
+            try {
+                progressListener.accept(toStatus());
+            } catch (Exception e) {
+                log.error("Error publishing progress of notification job {}", id, e);
+            }
+        }
+
+        private NotificationFanOutStatus toStatus() {
+            long sent = delivered.get();
+            Long expected = total;
+            Double percent = null;
+            if (state == State.COMPLETED) {
+                percent = 100.0;
+            } else if (expected != null && expected > 0) {
+                percent = Math.min(100.0, Math.round(sent * 10000.0 / expected) / 100.0);
+            }
+            return NotificationFanOutStatus.builder()
+                    .jobId(id)
+                    .type(type)
+                    .audience(audience)
+                    .state(state)
+                    .partitions(partitions)
+                    .totalRecipients(expected)
+                    .duplicatesSkipped(duplicatesSkipped)
+                    .delivered(sent)
+                    .batches(batches.get())
+                    .progressPercent(percent)
+                    .queuedAt(queuedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.notification.NotificationPushMessage;
+import com.civiguard.dto.notification.NotificationResponse;
+import com.civiguard.model.Notification;
+import com.civiguard.repository.NotificationRepository;
+import com.civiguard.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes notification changes to {@code /user/{id}/queue/notifications} and keeps a
+ * per-user unread count, so clients need not poll.
+ * <p>
+ * Counts are loaded from the database on first use and then adjusted on create,
+ * mark-read and read-all. An entry is reloaded after
+ * {@code app.notifications.unread-cache.ttl-ms} to absorb any drift, and the cache is
+ * cleared if it grows past {@code app.notifications.unread-cache.max-entries}. Pushes
+ * are only built for users with a connected session.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPushService {
+
+    private static final String NOTIFICATIONS_QUEUE = "/queue/notifications";
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+
+    private final Map<Long, UnreadCount> unreadCounts = new ConcurrentHashMap<>();
+
+    @Value("${app.notifications.unread-cache.ttl-ms:600000}")
+    private long ttlMillis;
+
+    @Value("${app.notifications.unread-cache.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * Counts and pushes a saved notification once the surrounding transaction commits.
+     */
+    public void onNotificationCreated(Notification notification) {
+        if (notification.getUser() == null || notification.getUser().getId() == null) {
+            return;
+        }
+        Long userId = notification.getUser().getId();
+        NotificationResponse response = mapToResponse(notification);
+        TransactionUtils.afterCommit(() -> {
+            adjust(userId, 1);
+            push(userId, NotificationPushMessage.Event.CREATED, response);
+        });
+    }
+
+    /**
+     * Counts and pushes notifications written in bulk, which have no entity to map.
+     * Must be called after the batch is committed.
+     */
+    public void onNotificationsCreated(List<Long> userIds, String message, String type, LocalDateTime createdAt) {
+        NotificationResponse response = new NotificationResponse();
+        response.setMessage(message);
+        response.setType(type);
+        response.setRead(false);
+        response.setCreatedAt(createdAt);
+        for (Long userId : userIds) {
+            adjust(userId, 1);
+            push(userId, NotificationPushMessage.Event.CREATED, response);
+        }
+    }
+
+    public void onNotificationRead(Long userId, Notification notification) {
+        NotificationResponse response = mapToResponse(notification);
+        TransactionUtils.afterCommit(() -> {
+            adjust(userId, -1);
+            push(userId, NotificationPushMessage.Event.READ, response);
+        });
+    }
+
+    public void onAllRead(Long userId) {
+        TransactionUtils.afterCommit(() -> {
+            unreadCounts.put(userId, new UnreadCount(0, System.currentTimeMillis()));
+            push(userId, NotificationPushMessage.Event.ALL_READ, null);
+        });
+    }
+
+    /**
+     * Forgets the cached counts of users whose unread notifications were archived, so
+     * they are reloaded on next use. Must be called after the archiving is committed.
+     */
+    public void onUnreadArchived(Collection<Long> userIds) {
+        userIds.forEach(unreadCounts::remove);
+    }
+
+    /**
+     * Returns the user's unread count, loading it from the database when not cached.
+     */
+    public long getUnreadCount(Long userId) {
+        long now = System.currentTimeMillis();
+        UnreadCount cached = unreadCounts.get(userId);
+        if (cached != null && now - cached.loadedAt < ttlMillis) {
+            return Math.max(cached.count.get(), 0);
+        }
+        if (unreadCounts.size() >= maxEntries) {
+            unreadCounts.clear();
+        }
+        long count = notificationRepository.countUnreadByUserId(userId);
+        unreadCounts.put(userId, new UnreadCount(count, now));
+        return count;
+    }
+
+    private void adjust(Long userId, long delta) {
+        // Users without a cached count are loaded fresh, which already includes the change
+        UnreadCount cached = unreadCounts.get(userId);
+        if (cached != null) {
+            cached.count.updateAndGet(count -> Math.max(count + delta, 0));
+        }
+    }
+
+    private void push(Long userId, NotificationPushMessage.Event event, NotificationResponse notification) {
+        String user = String.valueOf(userId);
+        if (simpUserRegistry.getUser(user) == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(user, NOTIFICATIONS_QUEUE, NotificationPushMessage.builder()
+                    .event(event)
+                    .notification(notification)
+                    .unreadCount(getUnreadCount(userId))
+                    .build());
+        } catch (Exception e) {
+            log.error("Error pushing {} notification event to user {}", event, userId, e);
+        }
+    }
+
+    private NotificationResponse mapToResponse(Notification notification) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(notification.getId());
+        response.setMessage(notification.getMessage());
+        response.setType(notification.getType());
+        response.setRead(notification.isRead());
+        response.setCreatedAt(notification.getCreatedAt() != null ? notification.getCreatedAt() : LocalDateTime.now());
+        return response;
+    }
+
+    private static final class UnreadCount {
+        private final AtomicLong count;
+        private final long loadedAt;
+
+        private UnreadCount(long count, long loadedAt) {
+            this.count = new AtomicLong(count);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.civiguard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves old notifications out of {@code notifications} into {@code notifications_archive},
+ * a table partitioned by month of {@code created_at}.
+ * <p>
+ * Read notifications older than {@code app.notifications.retention.read-after-days} and
+ * any notification older than {@code app.notifications.retention.max-age-days} are moved
+ * in batches of {@code app.notifications.retention.batch-size}, each one a single
+ * delete-and-insert statement in its own transaction. Rows are claimed with
+ * {@code SKIP LOCKED}, so several instances can archive at once. Monthly partitions are
+ * created as needed, and those older than
+ * {@code app.notifications.retention.archive-retention-months} are dropped whole.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    static final String ARCHIVE_TABLE = "notifications_archive";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String CREATE_ARCHIVE_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE + " (" +
+            "id BIGINT NOT NULL, user_id BIGINT, message VARCHAR(255) NOT NULL, type VARCHAR(255), " +
+            "read BOOLEAN NOT NULL, created_at TIMESTAMP(6) NOT NULL, archived_at TIMESTAMP(6) NOT NULL" +
+            ") PARTITION BY RANGE (created_at)";
+    private static final String CREATE_ARCHIVE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_notifications_archive_user ON " + ARCHIVE_TABLE +
+            " (user_id, created_at, id)";
+    private static final String CREATE_PARTITION =
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF " + ARCHIVE_TABLE + " FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String FIND_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = '" + ARCHIVE_TABLE + "'";
+
+    private static final String ARCHIVABLE =
+            "(read = true AND created_at < ?) OR created_at < ?";
+    private static final String OLDEST_ARCHIVABLE =
+            "SELECT MIN(created_at) FROM notifications WHERE " + ARCHIVABLE;
+    private static final String ARCHIVE_BATCH =
+            "WITH moved AS (" +
+            "DELETE FROM notifications WHERE id IN (" +
+            "SELECT id FROM notifications WHERE " + ARCHIVABLE + " LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, message, type, read, created_at) " +
+            "INSERT INTO " + ARCHIVE_TABLE + " (id, user_id, message, type, read, created_at, archived_at) " +
+            "SELECT id, user_id, message, type, read, created_at, ? FROM moved " +
+            "RETURNING user_id, read";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationPushService notificationPushService;
+    private final boolean enabled;
+    private final int readAfterDays;
+    private final int maxAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int archiveRetentionMonths;
+
+    private volatile boolean archiveTableReady;
+
+    public NotificationRetentionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NotificationPushService notificationPushService,
+            @Value("${app.notifications.retention.enabled:true}") boolean enabled,
+            @Value("${app.notifications.retention.read-after-days:30}") int readAfterDays,
+            @Value("${app.notifications.retention.max-age-days:180}") int maxAgeDays,
+            @Value("${app.notifications.retention.batch-size:5000}") int batchSize,
+            @Value("${app.notifications.retention.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${app.notifications.retention.archive-retention-months:24}") int archiveRetentionMonths) {
+        if (readAfterDays <= 0 || maxAgeDays < readAfterDays || batchSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Notification retention needs positive read-after-days and batch-size, and max-age-days >= read-after-days");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.notificationPushService = notificationPushService;
+        this.enabled = enabled;
+        this.readAfterDays = readAfterDays;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.archiveRetentionMonths = archiveRetentionMonths;
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.retention.interval-ms:3600000}",
+               fixedDelayString = "${app.notifications.retention.interval-ms:3600000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long archived = archive(now.minusDays(readAfterDays), now.minusDays(maxAgeDays), now);
+            if (archived > 0) {
+                log.info("Archived {} notifications", archived);
+            }
+            dropExpiredPartitions(YearMonth.from(now));
+        } catch (Exception e) {
+            log.error("Notification archiving failed", e);
+        }
+    }
+
+    /**
+     * Archives up to {@code max-batches-per-run} batches of notifications.
+     *
+     * @return the number of notifications archived
+     */
+    long archive(LocalDateTime readCutoff, LocalDateTime expiryCutoff, LocalDateTime now) {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_ARCHIVABLE, Timestamp.class,
+                Timestamp.valueOf(readCutoff), Timestamp.valueOf(expiryCutoff));
+        if (oldest == null) {
+            return 0;
+        }
+        ensureArchiveTable();
+        // Every archivable row is older than the read cutoff
+        for (YearMonth month : monthsBetween(YearMonth.from(oldest.toLocalDateTime()), YearMonth.from(readCutoff))) {
+            jdbcTemplate.execute(String.format(CREATE_PARTITION,
+                    partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+
+        long archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Set<Long> unreadUsers = new HashSet<>();
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Boolean> rows = jdbcTemplate.query(ARCHIVE_BATCH, (rs, rowNum) -> {
+                    boolean read = rs.getBoolean("read");
+                    long userId = rs.getLong("user_id");
+                    if (!read && !rs.wasNull()) {
+                        unreadUsers.add(userId);
+                    }
+                    return read;
+                }, Timestamp.valueOf(readCutoff), Timestamp.valueOf(expiryCutoff), batchSize, Timestamp.valueOf(now));
+                return rows.size();
+            });
+            if (!unreadUsers.isEmpty()) {
+                notificationPushService.onUnreadArchived(unreadUsers);
+            }
+            archived += moved != null ? moved : 0;
+            if (moved == null || moved < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private void dropExpiredPartitions(YearMonth currentMonth) {
+        if (archiveRetentionMonths <= 0) {
+            return;
+        }
+        ensureArchiveTable();
+        for (String partition : jdbcTemplate.queryForList(FIND_PARTITIONS, String.class)) {
+            if (isExpired(partition, currentMonth, archiveRetentionMonths)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped notification archive partition {}", partition);
+            }
+        }
+    }
+
+    private void ensureArchiveTable() {
+        if (archiveTableReady) {
+            return;
+        }
+        jdbcTemplate.execute(CREATE_ARCHIVE_TABLE);
+        jdbcTemplate.execute(CREATE_ARCHIVE_INDEX);
+        archiveTableReady = true;
+    }
+
+    static List<YearMonth> monthsBetween(YearMonth first, YearMonth last) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    static String partitionName(YearMonth month) {
+        return ARCHIVE_TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Whether a partition holds only months that are at least {@code retentionMonths}
+     * before the current one. Tables not named by {@link #partitionName} are kept.
+     */
+    static boolean isExpired(String partition, YearMonth currentMonth, int retentionMonths) {
+        String prefix = ARCHIVE_TABLE + "_";
+        if (!partition.startsWith(prefix)) {
+            return false;
+        }
+        try {
+            YearMonth month = YearMonth.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+            return month.isBefore(currentMonth.minusMonths(retentionMonths));
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -1,35 +1,54 @@
-
 package com.civiguard.service;
 
+import com.civiguard.dto.CursorPage;
+import com.civiguard.dto.notification.NotificationResponse;
+import com.civiguard.event.NotificationEventPayload;
 import com.civiguard.model.Incident;
 import com.civiguard.model.Notification;
+import com.civiguard.model.NotificationLane;
 import com.civiguard.model.Officer;
 import com.civiguard.model.User;
+import com.civiguard.repository.NotificationRepository;
 import com.civiguard.repository.UserRepository;
+import com.civiguard.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * Notifications about incidents and reports. The {@code notify*} and {@code queue*}
+ * methods only record an outbox event in the caller's transaction; the notifications
+ * are written by {@link #deliver(NotificationEventPayload)} once the relay picks it up,
+ * so the caller's latency does not depend on how many users are notified.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    public static final String NOTIFICATION_EVENT = "NOTIFICATION";
+    public static final String INCIDENT_AGGREGATE = "Incident";
+    public static final String REPORT_AGGREGATE = "Report";
+
     private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationPushService notificationPushService;
+    private final OutboxService outboxService;
+    private final AdminIncidentDigestService adminIncidentDigestService;
 
     @Transactional
     public void notifyAdminsNewIncident(Incident incident) {
-        List<User> admins = userRepository.findByRole(User.Role.ADMIN);
-        String message = "New incident reported: " + incident.getTitle();
-        
-        for (User admin : admins) {
-            createNotification(admin, message, "INCIDENT_REPORTED");
+        if (adminIncidentDigestService.collapse(incident)) {
+            return;
         }
-        
-        log.info("Notified {} admins about new incident: {}", admins.size(), incident.getId());
+        queueForRole(INCIDENT_AGGREGATE, incident.getId(), User.Role.ADMIN,
+                "New incident reported: " + incident.getTitle(), "INCIDENT_REPORTED");
     }
 
     @Transactional
@@ -39,22 +58,82 @@ public class NotificationService {
         }
         
         String message = "Your incident '" + incident.getTitle() + "' status has been updated to: " + incident.getStatus();
-        createNotification(incident.getReportedBy(), message, "STATUS_CHANGED");
-        
-        log.info("Notified user {} about incident status change: {}", incident.getReportedBy().getId(), incident.getId());
+        queueNotification(INCIDENT_AGGREGATE, incident.getId(), incident.getReportedBy(), message, "STATUS_CHANGED");
     }
 
     @Transactional
     public void notifyOfficersAssigned(Incident incident, List<Officer> officers) {
-        String message = "You have been assigned to incident: " + incident.getTitle();
-        
-        for (Officer officer : officers) {
-            if (officer.getUser() != null) {
-                createNotification(officer.getUser(), message, "ASSIGNED_INCIDENT");
-            }
+        List<Long> userIds = officers.stream()
+                .map(Officer::getUser)
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .toList();
+        if (userIds.isEmpty()) {
+            return;
         }
-        
-        log.info("Notified {} officers about assignment to incident: {}", officers.size(), incident.getId());
+        queue(INCIDENT_AGGREGATE, incident.getId(), NotificationEventPayload.builder()
+                .userIds(userIds)
+                .message("You have been assigned to incident: " + incident.getTitle())
+                .type("ASSIGNED_INCIDENT")
+                .build());
+    }
+
+    @Transactional
+    public void notifyAdminsNewReport(Long reportId, String title) {
+        queueForRole(REPORT_AGGREGATE, reportId, User.Role.ADMIN,
+                "New Report #" + reportId + ": " + title, "NEW_REPORT");
+    }
+
+    /**
+     * Queues a notification to one user, delivered after the current transaction commits.
+     *
+     * @param aggregateType what the notification is about; notifications about the
+     *                      same aggregate are delivered in order
+     */
+    @Transactional
+    public void queueNotification(String aggregateType, Long aggregateId, User recipient, String message, String type) {
+        if (recipient == null) {
+            log.debug("Skipping {} notification for {} #{} without a recipient", type, aggregateType, aggregateId);
+            return;
+        }
+        queue(aggregateType, aggregateId, NotificationEventPayload.builder()
+                .userIds(List.of(recipient.getId()))
+                .message(message)
+                .type(type)
+                .build());
+    }
+
+    /**
+     * Writes the notifications of a queued event. Called by the outbox relay from the
+     * event's lane of the {@link NotificationDeliveryScheduler}, in the transaction that
+     * marks the event processed.
+     */
+    @Transactional
+    public void deliver(NotificationEventPayload payload) {
+        List<User> recipients = payload.getRole() != null
+                ? userRepository.findByRole(payload.getRole())
+                : userRepository.findAllById(payload.getUserIds() != null ? payload.getUserIds() : List.of());
+        for (User recipient : recipients) {
+            createNotification(recipient, payload.getMessage(), payload.getType());
+        }
+        log.info("Delivered {} {} notifications", recipients.size(), payload.getType());
+    }
+
+    /**
+     * One keyset page of the user's notifications, newest first. Archived notifications
+     * are not included.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getNotifications(Long userId, boolean unreadOnly, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Notification> notifications = after == null
+                ? notificationRepository.findFirstPageByUserId(userId, unreadOnly, limit)
+                : notificationRepository.findPageByUserIdAfter(userId, unreadOnly, after.getCreatedAt(), after.getId(), limit);
+
+        return CursorPage.of(notifications, pageSize, Notification::getCreatedAt, Notification::getId,
+                this::mapToResponse);
     }
 
     @Transactional
@@ -65,7 +144,30 @@ public class NotificationService {
         notification.setType(type);
         notification.setRead(false);
         
-        user.getNotifications().add(notification);
-        userRepository.save(user);
+        notificationRepository.save(notification);
+        notificationPushService.onNotificationCreated(notification);
+    }
+
+    private void queueForRole(String aggregateType, Long aggregateId, User.Role role, String message, String type) {
+        queue(aggregateType, aggregateId, NotificationEventPayload.builder()
+                .role(role)
+                .message(message)
+                .type(type)
+                .build());
+    }
+
+    private void queue(String aggregateType, Long aggregateId, NotificationEventPayload payload) {
+        outboxService.enqueue(aggregateType, aggregateId, NOTIFICATION_EVENT, payload,
+                NotificationLane.forType(payload.getType()).ordinal());
+    }
+
+    private NotificationResponse mapToResponse(Notification notification) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(notification.getId());
+        response.setMessage(notification.getMessage());
+        response.setType(notification.getType());
+        response.setRead(notification.isRead());
+        response.setCreatedAt(notification.getCreatedAt());
+        return response;
     }
 }
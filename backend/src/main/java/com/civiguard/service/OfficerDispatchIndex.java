@@ -0,0 +1,268 @@
+package com.civiguard.service;
+
+import com.civiguard.model.Officer.OfficerStatus;
+import com.civiguard.model.TrackedEntityType;
+import com.civiguard.util.GeoUtils;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Live grid index of officer positions used to find the nearest dispatchable
+ * officers for an incident.
+ * <p>
+ * Each officer has at most one position: the most recent fix from either their
+ * own location pings or the patrol vehicle assigned to them. Positions are kept
+ * in fixed-size lat/lng cells and a k-nearest query scans rings of cells outward
+ * from the query point, stopping as soon as no unscanned cell can hold a closer
+ * officer. Only officers whose status is {@code ACTIVE} or {@code ON_PATROL} and
+ * whose fix is younger than {@code app.dispatch.max-position-age-ms} are returned.
+ * <p>
+ * Queries are lock-free; writers are serialised and publish new cell arrays.
+ */
+@Component
+public class OfficerDispatchIndex {
+
+    private final double cellSizeDeg;
+    private final long maxPositionAgeMillis;
+
+    private final Map<Long, Unit> units = new ConcurrentHashMap<>();
+    private final Map<Long, Unit[]> cells = new ConcurrentHashMap<>();
+    private volatile Map<Long, OfficerStatus> statuses = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> officerIdsByUserId = new ConcurrentHashMap<>();
+
+    public OfficerDispatchIndex(
+            @Value("${app.dispatch.index.cell-size-deg:0.02}") double cellSizeDeg,
+            @Value("${app.dispatch.max-position-age-ms:900000}") long maxPositionAgeMillis) {
+        this.cellSizeDeg = cellSizeDeg;
+        this.maxPositionAgeMillis = maxPositionAgeMillis;
+    }
+
+    /**
+     * Replaces the officer directory (status and owning user) in one step.
+     */
+    public void replaceOfficers(Map<Long, OfficerStatus> newStatuses, Map<Long, Long> newOfficerIdsByUserId) {
+        this.statuses = new ConcurrentHashMap<>(newStatuses);
+        this.officerIdsByUserId = new ConcurrentHashMap<>(newOfficerIdsByUserId);
+    }
+
+    public void updateStatus(Long officerId, Long userId, OfficerStatus status) {
+        if (officerId == null) {
+            return;
+        }
+        if (status != null) {
+            statuses.put(officerId, status);
+        } else {
+            statuses.remove(officerId);
+        }
+        if (userId != null) {
+            officerIdsByUserId.put(userId, officerId);
+        }
+    }
+
+    public synchronized void removeOfficer(Long officerId) {
+        statuses.remove(officerId);
+        officerIdsByUserId.values().removeIf(officerId::equals);
+        Unit existing = units.remove(officerId);
+        if (existing != null) {
+            removeFromCell(existing);
+        }
+    }
+
+    /**
+     * Resolves the officer that owns a user account, or {@code null} if the user is not an officer.
+     */
+    public Long officerIdForUser(Long userId) {
+        return userId != null ? officerIdsByUserId.get(userId) : null;
+    }
+
+    /**
+     * Records a position for an officer. Fixes older than the one already held are ignored.
+     */
+    public synchronized void updatePosition(long officerId, double latitude, double longitude,
+                                            long timestamp, TrackedEntityType source) {
+        Unit existing = units.get(officerId);
+        if (existing != null && existing.timestamp > timestamp) {
+            return;
+        }
+        Unit unit = new Unit(officerId, latitude, longitude, timestamp, source,
+                cellKey(cellIndex(latitude + 90), cellIndex(longitude + 180)));
+        if (existing != null) {
+            removeFromCell(existing);
+        }
+        units.put(officerId, unit);
+        Unit[] cell = cells.get(unit.cellKey);
+        Unit[] updated = cell == null ? new Unit[1] : Arrays.copyOf(cell, cell.length + 1);
+        updated[updated.length - 1] = unit;
+        cells.put(unit.cellKey, updated);
+    }
+
+    /**
+     * Drops positions that are too old to be used for dispatch.
+     *
+     * @return the number of positions removed
+     */
+    public synchronized int evictStale(long now) {
+        int evicted = 0;
+        for (Unit unit : new ArrayList<>(units.values())) {
+            if (now - unit.timestamp > maxPositionAgeMillis) {
+                units.remove(unit.officerId);
+                removeFromCell(unit);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns up to {@code k} dispatchable officers within {@code maxDistanceKm} of the point,
+     * nearest first.
+     *
+     * @param exclude officer IDs to skip, e.g. officers already on the incident
+     */
+    public List<Candidate> nearest(double latitude, double longitude, int k, double maxDistanceKm,
+                                   LongPredicate exclude, long now) {
+        if (k <= 0 || maxDistanceKm <= 0) {
+            return List.of();
+        }
+        Map<Long, OfficerStatus> currentStatuses = statuses;
+
+        // Sorted top-k, distances ascending
+        Unit[] best = new Unit[k];
+        double[] bestDistances = new double[k];
+        int found = 0;
+
+        int centerRow = cellIndex(latitude + 90);
+        int centerCol = cellIndex(longitude + 180);
+        // Smallest width of a cell around the query point; any unscanned ring is at least this far per ring
+        double ringKm = cellSizeDeg * GeoUtils.KM_PER_DEGREE_LAT
+                * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        ringKm = Math.min(ringKm, cellSizeDeg * GeoUtils.KM_PER_DEGREE_LAT);
+        int maxRing = (int) Math.ceil(maxDistanceKm / ringKm) + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dRow = -ring; dRow <= ring; dRow++) {
+                int step = Math.abs(dRow) == ring ? 1 : 2 * ring;
+                for (int dCol = -ring; dCol <= ring; dCol += step) {
+                    Unit[] cell = cells.get(cellKey(centerRow + dRow, centerCol + dCol));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Unit unit : cell) {
+                        if (now - unit.timestamp > maxPositionAgeMillis
+                                || !isDispatchable(currentStatuses.get(unit.officerId))
+                                || (exclude != null && exclude.test(unit.officerId))) {
+                            continue;
+                        }
+                        double distance = GeoUtils.distanceKm(latitude, longitude, unit.latitude, unit.longitude);
+                        if (distance > maxDistanceKm || (found == k && distance >= bestDistances[k - 1])) {
+                            continue;
+                        }
+                        int position = found < k ? found++ : k - 1;
+                        while (position > 0 && bestDistances[position - 1] > distance) {
+                            best[position] = best[position - 1];
+                            bestDistances[position] = bestDistances[position - 1];
+                            position--;
+                        }
+                        best[position] = unit;
+                        bestDistances[position] = distance;
+                    }
+                }
+            }
+            if (found == k && bestDistances[k - 1] <= ring * ringKm) {
+                break;
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            candidates.add(new Candidate(best[i].officerId, bestDistances[i], best[i].latitude,
+                    best[i].longitude, best[i].timestamp, best[i].source));
+        }
+        return candidates;
+    }
+
+    public int size() {
+        return units.size();
+    }
+
+    public int officerCount() {
+        return statuses.size();
+    }
+
+    static boolean isDispatchable(OfficerStatus status) {
+        return status == OfficerStatus.ACTIVE || status == OfficerStatus.ON_PATROL;
+    }
+
+    private void removeFromCell(Unit unit) {
+        Unit[] cell = cells.get(unit.cellKey);
+        if (cell == null) {
+            return;
+        }
+        Unit[] remaining = Arrays.stream(cell)
+                .filter(candidate -> candidate.officerId != unit.officerId)
+                .toArray(Unit[]::new);
+        if (remaining.length == 0) {
+            cells.remove(unit.cellKey);
+        } else {
+            cells.put(unit.cellKey, remaining);
+        }
+    }
+
+    private int cellIndex(double shiftedDegrees) {
+        return (int) Math.floor(shiftedDegrees / cellSizeDeg);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class Unit {
+        private final long officerId;
+        private final double latitude;
+        private final double longitude;
+        private final long timestamp;
+        private final TrackedEntityType source;
+        private final long cellKey;
+
+        private Unit(long officerId, double latitude, double longitude, long timestamp,
+                     TrackedEntityType source, long cellKey) {
+            this.officerId = officerId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timestamp = timestamp;
+            this.source = source;
+            this.cellKey = cellKey;
+        }
+    }
+
+    /**
+     * One ranked result of a nearest query.
+     */
+    @Getter
+    public static final class Candidate {
+        private final long officerId;
+        private final double distanceKm;
+        private final double latitude;
+        private final double longitude;
+        private final long timestamp;
+        private final TrackedEntityType source;
+
+        private Candidate(long officerId, double distanceKm, double latitude, double longitude,
+                          long timestamp, TrackedEntityType source) {
+            this.officerId = officerId;
+            this.distanceKm = distanceKm;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timestamp = timestamp;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.civiguard.service;
+
+import com.civiguard.exception.BadRequestException;
+import com.civiguard.model.Location;
+import com.civiguard.model.Officer;
+import com.civiguard.model.PatrolVehicle;
+import com.civiguard.model.TrackedEntityType;
+import com.civiguard.repository.OfficerRepository;
+import com.civiguard.repository.PatrolVehicleRepository;
+import com.civiguard.service.OfficerDispatchIndex.Candidate;
+import com.civiguard.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Feeds the {@link OfficerDispatchIndex} and answers nearest-officer queries for dispatch.
+ * <p>
+ * Officer pings arrive keyed by user ID and are resolved to officers through the
+ * directory held by the index; vehicle positions are credited to the vehicle's
+ * assigned officer. The directory (status and owning user of every officer) is
+ * reloaded on startup and every {@code app.dispatch.refresh-interval-ms}, and
+ * kept current in between by {@link OfficerService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OfficerDispatchService {
+
+    private final OfficerDispatchIndex officerDispatchIndex;
+    private final OfficerRepository officerRepository;
+    private final PatrolVehicleRepository vehicleRepository;
+
+    @Value("${app.dispatch.max-position-age-ms:900000}")
+    private long maxPositionAgeMillis;
+
+    @Value("${app.dispatch.default-radius-km:25}")
+    private double defaultRadiusKm;
+
+    @Value("${app.dispatch.max-radius-km:100}")
+    private double maxRadiusKm;
+
+    @Value("${app.dispatch.max-results:50}")
+    private int maxResults;
+
+    /**
+     * Reloads the officer directory, seeds recent vehicle positions and drops stale fixes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.dispatch.refresh-interval-ms:60000}",
+            fixedDelayString = "${app.dispatch.refresh-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        try {
+            Map<Long, Officer.OfficerStatus> statuses = new HashMap<>();
+            Map<Long, Long> officerIdsByUserId = new HashMap<>();
+            for (Object[] row : officerRepository.findDispatchDirectory()) {
+                Long officerId = (Long) row[0];
+                if (row[2] != null) {
+                    statuses.put(officerId, (Officer.OfficerStatus) row[2]);
+                }
+                if (row[1] != null) {
+                    officerIdsByUserId.put((Long) row[1], officerId);
+                }
+            }
+            officerDispatchIndex.replaceOfficers(statuses, officerIdsByUserId);
+
+            long now = System.currentTimeMillis();
+            LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(maxPositionAgeMillis));
+            for (Object[] row : vehicleRepository.findAssignedVehiclePositionsSince(since)) {
+                officerDispatchIndex.updatePosition((Long) row[0], (Double) row[1], (Double) row[2],
+                        toEpochMillis((LocalDateTime) row[3]), TrackedEntityType.VEHICLE);
+            }
+            int evicted = officerDispatchIndex.evictStale(now);
+            log.debug("Dispatch index refreshed: {} officers, {} positions, {} evicted",
+                    officerDispatchIndex.officerCount(), officerDispatchIndex.size(), evicted);
+        } catch (Exception e) {
+            log.error("Error refreshing officer dispatch index", e);
+        }
+    }
+
+    /**
+     * Records a location ping from an officer's own device.
+     */
+    public void onOfficerUserPosition(Long userId, double latitude, double longitude, long timestamp) {
+        Long officerId = officerDispatchIndex.officerIdForUser(userId);
+        if (officerId != null) {
+            officerDispatchIndex.updatePosition(officerId, latitude, longitude, timestamp, TrackedEntityType.OFFICER);
+        }
+    }
+
+    /**
+     * Credits a vehicle's position to its assigned officer, if any, once the surrounding
+     * transaction commits.
+     */
+    public void onVehiclePosition(PatrolVehicle vehicle) {
+        Officer officer = vehicle.getAssignedOfficer();
+        Location location = vehicle.getLocation();
+        if (officer == null || officer.getId() == null || location == null
+                || location.getLatitude() == null || location.getLongitude() == null) {
+            return;
+        }
+        Long officerId = officer.getId();
+        double lat = location.getLatitude();
+        double lng = location.getLongitude();
+        long ts = System.currentTimeMillis();
+        TransactionUtils.afterCommit(() -> officerDispatchIndex.updatePosition(officerId, lat, lng, ts, TrackedEntityType.VEHICLE));
+    }
+
+    /**
+     * Updates the officer's directory entry once the surrounding transaction commits.
+     */
+    public void onOfficerSaved(Officer officer) {
+        Long officerId = officer.getId();
+        Long userId = officer.getUser() != null ? officer.getUser().getId() : null;
+        Officer.OfficerStatus status = officer.getStatus();
+        TransactionUtils.afterCommit(() -> officerDispatchIndex.updateStatus(officerId, userId, status));
+    }
+
+    public void onOfficerDeleted(Long officerId) {
+        TransactionUtils.afterCommit(() -> officerDispatchIndex.removeOfficer(officerId));
+    }
+
+    /**
+     * Ranks the dispatchable officers nearest to a location.
+     *
+     * @param limit               maximum number of officers, capped at {@code app.dispatch.max-results}
+     * @param maxDistanceKm       search radius, or {@code null} for {@code app.dispatch.default-radius-km}
+     * @param excludedOfficerIds  officers that must not be returned
+     */
+    public List<Candidate> findNearest(Location location, int limit, Double maxDistanceKm,
+                                       Set<Long> excludedOfficerIds) {
+        if (location == null || location.getLatitude() == null || location.getLongitude() == null) {
+            throw new BadRequestException("Location coordinates are required for dispatch");
+        }
+        if (limit <= 0) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        double radiusKm = maxDistanceKm != null ? maxDistanceKm : defaultRadiusKm;
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new BadRequestException("Search radius must be between 0 and " + maxRadiusKm + " km");
+        }
+        return officerDispatchIndex.nearest(location.getLatitude(), location.getLongitude(),
+                Math.min(limit, maxResults), radiusKm,
+                excludedOfficerIds == null || excludedOfficerIds.isEmpty() ? null : excludedOfficerIds::contains,
+                System.currentTimeMillis());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,10 +1,13 @@
 package com.civiguard.service;
 
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.incident.EvidenceRequest;
 import com.civiguard.dto.incident.IncidentResponse;
+import com.civiguard.dto.incident.IncidentSummaryResponse;
 import com.civiguard.dto.incident.IncidentTimelineResponse;
 import com.civiguard.dto.incident.IncidentUpdateRequest;
 import com.civiguard.dto.incident.OfficerIncidentResponse;
+import com.civiguard.dto.officer.NearbyOfficerResponse;
 import com.civiguard.dto.officer.OfficerSummary;
 import com.civiguard.model.Incident.IncidentPriority;
 import com.civiguard.model.Incident.IncidentStatus;
@@ -20,6 +23,18 @@ public interface OfficerIncidentService {
      * Get incidents assigned to a specific officer with optional status filter
      */
     Page<IncidentResponse> getIncidentsAssignedToOfficer(Long officerId, IncidentStatus status, Pageable pageable);
+
+    /**
+     * List views of the incidents assigned to an officer, selected without loading the incidents
+     */
+    Page<IncidentSummaryResponse> getIncidentSummariesAssignedToOfficer(Long officerId, IncidentStatus status, Pageable pageable);
+
+    /**
+     * Keyset-paginated incidents assigned to an officer, newest first; the total is only
+     * counted when {@code includeTotal} is set
+     */
+    CursorPage<IncidentResponse> scrollIncidentsAssignedToOfficer(
+            Long officerId, IncidentStatus status, String cursor, Integer size, boolean includeTotal);
     
     /**
      * Get incident details for an officer (must be assigned to the incident)
@@ -60,6 +75,12 @@ public interface OfficerIncidentService {
      * Get available officers who can be assigned to an incident
      */
     List<OfficerSummary> getAvailableOfficers(Long incidentId, Long requestingOfficerId);
+
+    /**
+     * Get dispatchable officers nearest to the incident location, closest first
+     */
+    List<NearbyOfficerResponse> getNearestAvailableOfficers(Long incidentId, Long requestingOfficerId,
+                                                            int limit, Double maxDistanceKm);
     
     /**
      * Get performance statistics for an officer
@@ -0,0 +1,170 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.tracking.LocationIngestionStats;
+import com.civiguard.dto.tracking.LocationUpdateFrame;
+import com.civiguard.dto.tracking.LocationUpdateFrame.PositionFix;
+import com.civiguard.model.Location;
+import com.civiguard.model.TrackedEntityType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingestion stage for officer location pings sent to {@code /app/officer/location}.
+ * <p>
+ * Pings only overwrite the officer's pending fix; a dedicated ticker drains the
+ * pending fixes every {@code app.tracking.officer-locations.tick-ms} and sends them
+ * to {@code /topic/officer-locations} as a single {@link LocationUpdateFrame}.
+ * Fixes superseded within the same tick are counted as dropped. Officers whose latest
+ * fix is older than {@code app.tracking.officer-locations.max-age-ms} are forgotten on
+ * the next tick, so officers who went offline drop out of the latest positions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OfficerLocationIngestionService {
+
+    private static final String OFFICER_LOCATIONS_TOPIC = "/topic/officer-locations";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GeoFenceEventEngine geoFenceEventEngine;
+    private final PositionHistoryStore positionHistoryStore;
+    private final OfficerDispatchService officerDispatchService;
+
+    // Keyed by the officer's user ID
+    private final Map<Long, PositionFix> pending = new ConcurrentHashMap<>();
+    private final Map<Long, PositionFix> latestPositions = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong broadcast = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "officer-location-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.tracking.officer-locations.tick-ms:250}")
+    private long tickMillis;
+
+    @Value("${app.tracking.officer-locations.max-age-ms:900000}")
+    private long maxAgeMillis;
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Accepts a location ping. Never blocks on the broker.
+     */
+    public void ingest(Long userId, Location location) {
+        if (userId == null || location == null
+                || location.getLatitude() == null || location.getLongitude() == null) {
+            return;
+        }
+        received.incrementAndGet();
+        PositionFix fix = new PositionFix(userId, location.getLatitude(), location.getLongitude(),
+                System.currentTimeMillis());
+        latestPositions.put(userId, fix);
+        if (pending.put(userId, fix) != null) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drains the pending fixes and broadcasts them as one frame.
+     */
+    void tick() {
+        try {
+            evictStale(System.currentTimeMillis() - maxAgeMillis);
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PositionFix> updates = new ArrayList<>(pending.size());
+            for (Long userId : pending.keySet()) {
+                PositionFix fix = pending.remove(userId);
+                if (fix != null) {
+                    updates.add(fix);
+                }
+            }
+            if (updates.isEmpty()) {
+                return;
+            }
+
+            messagingTemplate.convertAndSend(OFFICER_LOCATIONS_TOPIC, LocationUpdateFrame.builder()
+                    .sequence(frames.incrementAndGet())
+                    .timestamp(System.currentTimeMillis())
+                    .updates(updates)
+                    .build());
+            broadcast.addAndGet(updates.size());
+
+            for (PositionFix fix : updates) {
+                positionHistoryStore.append(TrackedEntityType.OFFICER, fix.getId(), fix.getTs(), fix.getLat(), fix.getLng());
+                geoFenceEventEngine.onPosition(TrackedEntityType.OFFICER, String.valueOf(fix.getId()),
+                        fix.getLat(), fix.getLng(), fix.getTs());
+                officerDispatchService.onOfficerUserPosition(fix.getId(), fix.getLat(), fix.getLng(), fix.getTs());
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the fixed-rate ticker
+            log.error("Error broadcasting officer location frame", e);
+        }
+    }
+
+    private void evictStale(long cutoff) {
+        for (Map.Entry<Long, PositionFix> entry : latestPositions.entrySet()) {
+            PositionFix fix = entry.getValue();
+            // Conditional remove, so a ping that arrived meanwhile is kept
+            if (fix.getTs() < cutoff && latestPositions.remove(entry.getKey(), fix)) {
+                evicted.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Latest known fix per officer within the maximum age, including ones already broadcast.
+     */
+    public Collection<PositionFix> getLatestPositions() {
+        return Collections.unmodifiableCollection(latestPositions.values());
+    }
+
+    public PositionFix getLatestPosition(Long userId) {
+        return latestPositions.get(userId);
+    }
+
+    public LocationIngestionStats getStats() {
+        return LocationIngestionStats.builder()
+                .tickMillis(tickMillis)
+                .received(received.get())
+                .dropped(dropped.get())
+                .broadcast(broadcast.get())
+                .frames(frames.get())
+                .evicted(evicted.get())
+                .pending(pending.size())
+                .trackedEntities(latestPositions.size())
+                .build();
+    }
+}
@@ -27,6 +27,7 @@ public class OfficerService {
 
     private final OfficerRepository officerRepository;
     private final UserRepository userRepository;
+    private final OfficerDispatchService officerDispatchService;
 
     @Transactional
     public OfficerResponse createOfficer(OfficerRequest request) {
@@ -70,6 +71,7 @@ public class OfficerService {
         }
         
         Officer savedOfficer = officerRepository.save(officer);
+        officerDispatchService.onOfficerSaved(savedOfficer);
         return mapToResponse(savedOfficer);
     }
 
@@ -158,6 +160,7 @@ public class OfficerService {
         }
         
         Officer savedOfficer = officerRepository.save(officer);
+        officerDispatchService.onOfficerSaved(savedOfficer);
         return mapToResponse(savedOfficer);
     }
 
@@ -168,6 +171,7 @@ public class OfficerService {
         
         officer.setStatus(status);
         Officer savedOfficer = officerRepository.save(officer);
+        officerDispatchService.onOfficerSaved(savedOfficer);
         return mapToResponse(savedOfficer);
     }
 
@@ -177,6 +181,7 @@ public class OfficerService {
             throw new ResourceNotFoundException("Officer", "id", id);
         }
         officerRepository.deleteById(id);
+        officerDispatchService.onOfficerDeleted(id);
     }
 
     private OfficerResponse mapToResponse(Officer officer) {
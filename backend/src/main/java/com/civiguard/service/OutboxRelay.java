@@ -0,0 +1,248 @@
+package com.civiguard.service;
+
+import com.civiguard.event.OutboxEventHandler;
+import com.civiguard.model.NotificationLane;
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox in batches.
+ * <p>
+ * Each poll picks up to {@code app.outbox.batch-size} due events that are the oldest
+ * pending event of their aggregate, highest priority first, and handles each one in its own transaction
+ * together with marking it processed. The row is locked with {@code SKIP LOCKED}, so
+ * several instances can poll the same table without handling an event twice or
+ * overtaking each other within an aggregate. A failed event is retried with
+ * exponential backoff and holds back the later events of its aggregate until it
+ * succeeds or is marked {@link OutboxEvent.Status#FAILED} after
+ * {@code app.outbox.max-attempts}.
+ * <p>
+ * Events whose handler is {@linkplain OutboxEventHandler#deliveredInLane() delivered in a
+ * lane} are handed to the {@link NotificationDeliveryScheduler} lane of their priority
+ * instead, and the lane task runs the same locked transaction. They stay pending until
+ * that task commits, so a restart in between only delays them, and the relay does not
+ * hand the same event over twice while it waits in its lane.
+ * <p>
+ * Polling runs on its own thread rather than the shared {@code @Scheduled} pool, so
+ * index rebuilds and other long jobs cannot hold back delivery.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationDeliveryScheduler scheduler;
+    // Events waiting in a delivery lane
+    private final Set<Long> inLane = ConcurrentHashMap.newKeySet();
+    private final Map<String, OutboxEventHandler> handlers = new HashMap<>();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final long retryMaxMs;
+    private final long retentionMs;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            PlatformTransactionManager transactionManager,
+            NotificationDeliveryScheduler scheduler,
+            List<OutboxEventHandler> handlers,
+            @Value("${app.outbox.poll-interval-ms:500}") long pollIntervalMs,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.retry-base-ms:1000}") long retryBaseMs,
+            @Value("${app.outbox.retry-max-ms:300000}") long retryMaxMs,
+            @Value("${app.outbox.retention-ms:86400000}") long retentionMs) {
+        if (batchSize <= 0 || maxAttempts <= 0 || pollIntervalMs <= 0) {
+            throw new IllegalArgumentException("Outbox poll interval, batch size and attempts must be positive");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduler = scheduler;
+        for (OutboxEventHandler handler : handlers) {
+            OutboxEventHandler previous = this.handlers.put(handler.eventType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Two outbox handlers for " + handler.eventType());
+            }
+        }
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = Math.max(1, maxBatchesPerPoll);
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMs = retryBaseMs;
+        this.retryMaxMs = retryMaxMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    public void poll() {
+        try {
+            // Keep going while there is work, so an aggregate's next event does not wait a full interval
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                if (drainBatch() == 0) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Outbox poll failed", e);
+        }
+    }
+
+    /**
+     * Handles one batch of due events.
+     *
+     * @return the number of events this instance handled or handed to a lane
+     */
+    int drainBatch() {
+        List<OutboxEventRepository.DueEvent> due = outboxEventRepository.findDueHeads(
+                OutboxEvent.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        int handled = 0;
+        for (OutboxEventRepository.DueEvent event : due) {
+            OutboxEventHandler handler = handlers.get(event.getEventType());
+            if (handler != null && handler.deliveredInLane()) {
+                if (handToLane(event)) {
+                    handled++;
+                }
+            } else if (dispatch(event.getId())) {
+                handled++;
+            }
+        }
+        return handled;
+    }
+
+    private boolean handToLane(OutboxEventRepository.DueEvent event) {
+        Long id = event.getId();
+        if (!inLane.add(id)) {
+            return false;
+        }
+        try {
+            scheduler.submit(NotificationLane.forPriority(event.getPriority()), 1, () -> {
+                try {
+                    dispatch(id);
+                } finally {
+                    inLane.remove(id);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            inLane.remove(id);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgeProcessed() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retentionMs, ChronoUnit.MILLIS);
+            Integer purged = transactionTemplate.execute(status -> outboxEventRepository
+                    .deleteByStatusAndProcessedAtBefore(OutboxEvent.Status.PROCESSED, cutoff));
+            if (purged != null && purged > 0) {
+                log.info("Purged {} processed outbox events", purged);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge processed outbox events", e);
+        }
+    }
+
+    public long getPendingCount() {
+        return outboxEventRepository.countByStatus(OutboxEvent.Status.PENDING);
+    }
+
+    private boolean dispatch(Long id) {
+        try {
+            Boolean handled = transactionTemplate.execute(status -> {
+                OutboxEvent event = outboxEventRepository
+                        .lockByIdAndStatus(id, OutboxEvent.Status.PENDING)
+                        .orElse(null);
+                if (event == null) {
+                    // Taken by another instance, or already done
+                    return false;
+                }
+                OutboxEventHandler handler = handlers.get(event.getEventType());
+                if (handler == null) {
+                    throw new IllegalStateException("No outbox handler for " + event.getEventType());
+                }
+                handler.handle(event);
+                event.setAttempts(event.getAttempts() + 1);
+                event.setStatus(OutboxEvent.Status.PROCESSED);
+                event.setProcessedAt(LocalDateTime.now());
+                event.setLastError(null);
+                return true;
+            });
+            return Boolean.TRUE.equals(handled);
+        } catch (Exception e) {
+            recordFailure(id, e);
+            return true;
+        }
+    }
+
+    private void recordFailure(Long id, Exception cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(id).ifPresent(event -> {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(truncate(String.valueOf(cause.getMessage())));
+                if (attempts >= maxAttempts) {
+                    event.setStatus(OutboxEvent.Status.FAILED);
+                    log.error("Giving up on outbox event {} ({} for {} #{}) after {} attempts",
+                            id, event.getEventType(), event.getAggregateType(), event.getAggregateId(), attempts, cause);
+                } else {
+                    event.setNextAttemptAt(LocalDateTime.now().plus(backoffMs(attempts), ChronoUnit.MILLIS));
+                    log.warn("Outbox event {} ({}) failed on attempt {}, retrying: {}",
+                            id, event.getEventType(), attempts, cause.getMessage());
+                }
+            }));
+        } catch (Exception e) {
+            // Left pending; the next poll picks it up again
+            log.error("Could not record failure of outbox event {}", id, e);
+        }
+    }
+
+    long backoffMs(int attempts) {
+        long delay = retryBaseMs << Math.min(attempts - 1, 30);
+        return delay <= 0 ? retryMaxMs : Math.min(delay, retryMaxMs);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,76 @@
+package com.civiguard.service;
+
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Records outbox events. An event is written in the caller's transaction, so it exists
+ * exactly when the change that caused it commits, and is dispatched afterwards by
+ * {@link OutboxRelay}. Events of the same aggregate are dispatched in the order they
+ * were recorded; otherwise lower {@code priority} values go first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void enqueue(String aggregateType, Object aggregateId, String eventType, Object payload, int priority) {
+        enqueue(aggregateType, aggregateId, eventType, payload, priority, null);
+    }
+
+    /**
+     * Records an event that can later be found by {@link #findByCorrelationId(String)}.
+     */
+    @Transactional
+    public void enqueue(String aggregateType, Object aggregateId, String eventType, Object payload, int priority,
+                        String correlationId) {
+        if (aggregateId == null) {
+            throw new IllegalArgumentException("Outbox events need an aggregate ID");
+        }
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(String.valueOf(aggregateId));
+        event.setEventType(eventType);
+        event.setPayload(write(payload));
+        event.setPriority(priority);
+        event.setCorrelationId(correlationId);
+        event.setStatus(OutboxEvent.Status.PENDING);
+        event.setNextAttemptAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+        log.debug("Queued {} event for {} #{}", eventType, aggregateType, aggregateId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OutboxEvent> findByCorrelationId(String correlationId) {
+        return outboxEventRepository.findFirstByCorrelationIdOrderByIdDesc(correlationId);
+    }
+
+    public <T> T readPayload(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload in outbox event " + event.getId(), e);
+        }
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload cannot be serialized", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.civiguard.service;
 
 import com.civiguard.dto.patrol.PatrolRouteDTO;
+import com.civiguard.dto.patrol.RouteProgressResponse;
 import com.civiguard.exception.ResourceNotFoundException;
 import com.civiguard.model.Officer;
 import com.civiguard.model.PatrolRoute;
@@ -23,6 +24,8 @@ public class PatrolRouteService {
     private final PatrolRouteRepository patrolRouteRepository;
     private final OfficerRepository officerRepository;
     private final PatrolVehicleRepository patrolVehicleRepository;
+    private final PatrolRouteTracker patrolRouteTracker;
+
     @Transactional(readOnly = true)
     public List<PatrolRouteDTO> getAllPatrolRoutes() {
         return patrolRouteRepository.findAllWithVehicleAndOfficer().stream()
@@ -40,7 +43,9 @@ public class PatrolRouteService {
     public PatrolRouteDTO createPatrolRoute(PatrolRouteDTO patrolRouteDTO) {
         PatrolRoute patrolRoute = new PatrolRoute();
         mapDtoToEntity(patrolRouteDTO, patrolRoute);
-        return PatrolRouteDTO.fromEntity(patrolRouteRepository.save(patrolRoute));
+        PatrolRoute savedRoute = patrolRouteRepository.save(patrolRoute);
+        patrolRouteTracker.onRouteSaved(savedRoute);
+        return PatrolRouteDTO.fromEntity(savedRoute);
     }
 
     @Transactional
@@ -48,7 +53,9 @@ public class PatrolRouteService {
         PatrolRoute patrolRoute = patrolRouteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patrol route not found with id: " + id));
         mapDtoToEntity(patrolRouteDTO, patrolRoute);
-        return PatrolRouteDTO.fromEntity(patrolRouteRepository.save(patrolRoute));
+        PatrolRoute savedRoute = patrolRouteRepository.save(patrolRoute);
+        patrolRouteTracker.onRouteSaved(savedRoute);
+        return PatrolRouteDTO.fromEntity(savedRoute);
     }
 
     @Transactional
@@ -57,6 +64,11 @@ public class PatrolRouteService {
             throw new ResourceNotFoundException("Patrol route not found with id: " + id);
         }
         patrolRouteRepository.deleteById(id);
+        patrolRouteTracker.onRouteDeleted(id);
+    }
+
+    public RouteProgressResponse getRouteProgress(Long id) {
+        return patrolRouteTracker.getProgress(id);
     }
 
     private void mapDtoToEntity(PatrolRouteDTO dto, PatrolRoute entity) {
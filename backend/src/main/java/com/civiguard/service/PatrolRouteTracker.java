@@ -0,0 +1,233 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.patrol.RouteDeviationEvent;
+import com.civiguard.dto.patrol.RouteProgressResponse;
+import com.civiguard.exception.ResourceNotFoundException;
+import com.civiguard.model.PatrolRoute;
+import com.civiguard.repository.PatrolRouteRepository;
+import com.civiguard.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Follows patrol vehicles along their active routes as positions stream in.
+ * <p>
+ * Active routes with a vehicle are compiled into {@link CompiledPatrolRoute}s and
+ * kept by vehicle ID. Each position is projected onto the vehicle's route to track
+ * progress and off-route distance; leaving the corridor of
+ * {@code app.patrol.routes.corridor-meters} publishes an {@code OFF_ROUTE} event and
+ * coming back within {@code app.patrol.routes.rejoin-meters} publishes
+ * {@code BACK_ON_ROUTE}, so a vehicle hovering at the edge does not flap.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatrolRouteTracker {
+
+    private static final String EVENTS_TOPIC = "/topic/patrol-route-events";
+
+    private final PatrolRouteRepository patrolRouteRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private volatile Map<Long, CompiledPatrolRoute> routesByVehicle = new ConcurrentHashMap<>();
+    private final Map<Long, VehicleProgress> progressByVehicle = new ConcurrentHashMap<>();
+    // Changes committed while a reload is reading the database, replayed onto the new routes
+    private List<RouteChange> journal;
+
+    @Value("${app.patrol.routes.corridor-meters:150}")
+    private double corridorMeters;
+
+    @Value("${app.patrol.routes.rejoin-meters:100}")
+    private double rejoinMeters;
+
+    @Value("${app.patrol.routes.index.cell-size-deg:0.01}")
+    private double cellSizeDeg;
+
+    /**
+     * Recompiles all active routes from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.patrol.routes.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.patrol.routes.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            Map<Long, CompiledPatrolRoute> routes = new ConcurrentHashMap<>();
+            for (PatrolRoute route : patrolRouteRepository.findWithWaypointsByStatus(PatrolRoute.PatrolStatus.ACTIVE)) {
+                CompiledPatrolRoute compiled = compile(route);
+                if (compiled != null) {
+                    // Prefer the most recently created route if a vehicle has several
+                    routes.merge(compiled.getVehicleId(), compiled,
+                            (existing, candidate) -> candidate.getId() > existing.getId() ? candidate : existing);
+                }
+            }
+            synchronized (this) {
+                for (RouteChange change : journal) {
+                    applyTo(routes, change);
+                }
+                routesByVehicle = routes;
+            }
+            progressByVehicle.keySet().retainAll(routes.keySet());
+            log.info("Patrol route tracker loaded {} active routes", routes.size());
+        } catch (Exception e) {
+            log.error("Error loading active patrol routes", e);
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Starts, updates or stops tracking a route once the surrounding transaction commits.
+     */
+    public void onRouteSaved(PatrolRoute route) {
+        Long routeId = route.getId();
+        CompiledPatrolRoute compiled = route.isActive() ? compile(route) : null;
+        TransactionUtils.afterCommit(() -> apply(new RouteChange(routeId, compiled)));
+    }
+
+    public void onRouteDeleted(Long routeId) {
+        TransactionUtils.afterCommit(() -> apply(new RouteChange(routeId, null)));
+    }
+
+    /**
+     * Projects a vehicle position onto its active route and publishes corridor changes.
+     */
+    public void onVehiclePosition(Long vehicleId, double latitude, double longitude, long timestamp) {
+        if (vehicleId == null) {
+            return;
+        }
+        CompiledPatrolRoute route = routesByVehicle.get(vehicleId);
+        if (route == null) {
+            return;
+        }
+        CompiledPatrolRoute.Projection projection = route.project(latitude, longitude);
+        double offRouteMeters = projection.getOffRouteKm() * 1000;
+
+        RouteDeviationEvent[] event = new RouteDeviationEvent[1];
+        progressByVehicle.compute(vehicleId, (id, previous) -> {
+            boolean wasOnRoute = previous == null || previous.routeId != route.getId() || previous.onRoute;
+            boolean onRoute = wasOnRoute ? offRouteMeters <= corridorMeters : offRouteMeters <= rejoinMeters;
+            if (onRoute != wasOnRoute) {
+                event[0] = RouteDeviationEvent.builder()
+                        .type(onRoute ? RouteDeviationEvent.EventType.BACK_ON_ROUTE
+                                : RouteDeviationEvent.EventType.OFF_ROUTE)
+                        .routeId(route.getId())
+                        .vehicleId(vehicleId)
+                        .latitude(latitude)
+                        .longitude(longitude)
+                        .offRouteMeters(round(offRouteMeters))
+                        .progressKm(round(projection.getAlongKm()))
+                        .progressPercent(round(projection.getFraction() * 100))
+                        .timestamp(timestamp)
+                        .build();
+            }
+            return new VehicleProgress(route.getId(), projection, latitude, longitude, timestamp, onRoute);
+        });
+
+        if (event[0] != null) {
+            try {
+                messagingTemplate.convertAndSend(EVENTS_TOPIC, event[0]);
+            } catch (Exception e) {
+                log.error("Error publishing {} event for vehicle {}", event[0].getType(), vehicleId, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the tracked progress of an active route.
+     */
+    public RouteProgressResponse getProgress(Long routeId) {
+        CompiledPatrolRoute route = routesByVehicle.values().stream()
+                .filter(candidate -> candidate.getId() == routeId)
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Active patrol route", "id", routeId));
+
+        RouteProgressResponse.RouteProgressResponseBuilder response = RouteProgressResponse.builder()
+                .routeId(route.getId())
+                .vehicleId(route.getVehicleId())
+                .waypointCount(route.waypointCount())
+                .totalKm(round(route.getTotalKm()));
+
+        VehicleProgress progress = progressByVehicle.get(route.getVehicleId());
+        if (progress != null && progress.routeId == route.getId()) {
+            response.progressKm(round(progress.projection.getAlongKm()))
+                    .progressPercent(round(progress.projection.getFraction() * 100))
+                    .segmentIndex(progress.projection.getSegmentIndex())
+                    .offRouteMeters(round(progress.projection.getOffRouteKm() * 1000))
+                    .onRoute(progress.onRoute)
+                    .latitude(progress.latitude)
+                    .longitude(progress.longitude)
+                    .updatedAt(progress.timestamp);
+        }
+        return response.build();
+    }
+
+    public int getTrackedRouteCount() {
+        return routesByVehicle.size();
+    }
+
+    private CompiledPatrolRoute compile(PatrolRoute route) {
+        if (route.getPatrolVehicle() == null) {
+            return null;
+        }
+        return CompiledPatrolRoute.compile(route, cellSizeDeg, corridorMeters / 1000);
+    }
+
+    private synchronized void apply(RouteChange change) {
+        if (journal != null) {
+            journal.add(change);
+        }
+        applyTo(routesByVehicle, change);
+    }
+
+    private static void applyTo(Map<Long, CompiledPatrolRoute> routes, RouteChange change) {
+        routes.values().removeIf(route -> route.getId() == change.routeId());
+        if (change.route() != null) {
+            routes.put(change.route().getVehicleId(), change.route());
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    // A route saved as active (route set) or stopped/deleted (route null)
+    private record RouteChange(Long routeId, CompiledPatrolRoute route) {
+    }
+
+    private static final class VehicleProgress {
+        private final long routeId;
+        private final CompiledPatrolRoute.Projection projection;
+        private final double latitude;
+        private final double longitude;
+        private final long timestamp;
+        private final boolean onRoute;
+
+        private VehicleProgress(long routeId, CompiledPatrolRoute.Projection projection, double latitude,
+                                double longitude, long timestamp, boolean onRoute) {
+            this.routeId = routeId;
+            this.projection = projection;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timestamp = timestamp;
+            this.onRoute = onRoute;
+        }
+    }
+}
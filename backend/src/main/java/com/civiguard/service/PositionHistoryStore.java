@@ -0,0 +1,502 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.tracking.TrackPoint;
+import com.civiguard.model.TrackedEntityType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only position history for officers and vehicles, kept on local disk so
+ * track writes never touch PostgreSQL.
+ * <p>
+ * Fixes are written to memory-mapped segment files, one series per entity type and
+ * time bucket ({@code <dir>/<type>/<bucketStart>_<seq>.seg}). Each segment has a
+ * 16-byte header (magic, version, record count) followed by fixed-width 32-byte
+ * records: entity ID, epoch millis, latitude and longitude. A full segment rolls
+ * over to the next sequence number.
+ * <p>
+ * Every segment also gets an entity index ({@code <bucketStart>_<seq>.idx}) listing the
+ * record positions of each entity, written when the segment is sealed and kept in memory
+ * while it is open. Replaying a track therefore only visits the buckets that overlap the
+ * requested time range, and in each of them only that entity's records. Sealed segments
+ * are read with positional reads rather than mapped, so replays hold no mappings; a
+ * missing or outdated index is rebuilt from the segment on first use.
+ */
+@Component
+@Slf4j
+public class PositionHistoryStore {
+
+    static final int MAGIC = 0x43475048;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+    private static final int COUNT_OFFSET = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    // Index: header (magic, version, entity count, record count), then one
+    // (entity ID, first position, position count) entry per entity sorted by ID,
+    // then the record positions grouped by entity
+    static final int INDEX_MAGIC = 0x43475049;
+    static final int INDEX_HEADER_SIZE = 16;
+    static final int INDEX_ENTRY_SIZE = 16;
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int SCAN_CHUNK_RECORDS = 4096;
+
+    private final boolean enabled;
+    private final Path baseDir;
+    private final long bucketMillis;
+    private final int recordsPerSegment;
+    private final int retentionDays;
+
+    private final Map<TrackedEntityType, Segment> openSegments = new EnumMap<>(TrackedEntityType.class);
+
+    public PositionHistoryStore(
+            @Value("${app.tracking.history.enabled:true}") boolean enabled,
+            @Value("${app.tracking.history.dir:data/position-history}") String baseDir,
+            @Value("${app.tracking.history.bucket-minutes:60}") int bucketMinutes,
+            @Value("${app.tracking.history.records-per-segment:1048576}") int recordsPerSegment,
+            @Value("${app.tracking.history.retention-days:30}") int retentionDays) {
+        this.enabled = enabled;
+        this.baseDir = Paths.get(baseDir);
+        this.bucketMillis = TimeUnit.MINUTES.toMillis(bucketMinutes);
+        this.recordsPerSegment = recordsPerSegment;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Appends one fix. Failures are logged rather than propagated so tracking
+     * never breaks the location update path.
+     */
+    public void append(TrackedEntityType type, long entityId, long epochMillis, double latitude, double longitude) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                segmentFor(type, epochMillis).append(entityId, epochMillis, latitude, longitude);
+            } catch (IOException | UncheckedIOException e) {
+                log.error("Error appending {} {} position to history", type, entityId, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the fixes recorded for an entity within {@code [from, to]}, ordered by time.
+     */
+    public List<TrackPoint> replay(TrackedEntityType type, long entityId, long from, long to) {
+        List<TrackPoint> points = new ArrayList<>();
+        if (from > to) {
+            return points;
+        }
+        long fromBucket = bucketStart(from);
+        long toBucket = bucketStart(to);
+
+        Path openFile = null;
+        synchronized (this) {
+            Segment open = openSegments.get(type);
+            if (open != null && open.bucket >= fromBucket && open.bucket <= toBucket) {
+                open.collect(entityId, from, to, points);
+                openFile = open.file;
+            }
+        }
+        for (Path file : segmentFiles(type, fromBucket, toBucket)) {
+            if (!file.equals(openFile)) {
+                readSealed(file, entityId, from, to, points);
+            }
+        }
+
+        points.sort(Comparator.comparingLong(TrackPoint::getTs));
+        return points;
+    }
+
+    /**
+     * Deletes segments whose bucket ended before the retention window.
+     */
+    @Scheduled(cron = "${app.tracking.history.purge-cron:0 15 3 * * *}")
+    public void purgeExpiredSegments() {
+        long cutoff = bucketStart(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+        int deleted = 0;
+        for (TrackedEntityType type : TrackedEntityType.values()) {
+            for (Path file : segmentFiles(type, Long.MIN_VALUE, cutoff - 1)) {
+                synchronized (this) {
+                    Segment open = openSegments.get(type);
+                    if (open != null && open.file.equals(file)) {
+                        continue;
+                    }
+                }
+                try {
+                    Files.deleteIfExists(file);
+                    Files.deleteIfExists(indexPath(file));
+                    deleted++;
+                } catch (IOException e) {
+                    log.warn("Could not delete expired position history file {}", file, e);
+                }
+            }
+        }
+        if (deleted > 0) {
+            log.info("Purged {} expired position history segments", deleted);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        openSegments.values().forEach(Segment::seal);
+        openSegments.clear();
+    }
+
+    private Segment segmentFor(TrackedEntityType type, long epochMillis) throws IOException {
+        long bucket = bucketStart(epochMillis);
+        Segment current = openSegments.get(type);
+        if (current != null && current.bucket == bucket && !current.isFull()) {
+            return current;
+        }
+        if (current != null) {
+            current.seal();
+        }
+
+        int sequence = current != null && current.bucket == bucket ? current.sequence + 1 : 0;
+        Segment next = Segment.open(segmentPath(type, bucket, sequence), bucket, sequence, recordsPerSegment);
+        while (next.isFull()) {
+            sequence++;
+            next = Segment.open(segmentPath(type, bucket, sequence), bucket, sequence, recordsPerSegment);
+        }
+        openSegments.put(type, next);
+        return next;
+    }
+
+    private void readSealed(Path file, long entityId, long from, long to, List<TrackPoint> points) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int count = recordCount(channel, file);
+            if (count == 0) {
+                return;
+            }
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            for (int position : positionsOf(file, channel, count, entityId)) {
+                record.clear();
+                readFully(channel, record, HEADER_SIZE + (long) position * RECORD_SIZE);
+                long ts = record.getLong(8);
+                if (ts >= from && ts <= to) {
+                    points.add(new TrackPoint(ts, record.getDouble(16), record.getDouble(24)));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error reading position history file {}", file, e);
+        }
+    }
+
+    /**
+     * Number of complete records in a segment, or 0 if it is empty or not a segment.
+     */
+    private static int recordCount(FileChannel channel, Path file) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        if (header.getInt(0) != MAGIC) {
+            log.warn("Skipping position history file {} with unknown format", file);
+            return 0;
+        }
+        return (int) Math.min(header.getLong(COUNT_OFFSET), (size - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    /**
+     * Record positions of the entity in a sealed segment, from its index file. The
+     * index is rebuilt if it is missing or was written for a different record count.
+     */
+    private static int[] positionsOf(Path file, FileChannel segment, int count, long entityId) throws IOException {
+        Path indexFile = indexPath(file);
+        int[] positions = readIndex(indexFile, count, entityId);
+        if (positions != null) {
+            return positions;
+        }
+        SegmentIndex index = SegmentIndex.scan(segment, count);
+        try {
+            index.write(indexFile);
+        } catch (IOException e) {
+            log.warn("Could not write position history index {}", indexFile, e);
+        }
+        return index.positions(entityId);
+    }
+
+    /**
+     * @return the entity's positions, or {@code null} if the index cannot be used
+     */
+    private static int[] readIndex(Path indexFile, int count, long entityId) {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != INDEX_MAGIC || header.getInt(12) != count) {
+                return null;
+            }
+            int entities = header.getInt(8);
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            int low = 0;
+            int high = entities - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                entry.clear();
+                readFully(channel, entry, INDEX_HEADER_SIZE + (long) mid * INDEX_ENTRY_SIZE);
+                long id = entry.getLong(0);
+                if (id < entityId) {
+                    low = mid + 1;
+                } else if (id > entityId) {
+                    high = mid - 1;
+                } else {
+                    ByteBuffer slice = ByteBuffer.allocate(entry.getInt(12) * Integer.BYTES);
+                    readFully(channel, slice, INDEX_HEADER_SIZE + (long) entities * INDEX_ENTRY_SIZE
+                            + (long) entry.getInt(8) * Integer.BYTES);
+                    int[] positions = new int[entry.getInt(12)];
+                    slice.asIntBuffer().get(positions);
+                    return positions;
+                }
+            }
+            return new int[0];
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable position history index {}", indexFile, e);
+            return null;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of position history file");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static Path indexPath(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return segmentFile.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private List<Path> segmentFiles(TrackedEntityType type, long fromBucket, long toBucket) {
+        Path dir = baseDir.resolve(type.name().toLowerCase());
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                int separator = name.indexOf('_');
+                if (separator <= 0) {
+                    continue;
+                }
+                try {
+                    long bucket = Long.parseLong(name.substring(0, separator));
+                    if (bucket >= fromBucket && bucket <= toBucket) {
+                        files.add(file);
+                    }
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring unexpected file {} in position history", file);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error listing position history directory {}", dir, e);
+        }
+        return files;
+    }
+
+    private Path segmentPath(TrackedEntityType type, long bucket, int sequence) {
+        return baseDir.resolve(type.name().toLowerCase()).resolve(bucket + "_" + sequence + SEGMENT_SUFFIX);
+    }
+
+    private long bucketStart(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+    }
+
+    /**
+     * A writable, memory-mapped segment with its entity index. Only used while holding
+     * the store's lock.
+     */
+    private static final class Segment {
+        private final Path file;
+        private final long bucket;
+        private final int sequence;
+        private final int capacity;
+        private final MappedByteBuffer buffer;
+        private final SegmentIndex index;
+        private long count;
+
+        private Segment(Path file, long bucket, int sequence, int capacity, MappedByteBuffer buffer, long count) {
+            this.file = file;
+            this.bucket = bucket;
+            this.sequence = sequence;
+            this.capacity = capacity;
+            this.buffer = buffer;
+            this.count = count;
+            this.index = new SegmentIndex();
+            for (int i = 0; i < count; i++) {
+                index.add(buffer.getLong(HEADER_SIZE + i * RECORD_SIZE), i);
+            }
+        }
+
+        static Segment open(Path file, long bucket, int sequence, int capacity) throws IOException {
+            Files.createDirectories(file.getParent());
+            long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                boolean existing = channel.size() >= HEADER_SIZE;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+                long count = 0;
+                if (existing && buffer.getInt(0) == MAGIC) {
+                    count = buffer.getLong(COUNT_OFFSET);
+                } else {
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(4, FORMAT_VERSION);
+                    buffer.putLong(COUNT_OFFSET, 0);
+                }
+                return new Segment(file, bucket, sequence, capacity, buffer, count);
+            }
+        }
+
+        boolean isFull() {
+            return count >= capacity;
+        }
+
+        void append(long entityId, long epochMillis, double latitude, double longitude) {
+            int offset = (int) (HEADER_SIZE + count * RECORD_SIZE);
+            buffer.putLong(offset, entityId);
+            buffer.putLong(offset + 8, epochMillis);
+            buffer.putDouble(offset + 16, latitude);
+            buffer.putDouble(offset + 24, longitude);
+            index.add(entityId, (int) count);
+            // Publish the record only after it is fully written
+            buffer.putLong(COUNT_OFFSET, ++count);
+        }
+
+        void collect(long entityId, long from, long to, List<TrackPoint> points) {
+            for (int position : index.positions(entityId)) {
+                int offset = HEADER_SIZE + position * RECORD_SIZE;
+                long ts = buffer.getLong(offset + 8);
+                if (ts >= from && ts <= to) {
+                    points.add(new TrackPoint(ts, buffer.getDouble(offset + 16), buffer.getDouble(offset + 24)));
+                }
+            }
+        }
+
+        /**
+         * Forces the records to disk and writes the entity index next to them.
+         */
+        void seal() {
+            buffer.force();
+            try {
+                index.write(indexPath(file));
+            } catch (IOException e) {
+                // Rebuilt from the segment on the next replay
+                log.warn("Could not write position history index for {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Record positions per entity within one segment.
+     */
+    private static final class SegmentIndex {
+        private static final int[] NONE = new int[0];
+
+        private final Map<Long, Positions> byEntity = new HashMap<>();
+        private int records;
+
+        static SegmentIndex scan(FileChannel channel, int count) throws IOException {
+            SegmentIndex index = new SegmentIndex();
+            ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK_RECORDS * RECORD_SIZE);
+            for (int first = 0; first < count; first += SCAN_CHUNK_RECORDS) {
+                int records = Math.min(SCAN_CHUNK_RECORDS, count - first);
+                chunk.clear().limit(records * RECORD_SIZE);
+                readFully(channel, chunk, HEADER_SIZE + (long) first * RECORD_SIZE);
+                for (int i = 0; i < records; i++) {
+                    index.add(chunk.getLong(i * RECORD_SIZE), first + i);
+                }
+            }
+            return index;
+        }
+
+        void add(long entityId, int position) {
+            byEntity.computeIfAbsent(entityId, id -> new Positions()).add(position);
+            records++;
+        }
+
+        int[] positions(long entityId) {
+            Positions positions = byEntity.get(entityId);
+            return positions != null ? Arrays.copyOf(positions.values, positions.size) : NONE;
+        }
+
+        /**
+         * Writes the index through a temporary file, so readers never see a partial one.
+         */
+        void write(Path indexFile) throws IOException {
+            long[] entityIds = byEntity.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            ByteBuffer out = ByteBuffer.allocate(INDEX_HEADER_SIZE + entityIds.length * INDEX_ENTRY_SIZE
+                    + records * Integer.BYTES);
+            out.putInt(INDEX_MAGIC).putInt(FORMAT_VERSION).putInt(entityIds.length).putInt(records);
+            int first = 0;
+            for (long entityId : entityIds) {
+                int size = byEntity.get(entityId).size;
+                out.putLong(entityId).putInt(first).putInt(size);
+                first += size;
+            }
+            for (long entityId : entityIds) {
+                Positions positions = byEntity.get(entityId);
+                out.asIntBuffer().put(positions.values, 0, positions.size);
+                out.position(out.position() + positions.size * Integer.BYTES);
+            }
+            out.flip();
+
+            Path temp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    while (out.hasRemaining()) {
+                        channel.write(out);
+                    }
+                }
+                Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private static final class Positions {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.civiguard.model.User;
 import com.civiguard.repository.OfficerRepository;
 import com.civiguard.repository.ReportRepository;
 import com.civiguard.repository.UserRepository;
+import com.civiguard.util.KeysetCursor;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -25,10 +26,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.util.StringUtils;
 import org.hibernate.Hibernate;
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.ReportDTO;
 import com.civiguard.dto.ReportDetailsDTO;
 
@@ -121,6 +121,41 @@ public class ReportService {
         return new PageImpl<>(reports, pageable, total);
     }
     
+    /**
+     * Keyset-paginated variant of {@link #searchReports(String, ReportStatus, String, String, Long, LocalDate, LocalDate, Pageable)},
+     * newest first. Reports are only counted when {@code includeTotal} is set.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReportDTO> scrollReports(
+            String search,
+            ReportStatus status,
+            String type,
+            String priority,
+            Long createdBy,
+            LocalDate dateFrom,
+            LocalDate dateTo,
+            String cursor,
+            Integer size,
+            boolean includeTotal) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime from = dateFrom != null ? dateFrom.atStartOfDay() : null;
+        LocalDateTime to = dateTo != null ? dateTo.atTime(23, 59, 59) : null;
+
+        List<Report> reports = reportRepository.findReportsAfter(
+            search, status, type, priority, createdBy, from, to,
+            after != null ? after.getCreatedAt() : null,
+            after != null ? after.getId() : null,
+            pageSize + 1
+        );
+        CursorPage<ReportDTO> page = CursorPage.of(reports, pageSize, Report::getCreatedAt, Report::getId, ReportDTO::fromEntity);
+        if (includeTotal) {
+            page.setTotalElements(reportRepository.countReportsWithAssociations(
+                search, status, type, priority, createdBy, from, to));
+        }
+        return page;
+    }
+
     public Page<Report> getReportsByStatus(ReportStatus status, Pageable pageable) {
         log.debug("Fetching reports with status: {}", status);
         return reportRepository.findByStatus(status, pageable);
@@ -260,7 +295,7 @@ public class ReportService {
         if (user != null) {
             // Use a fresh user object to avoid lazy loading issues
             userRepository.findById(user.getId()).ifPresent(freshUser -> 
-                sendNotificationAsync(freshUser, savedReport)
+                queueNewReportNotification(freshUser, savedReport)
             );
         } else {
             log.info("Skipping admin notification - no authenticated user");
@@ -269,19 +304,17 @@ public class ReportService {
         return savedReport;
     }
     
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void sendNotificationAsync(User user, Report report) {
-        try {
-            notificationService.createNotification(
-                user,
-                "New Report #" + report.getId() + ": " + report.getTitle(),
-                "NEW_REPORT"
-            );
-            log.info("Notified admins about new report #{}", report.getId());
-        } catch (Exception e) {
-            log.error("Failed to send new report notification: {}", e.getMessage(), e);
-        }
+    /**
+     * Queues the new-report notification; it is delivered once the report is committed.
+     */
+    private void queueNewReportNotification(User user, Report report) {
+        notificationService.queueNotification(
+            NotificationService.REPORT_AGGREGATE,
+            report.getId(),
+            user,
+            "New Report #" + report.getId() + ": " + report.getTitle(),
+            "NEW_REPORT"
+        );
     }
 
     /**
@@ -314,6 +347,10 @@ public class ReportService {
 
         // 3. Validate report can be converted
         validateReportForConversion(report);
+        incidentService.findIncidentIdByReportId(reportId).ifPresent(incidentId -> {
+            throw new ReportOperationException(
+                "Report #" + reportId + " has already been converted to incident #" + incidentId);
+        });
 
         try {
             // 4. Create incident request from report with proper field mapping
@@ -625,7 +662,9 @@ public class ReportService {
 
     private void notifyStatusChange(Report report, Long updatedByUserId) {
         // Notify the reporter
-        notificationService.createNotification(
+        notificationService.queueNotification(
+                NotificationService.REPORT_AGGREGATE,
+                report.getId(),
                 report.getCreatedBy(),
                 "Report #" + report.getId() + " status updated",
                 "REPORT_STATUS_UPDATED"
@@ -634,7 +673,9 @@ public class ReportService {
         // Notify assigned officers
         if (report.getAssignedOfficers() != null && !report.getAssignedOfficers().isEmpty()) {
             for (com.civiguard.model.Officer officer : report.getAssignedOfficers()) {
-                notificationService.createNotification(
+                notificationService.queueNotification(
+                        NotificationService.REPORT_AGGREGATE,
+                        report.getId(),
                         officer.getUser(),
                         "Report #" + report.getId() + " status updated: " + report.getStatus(),
                         "REPORT_STATUS_UPDATED"
@@ -663,7 +704,9 @@ public class ReportService {
         
         try {
             // Notify the report creator
-            notificationService.createNotification(
+            notificationService.queueNotification(
+                    NotificationService.REPORT_AGGREGATE,
+                    report.getId(),
                     report.getCreatedBy(),
                     notificationTitle,
                     notificationType
@@ -697,7 +740,9 @@ public class ReportService {
             try {
                 User officerUser = userRepository.findById(officerId).orElse(null);
                 if (officerUser != null) {
-                    notificationService.createNotification(
+                    notificationService.queueNotification(
+                            NotificationService.REPORT_AGGREGATE,
+                            report.getId(),
                             officerUser,
                             notificationTitle,
                             notificationType
@@ -797,7 +842,9 @@ public class ReportService {
                 com.civiguard.model.Officer officer = officerRepository.findById(officerId)
                         .orElseThrow(() -> new ResourceNotFoundException("Officer", "id", officerId));
 
-                notificationService.createNotification(
+                notificationService.queueNotification(
+                        NotificationService.REPORT_AGGREGATE,
+                        report.getId(),
                         officer.getUser(),
                         String.format("New Report Assignment - #%d: %s", report.getId(), report.getTitle()),
                         "REPORT_ASSIGNED"
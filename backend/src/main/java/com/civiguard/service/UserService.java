@@ -20,6 +20,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final org.springframework.messaging.simp.SimpMessagingTemplate messagingTemplate;
+    private final CitizenLocationIndex citizenLocationIndex;
 
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
@@ -63,6 +64,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        citizenLocationIndex.onUserSaved(updatedUser);
         UserResponse response = mapToUserResponse(updatedUser);
         // Broadcast real-time update to WebSocket subscribers
         messagingTemplate.convertAndSend("/topic/citizen-updates", response);
@@ -95,6 +97,7 @@ public class UserService {
         
         user.setActive(active);
         User updatedUser = userRepository.save(user);
+        citizenLocationIndex.onUserSaved(updatedUser);
         return mapToUserResponse(updatedUser);
     }
 
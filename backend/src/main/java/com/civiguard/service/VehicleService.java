@@ -5,8 +5,10 @@ import com.civiguard.exception.ResourceNotFoundException;
 import com.civiguard.model.Location;
 import com.civiguard.model.Officer;
 import com.civiguard.model.PatrolVehicle;
+import com.civiguard.model.TrackedEntityType;
 import com.civiguard.repository.OfficerRepository;
 import com.civiguard.repository.PatrolVehicleRepository;
+import com.civiguard.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,10 @@ public class VehicleService {
     private final PatrolVehicleRepository vehicleRepository;
     private final OfficerRepository officerRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final GeoFenceEventEngine geoFenceEventEngine;
+    private final PositionHistoryStore positionHistoryStore;
+    private final OfficerDispatchService officerDispatchService;
+    private final PatrolRouteTracker patrolRouteTracker;
 
     @Transactional
     public PatrolVehicle createVehicle(PatrolVehicle vehicle) {
@@ -84,6 +90,19 @@ public class VehicleService {
             "timestamp", savedVehicle.getLastLocationUpdate()
         ));
         
+        // Geofence transitions are broadcast, so a rolled-back update must not reach them
+        Long vehicleId = savedVehicle.getId();
+        Location savedLocation = savedVehicle.getLocation();
+        TransactionUtils.afterCommit(() -> geoFenceEventEngine.onVehiclePosition(vehicleId, savedLocation));
+        officerDispatchService.onVehiclePosition(savedVehicle);
+        if (location != null && location.getLatitude() != null && location.getLongitude() != null) {
+            double lat = location.getLatitude();
+            double lng = location.getLongitude();
+            long ts = System.currentTimeMillis();
+            TransactionUtils.afterCommit(() -> positionHistoryStore.append(TrackedEntityType.VEHICLE, vehicleId, ts, lat, lng));
+            TransactionUtils.afterCommit(() -> patrolRouteTracker.onVehiclePosition(vehicleId, lat, lng, ts));
+        }
+        
         return savedVehicle;
     }
 
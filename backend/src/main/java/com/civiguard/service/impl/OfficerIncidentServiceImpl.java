@@ -1,10 +1,13 @@
 package com.civiguard.service.impl;
 
+import com.civiguard.dto.CursorPage;
 import com.civiguard.dto.incident.EvidenceRequest;
 import com.civiguard.dto.incident.IncidentResponse;
+import com.civiguard.dto.incident.IncidentSummaryResponse;
 import com.civiguard.dto.incident.IncidentTimelineResponse;
 import com.civiguard.dto.incident.IncidentUpdateRequest;
 import com.civiguard.dto.incident.OfficerIncidentResponse;
+import com.civiguard.dto.officer.NearbyOfficerResponse;
 import com.civiguard.dto.officer.OfficerSummary;
 import com.civiguard.exception.ResourceNotFoundException;
 import com.civiguard.exception.UnauthorizedException;
@@ -21,8 +24,14 @@ import com.civiguard.repository.IncidentRepository;
 import com.civiguard.repository.IncidentUpdateRepository;
 import com.civiguard.repository.OfficerRepository;
 import com.civiguard.repository.UserRepository;
+import com.civiguard.service.IncidentHeatmapService;
+import com.civiguard.service.IncidentStatisticsService;
 import com.civiguard.service.NotificationService;
+import com.civiguard.service.OfficerDispatchIndex;
+import com.civiguard.service.OfficerDispatchService;
 import com.civiguard.service.OfficerIncidentService;
+import com.civiguard.specification.IncidentSpecifications;
+import com.civiguard.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -34,7 +43,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -52,6 +63,9 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
     private final EvidenceRepository evidenceRepository;
     private final IncidentUpdateRepository incidentUpdateRepository;
     private final NotificationService notificationService;
+    private final OfficerDispatchService officerDispatchService;
+    private final IncidentHeatmapService incidentHeatmapService;
+    private final IncidentStatisticsService incidentStatisticsService;
 
     /**
      * Retrieves a paginated list of incidents assigned to an officer, optionally filtered by status.
@@ -79,6 +93,43 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
             .map(this::mapToIncidentResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<IncidentSummaryResponse> getIncidentSummariesAssignedToOfficer(
+            Long officerId, IncidentStatus status, Pageable pageable) {
+        validateNotNull(officerId, "Officer ID cannot be null");
+        validateOfficerExists(officerId);
+
+        Specification<Incident> spec = IncidentSpecifications.assignedToOfficer(officerId);
+        if (status != null) {
+            spec = spec.and(IncidentSpecifications.hasStatus(status));
+        }
+        return incidentRepository.findSummaries(spec, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<IncidentResponse> scrollIncidentsAssignedToOfficer(
+            Long officerId, IncidentStatus status, String cursor, Integer size, boolean includeTotal) {
+        validateNotNull(officerId, "Officer ID cannot be null");
+        validateOfficerExists(officerId);
+
+        Specification<Incident> spec = IncidentSpecifications.assignedToOfficer(officerId);
+        if (status != null) {
+            spec = spec.and(IncidentSpecifications.hasStatus(status));
+        }
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Incident> incidents = incidentRepository.findSliceWithRelations(spec,
+            after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null, pageSize + 1);
+        CursorPage<IncidentResponse> page = CursorPage.of(incidents, pageSize,
+            Incident::getCreatedAt, Incident::getId, this::mapToIncidentResponse);
+        if (includeTotal) {
+            page.setTotalElements(incidentRepository.count(spec));
+        }
+        return page;
+    }
+
     /**
      * Retrieves detailed information about a specific incident for an officer.
      *
@@ -114,6 +165,7 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
         validateNotNull(status, "Incident status cannot be null");
 
         Incident incident = getIncidentAndVerifyOfficer(incidentId, officerId);
+        IncidentStatisticsService.Key countedAs = IncidentStatisticsService.Key.of(incident);
         User officerUser = userRepository.findById(officerId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + officerId));
 
@@ -143,6 +195,8 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
         incident.getUpdates().add(update);
 
         Incident savedIncident = incidentRepository.save(incident);
+        incidentHeatmapService.onIncidentSaved(savedIncident);
+        incidentStatisticsService.onIncidentChanged(countedAs, savedIncident);
 
         try {
             notificationService.notifyUserIncidentStatusChanged(savedIncident);
@@ -170,6 +224,7 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
         validateNotNull(priority, "Incident priority cannot be null");
 
         Incident incident = getIncidentAndVerifyOfficer(incidentId, officerId);
+        IncidentStatisticsService.Key countedAs = IncidentStatisticsService.Key.of(incident);
 
         if (priority == incident.getPriority()) {
             log.debug("Priority for incident {} is already set to {}", incidentId, priority);
@@ -201,6 +256,8 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
         incident.getUpdates().add(update);
 
         Incident savedIncident = incidentRepository.save(incident);
+        incidentHeatmapService.onIncidentSaved(savedIncident);
+        incidentStatisticsService.onIncidentChanged(countedAs, savedIncident);
 
         try {
             notificationService.notifyUserIncidentStatusChanged(savedIncident);
@@ -228,6 +285,7 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
         validateNotNull(request.getNotes(), "Update notes cannot be null");
 
         Incident incident = getIncidentAndVerifyOfficer(incidentId, officerId);
+        IncidentStatisticsService.Key countedAs = IncidentStatisticsService.Key.of(incident);
         User officerUser = userRepository.findById(officerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Officer not found with id: " + officerId));
 
@@ -268,9 +326,12 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
         incident.getUpdates().add(update);
 
         Incident savedIncident = incidentRepository.save(incident);
+        incidentHeatmapService.onIncidentSaved(savedIncident);
+        incidentStatisticsService.onIncidentChanged(countedAs, savedIncident);
 
         try {
             sendIncidentNotification(
+                    incidentId,
                     incident.getReportedBy(),
                     "New update on your incident: " + incident.getTitle(),
                     "INCIDENT_UPDATE"
@@ -394,6 +455,7 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
 
         try {
             sendIncidentNotification(
+                    incidentId,
                     newOfficer.getUser(),
                     "You've been assigned to incident: " + incident.getTitle(),
                     "INCIDENT_ASSIGNED"
@@ -482,6 +544,68 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Ranks the dispatchable officers nearest to an incident using the live dispatch index.
+     * Only the returned officers are loaded from the database.
+     *
+     * @param incidentId          The ID of the incident.
+     * @param requestingOfficerId The ID of the officer requesting the list.
+     * @param limit               Maximum number of officers to return.
+     * @param maxDistanceKm       Search radius in kilometres, or null for the default.
+     * @return Officers ordered by distance, closest first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyOfficerResponse> getNearestAvailableOfficers(Long incidentId, Long requestingOfficerId,
+                                                                   int limit, Double maxDistanceKm) {
+        validateNotNull(incidentId, "Incident ID cannot be null");
+        validateNotNull(requestingOfficerId, "Requesting officer ID cannot be null");
+        validateOfficerExists(requestingOfficerId);
+
+        if (!incidentRepository.existsByIdAndAssignedOfficersId(incidentId, requestingOfficerId)) {
+            throw new AccessDeniedException("You don't have permission to view this incident");
+        }
+
+        Incident incident = incidentRepository.findById(incidentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Incident not found with id: " + incidentId));
+
+        Set<Long> excludedOfficerIds = incident.getAssignedOfficers().stream()
+                .map(Officer::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+        excludedOfficerIds.add(requestingOfficerId);
+
+        List<OfficerDispatchIndex.Candidate> candidates = officerDispatchService.findNearest(
+            incident.getLocation(), limit, maxDistanceKm, excludedOfficerIds);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Officer> officers = officerRepository.findAllById(
+                candidates.stream().map(OfficerDispatchIndex.Candidate::getOfficerId).toList())
+            .stream()
+            .collect(Collectors.toMap(Officer::getId, officer -> officer));
+
+        List<NearbyOfficerResponse> ranked = new ArrayList<>(candidates.size());
+        for (OfficerDispatchIndex.Candidate candidate : candidates) {
+            Officer officer = officers.get(candidate.getOfficerId());
+            if (officer == null) {
+                continue;
+            }
+            ranked.add(NearbyOfficerResponse.builder()
+                .rank(ranked.size() + 1)
+                .officer(mapOfficerToSummary(officer))
+                .status(officer.getStatus())
+                .distanceKm(Math.round(candidate.getDistanceKm() * 1000.0) / 1000.0)
+                .latitude(candidate.getLatitude())
+                .longitude(candidate.getLongitude())
+                .positionSource(candidate.getSource().name())
+                .positionUpdatedAt(LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(candidate.getTimestamp()), ZoneId.systemDefault()))
+                .build());
+        }
+        return ranked;
+    }
+
     private OfficerSummary mapOfficerToSummary(Officer officer) {
         if (officer == null) {
             return null;
@@ -657,16 +781,17 @@ public class OfficerIncidentServiceImpl implements OfficerIncidentService {
     }
 
     /**
-     * Sends a notification to a user about an incident.
+     * Queues a notification to a user about an incident.
      *
+     * @param incidentId The incident the notification is about.
      * @param recipient The user to notify.
      * @param message   The notification message.
      * @param type      The notification type.
      */
-    private void sendIncidentNotification(User recipient, String message, String type) {
+    private void sendIncidentNotification(Long incidentId, User recipient, String message, String type) {
         validateNotNull(recipient, "Recipient cannot be null");
         validateNotNull(message, "Notification message cannot be null");
         validateNotNull(type, "Notification type cannot be null");
-        notificationService.createNotification(recipient, message, type);
+        notificationService.queueNotification(NotificationService.INCIDENT_AGGREGATE, incidentId, recipient, message, type);
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.civiguard.specification;
+
+import com.civiguard.model.Incident;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Filters for paged incident listings. None of them fetch associations or make the
+ * query distinct, so they can select a page of incident IDs in the database.
+ */
+public final class IncidentSpecifications {
+
+    private IncidentSpecifications() {
+    }
+
+    public static Specification<Incident> hasStatus(IncidentStatus status) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("status"), status);
+    }
+
+    public static Specification<Incident> hasStatusIn(Collection<IncidentStatus> statuses) {
+        return (root, query, criteriaBuilder) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Incident> hasPriority(IncidentPriority priority) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Incident> hasIncidentType(String incidentType) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("incidentType"), incidentType);
+    }
+
+    public static Specification<Incident> inDistrict(String district) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("location").get("district"), district);
+    }
+
+    public static Specification<Incident> isAnonymous(boolean anonymous) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("isAnonymous"), anonymous);
+    }
+
+    public static Specification<Incident> reportedBy(Long userId) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("reportedBy").get("id"), userId);
+    }
+
+    /**
+     * Incidents the officer is assigned to. The join matches at most one row per
+     * incident, so no {@code DISTINCT} is needed.
+     */
+    public static Specification<Incident> assignedToOfficer(Long officerId) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.join("assignedOfficers").get("id"), officerId);
+    }
+
+    /**
+     * Incidents whose report date, stored as an ISO {@code yyyy-MM-dd} string, falls
+     * within the given days.
+     */
+    public static Specification<Incident> reportDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.between(
+            root.get("reportDetails").get("reportDate"),
+            startDate.toLocalDate().toString(),
+            endDate.toLocalDate().toString());
+    }
+
+    /**
+     * Incidents reported on or after the day of {@code startDate}.
+     */
+    public static Specification<Incident> reportDateOnOrAfter(LocalDateTime startDate) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(
+            root.get("reportDetails").get("reportDate"),
+            startDate.toLocalDate().toString());
+    }
+
+    /**
+     * Incidents reported on or before the day of {@code endDate}.
+     */
+    public static Specification<Incident> reportDateOnOrBefore(LocalDateTime endDate) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(
+            root.get("reportDetails").get("reportDate"),
+            endDate.toLocalDate().toString());
+    }
+
+    /**
+     * Incidents strictly after the {@code (createdAt, id)} position in newest-first order.
+     */
+    public static Specification<Incident> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+            criteriaBuilder.lessThan(root.get("createdAt"), createdAt),
+            criteriaBuilder.and(
+                criteriaBuilder.equal(root.get("createdAt"), createdAt),
+                criteriaBuilder.lessThan(root.get("id"), id)));
+    }
+}
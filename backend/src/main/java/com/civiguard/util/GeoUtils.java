@@ -0,0 +1,71 @@
+package com.civiguard.util;
+
+/**
+ * Shared geodesic helpers for fence, dispatch and tracking code.
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    /** Approximate length of one degree of latitude in kilometres. */
+    public static final double KM_PER_DEGREE_LAT = 111.32;
+
+    /** Latitude limit of the Web Mercator projection used for map tiles. */
+    public static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Haversine distance between two coordinates.
+     *
+     * @return distance in kilometres
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                   Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS_KM * c;
+    }
+
+    /**
+     * Degrees of latitude spanned by the given distance.
+     */
+    public static double kmToLatDegrees(double km) {
+        return km / KM_PER_DEGREE_LAT;
+    }
+
+    /**
+     * Degrees of longitude spanned by the given distance at the given latitude.
+     * The cosine is clamped so boxes near the poles stay finite.
+     */
+    public static double kmToLngDegrees(double km, double atLatitude) {
+        double cos = Math.max(Math.cos(Math.toRadians(atLatitude)), 0.01);
+        return km / (KM_PER_DEGREE_LAT * cos);
+    }
+
+    /**
+     * Web Mercator (slippy map) tile column containing the longitude at the given zoom.
+     */
+    public static int tileX(double longitude, int zoom) {
+        int tiles = 1 << zoom;
+        int x = (int) Math.floor((longitude + 180) / 360 * tiles);
+        return Math.min(Math.max(x, 0), tiles - 1);
+    }
+
+    /**
+     * Web Mercator (slippy map) tile row containing the latitude at the given zoom.
+     */
+    public static int tileY(double latitude, int zoom) {
+        int tiles = 1 << zoom;
+        double lat = Math.toRadians(Math.max(Math.min(latitude, MAX_MERCATOR_LAT), -MAX_MERCATOR_LAT));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2 * tiles);
+        return Math.min(Math.max(y, 0), tiles - 1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.civiguard.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative IDs, laid out like a Roaring bitmap.
+ * <p>
+ * IDs are grouped by their upper bits into chunks of 65,536. A chunk holding up to
+ * 4,096 IDs is a sorted {@code char[]} of the low 16 bits; a denser chunk switches to
+ * a fixed 8 KB bitmap. Sparse sets of large IDs therefore cost about two bytes per
+ * member, dense ranges about one bit, and membership is a binary search over the
+ * chunk keys followed by one array or bit probe.
+ * <p>
+ * Not thread-safe.
+ */
+public final class IdBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private long[] keys = new long[4];
+    // char[] (sorted low bits) or long[] (bitmap) per key
+    private Object[] chunks = new Object[4];
+    private int[] sizes = new int[4];
+    private int chunkCount;
+    private long cardinality;
+
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, 0, chunkCount, id >>> 16);
+        if (i < 0) {
+            return false;
+        }
+        char low = (char) id;
+        if (chunks[i] instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunks[i], 0, sizes[i], low) >= 0;
+    }
+
+    /**
+     * @return whether the ID was not already present
+     */
+    public boolean add(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("IDs must not be negative: " + id);
+        }
+        long key = id >>> 16;
+        char low = (char) id;
+        int i = Arrays.binarySearch(keys, 0, chunkCount, key);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, key);
+        }
+        if (chunks[i] instanceof long[] bits) {
+            int word = low >>> 6;
+            long mask = 1L << low;
+            if ((bits[word] & mask) != 0) {
+                return false;
+            }
+            bits[word] |= mask;
+        } else {
+            char[] values = (char[]) chunks[i];
+            int size = sizes[i];
+            int pos = Arrays.binarySearch(values, 0, size, low);
+            if (pos >= 0) {
+                return false;
+            }
+            if (size == ARRAY_LIMIT) {
+                long[] bits = toBitmap(values, size);
+                bits[low >>> 6] |= 1L << low;
+                chunks[i] = bits;
+            } else {
+                pos = -pos - 1;
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, size * 2)));
+                    chunks[i] = values;
+                }
+                System.arraycopy(values, pos, values, pos + 1, size - pos);
+                values[pos] = low;
+            }
+        }
+        sizes[i]++;
+        cardinality++;
+        return true;
+    }
+
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Approximate heap used by the chunks, for monitoring.
+     */
+    public long sizeInBytes() {
+        long bytes = keys.length * 8L + sizes.length * 4L + chunks.length * 8L;
+        for (int i = 0; i < chunkCount; i++) {
+            bytes += chunks[i] instanceof long[] bits ? bits.length * 8L : ((char[]) chunks[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    private void insertChunk(int index, long key) {
+        if (chunkCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        System.arraycopy(sizes, index, sizes, index + 1, chunkCount - index);
+        keys[index] = key;
+        chunks[index] = new char[4];
+        sizes[index] = 0;
+        chunkCount++;
+    }
+
+    private static long[] toBitmap(char[] values, int size) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (int i = 0; i < size; i++) {
+            char low = values[i];
+            bits[low >>> 6] |= 1L << low;
+        }
+        return bits;
+    }
+}
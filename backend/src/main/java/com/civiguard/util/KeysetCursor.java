@@ -0,0 +1,63 @@
+package com.civiguard.util;
+
+import com.civiguard.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by {@code (createdAt DESC, id DESC)}, exchanged with
+ * clients as an opaque URL-safe token. The next page is everything strictly after the
+ * position, so fetching it costs the same however deep the client has paged.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded position, or null for a missing token (the first page)
+     * @throws BadRequestException if the token was not issued by {@link #encode}
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            if (separator < 0) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Clamps a requested page size to {@code 1..MAX_PAGE_SIZE}, defaulting when absent.
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,141 @@
+package com.civiguard.benchmark;
+
+import com.civiguard.model.GeoFence;
+import com.civiguard.model.GeoFencePoint;
+import com.civiguard.model.Location;
+import com.civiguard.service.CompiledGeoFence;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity-based ray casting that {@code GeoFencingService} used to run
+ * against {@link CompiledGeoFence} for polygons of 10, 100 and 1000 vertices.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.civiguard.benchmark.GeoFenceContainmentBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoFenceContainmentBenchmark {
+
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({ "10", "100", "1000" })
+    private int vertices;
+
+    private GeoFence fence;
+    private CompiledGeoFence compiled;
+    private Location[] queryLocations;
+    private double[] queryLats;
+    private double[] queryLngs;
+
+    @Setup
+    public void setUp() {
+        fence = starPolygon(vertices, 28.6139, 77.2090, 0.05);
+        compiled = CompiledGeoFence.compile(fence);
+
+        Random random = new Random(42);
+        queryLocations = new Location[QUERY_POINTS];
+        queryLats = new double[QUERY_POINTS];
+        queryLngs = new double[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queryLats[i] = 28.6139 + (random.nextDouble() - 0.5) * 0.12;
+            queryLngs[i] = 77.2090 + (random.nextDouble() - 0.5) * 0.12;
+            Location location = new Location();
+            location.setLatitude(queryLats[i]);
+            location.setLongitude(queryLngs[i]);
+            queryLocations[i] = location;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_POINTS)
+    public int entityRayCasting() {
+        int inside = 0;
+        for (Location point : queryLocations) {
+            if (legacyIsPointInPolygon(point, fence.getPolygonPoints())) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_POINTS)
+    public int compiledContains() {
+        int inside = 0;
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            if (compiled.contains(queryLats[i], queryLngs[i])) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Verbatim copy of the previous {@code GeoFencingService.isPointInPolygon}.
+     */
+    private static boolean legacyIsPointInPolygon(Location point, List<GeoFencePoint> geoFencePoints) {
+        boolean inside = false;
+        int j = geoFencePoints.size() - 1;
+
+        for (int i = 0; i < geoFencePoints.size(); i++) {
+            Location p1 = geoFencePoints.get(i).getLocation();
+            Location p2 = geoFencePoints.get(j).getLocation();
+
+            if ((p1.getLongitude() > point.getLongitude()) != (p2.getLongitude() > point.getLongitude()) &&
+                (point.getLatitude() < (p2.getLatitude() - p1.getLatitude()) *
+                (point.getLongitude() - p1.getLongitude()) /
+                (p2.getLongitude() - p1.getLongitude()) + p1.getLatitude())) {
+                inside = !inside;
+            }
+            j = i;
+        }
+
+        return inside;
+    }
+
+    private static GeoFence starPolygon(int vertices, double centerLat, double centerLng, double radiusDeg) {
+        GeoFence fence = new GeoFence();
+        fence.setId(1L);
+        fence.setType(GeoFence.FenceType.POLYGON);
+        List<GeoFencePoint> points = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double radius = i % 2 == 0 ? radiusDeg : radiusDeg * 0.6;
+            Location location = new Location();
+            location.setLatitude(centerLat + radius * Math.sin(angle));
+            location.setLongitude(centerLng + radius * Math.cos(angle));
+            GeoFencePoint point = new GeoFencePoint();
+            point.setLocation(location);
+            point.setPointOrder(i);
+            point.setGeofence(fence);
+            points.add(point);
+        }
+        fence.setPolygonPoints(points);
+        return fence;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GeoFenceContainmentBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
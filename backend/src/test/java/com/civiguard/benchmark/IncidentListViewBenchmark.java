@@ -0,0 +1,157 @@
+package com.civiguard.benchmark;
+
+import com.civiguard.dto.incident.IncidentSummaryResponse;
+import com.civiguard.model.Incident;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import com.civiguard.model.IncidentUpdate;
+import com.civiguard.model.Location;
+import com.civiguard.model.Officer;
+import com.civiguard.model.User;
+import com.civiguard.service.IncidentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-page cost of building an incident listing in the application: mapping loaded
+ * incidents through {@link IncidentService#mapToResponse} and serializing the result,
+ * against building {@link IncidentSummaryResponse} rows from projected columns and
+ * serializing those. Payload sizes are printed during setup.
+ * <p>
+ * The database side is not measured here: the entity listing runs an ID query plus
+ * four fetch queries per page and hydrates every collection, the projection runs one
+ * query returning one row per incident.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.civiguard.benchmark.IncidentListViewBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncidentListViewBenchmark {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    @Param({ "5", "50" })
+    private int updatesPerIncident;
+
+    private IncidentService incidentService;
+    private ObjectMapper objectMapper;
+    private List<Incident> incidents;
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // mapToResponse only reads the incident, so the service needs no collaborators
+        incidentService = new IncidentService(null, null, null, null, null, null, null);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        LocalDateTime now = LocalDateTime.of(2026, 10, 16, 12, 0);
+        incidents = new ArrayList<>(pageSize);
+        rows = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Incident incident = incident(i, now.minusMinutes(i));
+            incidents.add(incident);
+            rows.add(new Object[] {
+                incident.getId(), incident.getTitle(), incident.getStatus(), incident.getPriority(),
+                incident.getIncidentType(), incident.getLocation().getDistrict(), incident.getLocation().getCity(),
+                incident.getLocation().getLatitude(), incident.getLocation().getLongitude(),
+                incident.isAnonymous(), incident.getReportedBy().getName(),
+                incident.getAssignedOfficers().size(), incident.getCreatedAt(), incident.getUpdatedAt()
+            });
+        }
+
+        System.out.printf("%n[pageSize=%d, updatesPerIncident=%d] entity payload %d bytes, summary payload %d bytes%n",
+                pageSize, updatesPerIncident, entityPage().length, summaryPage().length);
+    }
+
+    @Benchmark
+    public byte[] entityPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(incidents.stream().map(incidentService::mapToResponse).toList());
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        List<IncidentSummaryResponse> page = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            page.add(new IncidentSummaryResponse((Long) row[0], (String) row[1], (IncidentStatus) row[2],
+                    (IncidentPriority) row[3], (String) row[4], (String) row[5], (String) row[6],
+                    (Double) row[7], (Double) row[8], (Boolean) row[9], (String) row[10],
+                    (Integer) row[11], (LocalDateTime) row[12], (LocalDateTime) row[13]));
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private Incident incident(long id, LocalDateTime createdAt) {
+        User reporter = new User();
+        reporter.setId(1000 + id);
+        reporter.setName("Reporter " + id);
+        reporter.setEmail("reporter" + id + "@example.org");
+
+        Location location = new Location();
+        location.setLatitude(28.6139 + id * 0.001);
+        location.setLongitude(77.2090 + id * 0.001);
+        location.setAddress(id + " Janpath Road");
+        location.setDistrict("Central");
+        location.setCity("New Delhi");
+
+        Incident incident = new Incident();
+        incident.setId(id);
+        incident.setTitle("Incident " + id);
+        incident.setDescription("Reported disturbance near the market, details to follow. ".repeat(4));
+        incident.setLocation(location);
+        incident.setReportedBy(reporter);
+        incident.setStatus(IncidentStatus.UNDER_INVESTIGATION);
+        incident.setPriority(IncidentPriority.HIGH);
+        incident.setIncidentType("THEFT");
+        incident.setCreatedAt(createdAt);
+        incident.setUpdatedAt(createdAt);
+        for (int i = 0; i < 3; i++) {
+            incident.getImages().add("https://cdn.example.org/incidents/" + id + "/" + i + ".jpg");
+            incident.getTags().add("tag-" + i);
+        }
+        for (int i = 0; i < 2; i++) {
+            Officer officer = new Officer();
+            officer.setId(id * 10 + i);
+            officer.setName("Officer " + i);
+            officer.setBadgeNumber("DL-" + id + "-" + i);
+            officer.setRank(Officer.Rank.SUB_INSPECTOR);
+            incident.getAssignedOfficers().add(officer);
+        }
+        for (int i = 0; i < updatesPerIncident; i++) {
+            IncidentUpdate update = new IncidentUpdate();
+            update.setId(id * 1000 + i);
+            update.setContent("Follow-up " + i + ": statement recorded from a witness at the scene.");
+            update.setIncident(incident);
+            update.setUpdatedBy(reporter);
+            update.setCreatedAt(createdAt.plusMinutes(i));
+            incident.getUpdates().add(update);
+        }
+        return incident;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(IncidentListViewBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,42 @@
+package com.civiguard.dto;
+
+import com.civiguard.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageTest {
+
+    private record Row(LocalDateTime createdAt, Long id) {
+    }
+
+    @Test
+    void of_ShouldDropLookAheadRowAndPointCursorAtLastRowOfPage() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 16, 12, 0);
+        List<Row> rows = List.of(new Row(now, 9L), new Row(now, 7L), new Row(now.minusMinutes(1), 12L));
+
+        CursorPage<Long> page = CursorPage.of(rows, 2, Row::createdAt, Row::id, Row::id);
+
+        assertEquals(List.of(9L, 7L), page.getContent());
+        assertEquals(2, page.getSize());
+        assertTrue(page.isHasNext());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(now, next.getCreatedAt());
+        assertEquals(7L, next.getId());
+        assertNull(page.getTotalElements());
+    }
+
+    @Test
+    void of_ShouldEndOnShortPage() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 16, 12, 0);
+
+        CursorPage<Long> page = CursorPage.of(List.of(new Row(now, 3L)), 2, Row::createdAt, Row::id, Row::id);
+
+        assertEquals(List.of(3L), page.getContent());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -0,0 +1,34 @@
+package com.civiguard.dto.incident;
+
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncidentSummaryResponseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 16, 12, 0);
+
+    @Test
+    void projectionConstructor_ShouldHideReporterOfAnonymousIncident() {
+        IncidentSummaryResponse summary = new IncidentSummaryResponse(1L, "Theft", IncidentStatus.REPORTED,
+                IncidentPriority.HIGH, "THEFT", "Central", "New Delhi", 28.6, 77.2, true, "Asha", 2, NOW, NOW);
+
+        assertTrue(summary.isAnonymous());
+        assertNull(summary.getReporterName());
+        assertEquals(2, summary.getAssignedOfficerCount());
+    }
+
+    @Test
+    void projectionConstructor_ShouldDefaultMissingColumns() {
+        IncidentSummaryResponse summary = new IncidentSummaryResponse(1L, "Theft", IncidentStatus.REPORTED,
+                IncidentPriority.HIGH, "THEFT", null, null, null, null, null, "Asha", null, NOW, NOW);
+
+        assertFalse(summary.isAnonymous());
+        assertEquals("Asha", summary.getReporterName());
+        assertEquals(0, summary.getAssignedOfficerCount());
+    }
+}
@@ -0,0 +1,98 @@
+package com.civiguard.service;
+
+import com.civiguard.event.NotificationEventPayload;
+import com.civiguard.model.Incident;
+import com.civiguard.model.Location;
+import com.civiguard.model.NotificationLane;
+import com.civiguard.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminIncidentDigestServiceTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    private AdminIncidentDigestService digest;
+
+    @BeforeEach
+    void setUp() {
+        digest = new AdminIncidentDigestService(outboxService);
+    }
+
+    @Test
+    void collapse_ShouldNotifyFirstIncidentOfWindowAndCountTheRest() {
+        assertFalse(digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM)));
+        assertTrue(digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM)));
+        assertTrue(digest.collapse(incident("Fire", "Mumbai", Incident.IncidentPriority.HIGH)));
+        assertTrue(digest.collapse(incident("Theft", null, Incident.IncidentPriority.LOW)));
+
+        assertEquals(3, digest.getPendingCount());
+    }
+
+    @Test
+    void collapse_ShouldNeverHoldBackCriticalIncidents() {
+        digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM));
+
+        assertFalse(digest.collapse(incident("Flood", "Pune", Incident.IncidentPriority.CRITICAL)));
+        assertEquals(0, digest.getPendingCount());
+    }
+
+    @Test
+    void flush_ShouldQueueOneSummaryForAdminsAndStartNewWindow() {
+        digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM));
+        digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM));
+        digest.collapse(incident("Fire", "Mumbai", Incident.IncidentPriority.HIGH));
+        digest.collapse(incident("Theft", null, Incident.IncidentPriority.LOW));
+
+        digest.flush();
+
+        ArgumentCaptor<NotificationEventPayload> payload = ArgumentCaptor.forClass(NotificationEventPayload.class);
+        verify(outboxService).enqueue(eq(AdminIncidentDigestService.DIGEST_AGGREGATE), any(),
+                eq(NotificationService.NOTIFICATION_EVENT), payload.capture(),
+                eq(NotificationLane.OPERATIONAL.ordinal()));
+        assertEquals(User.Role.ADMIN, payload.getValue().getRole());
+        assertEquals(AdminIncidentDigestService.DIGEST_TYPE, payload.getValue().getType());
+        assertEquals("3 more incidents reported in the last 1 min. Priority: HIGH 1, MEDIUM 1, LOW 1. "
+                + "Types: Theft 2, Fire 1. Districts: Mumbai 1, New Delhi 1, Unspecified 1.",
+                payload.getValue().getMessage());
+
+        // The next incident opens a new window and is notified right away
+        assertFalse(digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM)));
+        digest.flush();
+        verifyNoMoreInteractions(outboxService);
+    }
+
+    @Test
+    void flush_ShouldKeepCountsWhenDigestCannotBeQueued() {
+        digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM));
+        digest.collapse(incident("Theft", "New Delhi", Incident.IncidentPriority.MEDIUM));
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(outboxService).enqueue(any(), any(), any(), any(), anyInt());
+
+        digest.flush();
+
+        assertEquals(1, digest.getPendingCount());
+    }
+
+    private static Incident incident(String type, String district, Incident.IncidentPriority priority) {
+        Incident incident = new Incident();
+        incident.setIncidentType(type);
+        incident.setPriority(priority);
+        if (district != null) {
+            Location location = new Location();
+            location.setDistrict(district);
+            incident.setLocation(location);
+        }
+        return incident;
+    }
+}
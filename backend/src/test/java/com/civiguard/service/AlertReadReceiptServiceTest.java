@@ -0,0 +1,58 @@
+package com.civiguard.service;
+
+import com.civiguard.repository.AlertReadReceiptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertReadReceiptServiceTest {
+
+    @Mock
+    private AlertReadReceiptRepository alertReadReceiptRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AlertReadReceiptService receipts;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(alertReadReceiptRepository.streamUserIdsByAlertId(5L)).thenReturn(Stream.of(3L, 90_000L));
+        receipts = new AlertReadReceiptService(alertReadReceiptRepository, transactionManager);
+    }
+
+    @Test
+    void isRead_ShouldLoadReadersOnceAndAnswerFromTheBitmap() {
+        assertTrue(receipts.isRead(5L, 90_000L));
+        assertFalse(receipts.isRead(5L, 4L));
+        assertEquals(2, receipts.getReadCount(5L));
+
+        verify(alertReadReceiptRepository, times(1)).streamUserIdsByAlertId(5L);
+    }
+
+    @Test
+    void markRead_ShouldOnlyWriteFirstReadsAndCountThem() {
+        when(alertReadReceiptRepository.insertIfAbsent(eq(5L), eq(4L), any(LocalDateTime.class))).thenReturn(1);
+
+        assertFalse(receipts.markRead(5L, 3L));
+        assertTrue(receipts.markRead(5L, 4L));
+
+        // No transaction is active here, so the cache is updated at once
+        assertTrue(receipts.isRead(5L, 4L));
+        assertEquals(3, receipts.getReadCount(5L));
+        verify(alertReadReceiptRepository, never()).insertIfAbsent(eq(5L), eq(3L), any());
+    }
+}
@@ -0,0 +1,91 @@
+package com.civiguard.service;
+
+import com.civiguard.model.Address;
+import com.civiguard.model.User;
+import com.civiguard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CitizenLocationIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CitizenLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CitizenLocationIndex(userRepository, 0.05);
+        when(userRepository.findHomeLocationRows(User.Role.CITIZEN)).thenReturn(List.of(
+                // Connaught Place, ~1 km from the alert
+                new Object[] { 1L, 28.6315, 77.2167, "New Delhi" },
+                // Noida, ~17 km away
+                new Object[] { 2L, 28.5355, 77.3910, "Gautam Buddh Nagar" },
+                // India Gate, ~2.5 km away, across a cell boundary
+                new Object[] { 3L, 28.6129, 77.2295, "New Delhi" },
+                // No coordinates, matched on district only
+                new Object[] { 4L, null, null, "new delhi " },
+                new Object[] { 5L, null, null, "Mumbai" },
+                // Nothing to index
+                new Object[] { 6L, null, null, null }));
+        index.reload();
+    }
+
+    @Test
+    void findWithinRadius_ShouldReturnCitizensInsideRadiusAndUnlocatedCitizensOfTheDistrict() {
+        long[] recipients = index.findWithinRadius(28.6328, 77.2197, 5, "New Delhi");
+
+        assertArrayEquals(new long[] { 1L, 3L, 4L }, recipients);
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void findWithinRadius_ShouldWidenToFarCitizensForLargeRadius() {
+        assertArrayEquals(new long[] { 1L, 2L, 3L }, index.findWithinRadius(28.6328, 77.2197, 20, null));
+        assertArrayEquals(new long[0], index.findWithinRadius(19.0760, 72.8777, 5, null));
+    }
+
+    @Test
+    void findInDistrict_ShouldMatchDistrictIgnoringCaseAndWhitespace() {
+        assertArrayEquals(new long[] { 1L, 3L, 4L }, index.findInDistrict(" NEW DELHI"));
+        assertArrayEquals(new long[0], index.findInDistrict("Pune"));
+    }
+
+    @Test
+    void onUserSaved_ShouldMoveAndDropCitizens() {
+        User moved = citizen(1L, 19.0760, 72.8777, "Mumbai");
+        index.onUserSaved(moved);
+
+        assertArrayEquals(new long[] { 3L, 4L }, index.findWithinRadius(28.6328, 77.2197, 5, "New Delhi"));
+        assertArrayEquals(new long[] { 1L, 5L }, index.findWithinRadius(19.0760, 72.8777, 5, "Mumbai"));
+
+        moved.setActive(false);
+        index.onUserSaved(moved);
+
+        assertArrayEquals(new long[] { 5L }, index.findInDistrict("Mumbai"));
+        assertArrayEquals(new long[0], index.findWithinRadius(19.0760, 72.8777, 5, null));
+        assertEquals(4, index.size());
+    }
+
+    private static User citizen(Long id, double lat, double lng, String district) {
+        Address address = new Address();
+        address.setLatitude(lat);
+        address.setLongitude(lng);
+        address.setDistrict(district);
+        User user = new User();
+        user.setId(id);
+        user.setRole(User.Role.CITIZEN);
+        user.setActive(true);
+        user.setAddress(address);
+        return user;
+    }
+}
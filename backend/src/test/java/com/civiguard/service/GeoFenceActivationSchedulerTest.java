@@ -0,0 +1,105 @@
+package com.civiguard.service;
+
+import com.civiguard.model.GeoFence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoFenceActivationSchedulerTest {
+
+    private GeoFenceIndex index;
+    private GeoFenceActivationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoFenceIndex(0.05, 4096);
+        scheduler = new GeoFenceActivationScheduler(index);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void replaceAll_ShouldOnlyIndexFencesInsideTheirWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        GeoFence current = windowed(1L, now.minusHours(1), now.plusHours(1));
+        GeoFence expired = windowed(2L, now.minusHours(2), now.minusHours(1));
+        GeoFence upcoming = windowed(3L, now.plusHours(1), null);
+
+        scheduler.replaceAll(List.of(compile(current), compile(expired), compile(upcoming)));
+
+        assertTrue(index.contains(1L));
+        assertFalse(index.contains(2L));
+        assertFalse(index.contains(3L));
+        assertEquals(2, scheduler.getPendingBoundaryCount());
+    }
+
+    @Test
+    void register_ShouldActivateAndExpireAtBoundaries() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        scheduler.register(compile(windowed(1L, now.plusNanos(150_000_000), now.plusNanos(400_000_000))));
+
+        assertFalse(index.contains(1L));
+        assertTrue(waitFor(() -> index.contains(1L)));
+        assertTrue(waitFor(() -> !index.contains(1L)));
+        assertEquals(0, scheduler.getPendingBoundaryCount());
+    }
+
+    @Test
+    void unregister_ShouldIgnoreBoundariesOfRemovedFence() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        scheduler.register(compile(windowed(1L, now.plusNanos(100_000_000), null)));
+        scheduler.unregister(1L);
+
+        Thread.sleep(300);
+
+        assertFalse(index.contains(1L));
+    }
+
+    @Test
+    void replaceAll_ShouldKeepChangesMadeWhileSnapshotWasLoading() {
+        LocalDateTime now = LocalDateTime.now();
+        CompiledGeoFence deactivated = compile(windowed(1L, now.minusHours(1), null));
+        CompiledGeoFence created = compile(windowed(2L, now.minusHours(1), null));
+        scheduler.register(deactivated);
+
+        scheduler.beginReplace();
+        scheduler.register(created);
+        scheduler.unregister(1L);
+        // Read before either change committed
+        scheduler.replaceAll(List.of(deactivated));
+        scheduler.endReplace();
+
+        assertFalse(index.contains(1L));
+        assertTrue(index.contains(2L));
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static GeoFence windowed(Long id, LocalDateTime start, LocalDateTime end) {
+        GeoFence fence = GeoFenceIndexTest.circle(id, 28.6139, 77.2090, 1.0);
+        fence.setStartTime(start);
+        fence.setEndTime(end);
+        return fence;
+    }
+
+    private static CompiledGeoFence compile(GeoFence fence) {
+        return CompiledGeoFence.compile(fence);
+    }
+}
@@ -0,0 +1,74 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.geofence.GeoFenceEvent;
+import com.civiguard.dto.geofence.GeoFenceEvent.EventType;
+import com.civiguard.model.TrackedEntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeoFenceEventEngineTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private GeoFenceIndex index;
+    private GeoFenceEventEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoFenceIndex(0.05, 4096);
+        index.put(CompiledGeoFence.compile(GeoFenceIndexTest.circle(1L, 28.6139, 77.2090, 1.0)));
+
+        engine = new GeoFenceEventEngine(index, messagingTemplate);
+        ReflectionTestUtils.setField(engine, "eventsEnabled", true);
+        ReflectionTestUtils.setField(engine, "minMoveMeters", 25.0);
+        ReflectionTestUtils.setField(engine, "dwellMillis", 60_000L);
+        ReflectionTestUtils.setField(engine, "idleEvictionMillis", 3_600_000L);
+    }
+
+    @Test
+    void onPosition_ShouldPublishEnterThenExit() {
+        engine.onPosition(TrackedEntityType.VEHICLE, "7", 28.6139, 77.2090, 1_000L);
+        engine.onPosition(TrackedEntityType.VEHICLE, "7", 28.7000, 77.2090, 2_000L);
+
+        ArgumentCaptor<GeoFenceEvent> events = ArgumentCaptor.forClass(GeoFenceEvent.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/geofence-events"), events.capture());
+        assertEquals(EventType.ENTER, events.getAllValues().get(0).getType());
+        assertEquals(EventType.EXIT, events.getAllValues().get(1).getType());
+        assertEquals(1L, events.getAllValues().get(1).getFenceId());
+    }
+
+    @Test
+    void onPosition_ShouldSkipEvaluationForSmallMovements() {
+        engine.onPosition(TrackedEntityType.OFFICER, "officer@civiguard.com", 28.6139, 77.2090, 1_000L);
+        engine.onPosition(TrackedEntityType.OFFICER, "officer@civiguard.com", 28.61391, 77.20901, 2_000L);
+
+        assertEquals(1, engine.getEvaluationCount());
+        assertEquals(1, engine.getSkippedPositionCount());
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/geofence-events"), any(GeoFenceEvent.class));
+    }
+
+    @Test
+    void sweep_ShouldExitFencesRemovedFromIndex() {
+        engine.onPosition(TrackedEntityType.VEHICLE, "7", 28.6139, 77.2090, System.currentTimeMillis());
+        index.remove(1L);
+
+        engine.sweep();
+
+        ArgumentCaptor<GeoFenceEvent> events = ArgumentCaptor.forClass(GeoFenceEvent.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/geofence-events"), events.capture());
+        assertEquals(EventType.EXIT, events.getAllValues().get(1).getType());
+    }
+}
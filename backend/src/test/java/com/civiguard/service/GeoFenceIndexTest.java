@@ -0,0 +1,150 @@
+package com.civiguard.service;
+
+import com.civiguard.model.GeoFence;
+import com.civiguard.model.GeoFencePoint;
+import com.civiguard.model.Location;
+import com.civiguard.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoFenceIndexTest {
+
+    private GeoFenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoFenceIndex(0.05, 16);
+    }
+
+    @Test
+    void containingIds_ShouldReturnCircleContainingPoint() {
+        index.rebuild(List.of(compile(circle(1L, 28.6139, 77.2090, 2.0))));
+
+        assertArrayEquals(new long[] { 1L }, index.containingIds(28.6200, 77.2100));
+        assertFalse(index.containsAny(28.7000, 77.2090));
+    }
+
+    @Test
+    void containingIds_ShouldReturnPolygonContainingPoint() {
+        index.rebuild(List.of(compile(polygon(2L, 19.00, 72.80, 19.02, 72.82))));
+
+        assertArrayEquals(new long[] { 2L }, index.containingIds(19.01, 72.81));
+        assertEquals(0, index.containingIds(19.03, 72.81).length);
+    }
+
+    @Test
+    void put_ShouldKeepOversizedFencesSearchable() {
+        index.put(compile(circle(3L, 12.9716, 77.5946, 40.0)));
+
+        assertTrue(index.containsAny(13.2, 77.6));
+    }
+
+    @Test
+    void remove_ShouldDropFenceFromAllCells() {
+        index.put(compile(circle(1L, 28.6139, 77.2090, 2.0)));
+        index.put(compile(circle(3L, 12.9716, 77.5946, 40.0)));
+
+        index.remove(1L);
+        index.remove(3L);
+
+        assertEquals(0, index.size());
+        assertFalse(index.containsAny(28.6139, 77.2090));
+        assertFalse(index.containsAny(12.9716, 77.5946));
+    }
+
+    @Test
+    void put_ShouldReplaceExistingFenceGeometry() {
+        index.put(compile(circle(1L, 28.6139, 77.2090, 2.0)));
+        index.put(compile(circle(1L, 19.0760, 72.8777, 2.0)));
+
+        assertEquals(1, index.size());
+        assertFalse(index.containsAny(28.6139, 77.2090));
+        assertTrue(index.containsAny(19.0760, 72.8777));
+    }
+
+    @Test
+    void containingIds_ShouldUseExactGeometryNotJustBounds() {
+        index.put(compile(circle(1L, 28.6139, 77.2090, 2.0)));
+
+        // Inside the bounding box corner but outside the circle itself
+        assertFalse(index.containsAny(28.6139 + 0.017, 77.2090 + 0.019));
+    }
+
+    @Test
+    void compile_ShouldHandleConcavePolygon() {
+        GeoFence fence = polygon(4L, 0, 0, 0, 0);
+        double[][] uShape = { { 0, 0 }, { 0, 3 }, { 3, 3 }, { 3, 2 }, { 1, 2 }, { 1, 1 }, { 3, 1 }, { 3, 0 } };
+        fence.getPolygonPoints().clear();
+        for (int i = 0; i < uShape.length; i++) {
+            GeoFencePoint point = new GeoFencePoint();
+            point.setLocation(location(uShape[i][0], uShape[i][1]));
+            point.setPointOrder(i);
+            fence.getPolygonPoints().add(point);
+        }
+        CompiledGeoFence compiled = compile(fence);
+
+        assertTrue(compiled.contains(0.5, 1.5));
+        assertTrue(compiled.contains(2.5, 0.5));
+        assertFalse(compiled.contains(2.0, 1.5));
+        assertEquals(8, compiled.vertexCount());
+    }
+
+    @Test
+    void contains_ShouldAcceptPointsJustInsideCircleEdge() {
+        CompiledGeoFence compiled = compile(circle(5L, 60.0, 10.0, 10.0));
+        double angularRadius = 10.0 * 0.9995 / GeoUtils.EARTH_RADIUS_KM;
+
+        // Due north, and at the circle's easternmost point, which lies north of the centre
+        double northLat = 60.0 + Math.toDegrees(angularRadius);
+        double eastLat = Math.toDegrees(Math.asin(Math.sin(Math.toRadians(60.0)) / Math.cos(angularRadius)));
+        double eastLng = 10.0 + Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(60.0))));
+
+        assertTrue(GeoUtils.distanceKm(60.0, 10.0, northLat, 10.0) < 10.0);
+        assertTrue(GeoUtils.distanceKm(60.0, 10.0, eastLat, eastLng) < 10.0);
+        assertTrue(compiled.contains(northLat, 10.0));
+        assertTrue(compiled.contains(eastLat, eastLng));
+        assertFalse(compiled.contains(60.0 + Math.toDegrees(10.01 / GeoUtils.EARTH_RADIUS_KM), 10.0));
+    }
+
+    static CompiledGeoFence compile(GeoFence fence) {
+        return CompiledGeoFence.compile(fence);
+    }
+
+    static GeoFence circle(Long id, double lat, double lng, double radiusKm) {
+        GeoFence fence = new GeoFence();
+        fence.setId(id);
+        fence.setType(GeoFence.FenceType.CIRCLE);
+        fence.setCenter(location(lat, lng));
+        fence.setRadiusKm(radiusKm);
+        return fence;
+    }
+
+    static GeoFence polygon(Long id, double minLat, double minLng, double maxLat, double maxLng) {
+        GeoFence fence = new GeoFence();
+        fence.setId(id);
+        fence.setType(GeoFence.FenceType.POLYGON);
+        List<GeoFencePoint> points = new ArrayList<>();
+        double[][] corners = { { minLat, minLng }, { minLat, maxLng }, { maxLat, maxLng }, { maxLat, minLng } };
+        for (int i = 0; i < corners.length; i++) {
+            GeoFencePoint point = new GeoFencePoint();
+            point.setLocation(location(corners[i][0], corners[i][1]));
+            point.setPointOrder(i);
+            point.setGeofence(fence);
+            points.add(point);
+        }
+        fence.setPolygonPoints(points);
+        return fence;
+    }
+
+    private static Location location(double lat, double lng) {
+        Location location = new Location();
+        location.setLatitude(lat);
+        location.setLongitude(lng);
+        return location;
+    }
+}
@@ -0,0 +1,147 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.geofence.GeoFenceBatchCheckResponse;
+import com.civiguard.exception.BadRequestException;
+import com.civiguard.model.Location;
+import com.civiguard.repository.GeoFenceRepository;
+import com.civiguard.repository.PatrolVehicleRepository;
+import com.civiguard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeoFencingServiceTest {
+
+    @Mock
+    private GeoFenceRepository geoFenceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GeoFenceGeometryCache geoFenceGeometryCache;
+
+    @Mock
+    private GeoFenceActivationScheduler geoFenceActivationScheduler;
+
+    @Mock
+    private PatrolVehicleRepository patrolVehicleRepository;
+
+    private GeoFencingService geoFencingService;
+
+    @BeforeEach
+    void setUp() {
+        GeoFenceIndex index = new GeoFenceIndex(0.05, 4096);
+        index.put(CompiledGeoFence.compile(GeoFenceIndexTest.circle(1L, 28.6139, 77.2090, 1.0)));
+        index.put(CompiledGeoFence.compile(GeoFenceIndexTest.circle(2L, 19.0760, 72.8777, 1.0)));
+
+        geoFencingService = new GeoFencingService(geoFenceRepository, userRepository, index,
+                geoFenceGeometryCache, geoFenceActivationScheduler, patrolVehicleRepository);
+        ReflectionTestUtils.setField(geoFencingService, "batchParallelThreshold", 8);
+        ReflectionTestUtils.setField(geoFencingService, "batchMaxPoints", 100);
+    }
+
+    @Test
+    void findActiveGeoFenceIdsContainingPoints_ShouldMatchEachPointBelowTheParallelThreshold() {
+        List<Location> points = List.of(
+                location(28.6139, 77.2090),
+                location(12.9716, 77.5946),
+                location(19.0760, 72.8777),
+                new Location());
+
+        GeoFenceBatchCheckResponse result = geoFencingService.findActiveGeoFenceIdsContainingPoints(points);
+
+        assertEquals(4, result.getPointCount());
+        assertEquals(2, result.getMatchedPointCount());
+        assertNull(result.getEntityIds());
+        assertArrayEquals(new long[] { 1L }, result.getFenceIds().get(0));
+        assertEquals(0, result.getFenceIds().get(1).length);
+        assertArrayEquals(new long[] { 2L }, result.getFenceIds().get(2));
+        assertEquals(0, result.getFenceIds().get(3).length);
+    }
+
+    @Test
+    void findActiveGeoFenceIdsContainingPoints_ShouldKeepPointOrderAboveTheParallelThreshold() {
+        List<Location> points = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            points.add(i % 3 == 0 ? location(28.6139, 77.2090)
+                    : i % 3 == 1 ? location(19.0760, 72.8777)
+                    : location(12.9716, 77.5946));
+        }
+
+        GeoFenceBatchCheckResponse result = geoFencingService.findActiveGeoFenceIdsContainingPoints(points);
+
+        assertEquals(60, result.getPointCount());
+        assertEquals(40, result.getMatchedPointCount());
+        for (int i = 0; i < 60; i++) {
+            long[] expected = i % 3 == 0 ? new long[] { 1L } : i % 3 == 1 ? new long[] { 2L } : new long[0];
+            assertArrayEquals(expected, result.getFenceIds().get(i), "point " + i);
+        }
+    }
+
+    @Test
+    void findActiveGeoFenceIdsContainingPoints_ShouldRejectAnEmptyBatch() {
+        assertThrows(BadRequestException.class, () -> geoFencingService.findActiveGeoFenceIdsContainingPoints(List.of()));
+        assertThrows(BadRequestException.class, () -> geoFencingService.findActiveGeoFenceIdsContainingPoints(null));
+    }
+
+    @Test
+    void findActiveGeoFenceIdsContainingPoints_ShouldRejectBatchesOverTheLimit() {
+        List<Location> points = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            points.add(location(28.6139, 77.2090));
+        }
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> geoFencingService.findActiveGeoFenceIdsContainingPoints(points));
+
+        assertTrue(exception.getMessage().contains("Cannot check more than 100 points"));
+    }
+
+    @Test
+    void findActiveGeoFenceIdsForVehicles_ShouldMatchNothingForVehiclesWithoutALocation() {
+        when(patrolVehicleRepository.findVehiclePositions()).thenReturn(Arrays.asList(
+                new Object[] { 7L, 28.6139, 77.2090 },
+                new Object[] { 8L, null, null },
+                new Object[] { 9L, 19.0760, 72.8777 }));
+
+        GeoFenceBatchCheckResponse result = geoFencingService.findActiveGeoFenceIdsForVehicles();
+
+        assertEquals(3, result.getPointCount());
+        assertEquals(2, result.getMatchedPointCount());
+        assertEquals(List.of(7L, 8L, 9L), result.getEntityIds());
+        assertArrayEquals(new long[] { 1L }, result.getFenceIds().get(0));
+        assertEquals(0, result.getFenceIds().get(1).length);
+        assertArrayEquals(new long[] { 2L }, result.getFenceIds().get(2));
+    }
+
+    @Test
+    void findActiveGeoFenceIdsForVehicles_ShouldReturnAnEmptyResultWithoutVehicles() {
+        when(patrolVehicleRepository.findVehiclePositions()).thenReturn(List.of());
+
+        GeoFenceBatchCheckResponse result = geoFencingService.findActiveGeoFenceIdsForVehicles();
+
+        assertEquals(0, result.getPointCount());
+        assertEquals(0, result.getMatchedPointCount());
+        assertTrue(result.getEntityIds().isEmpty());
+        assertTrue(result.getFenceIds().isEmpty());
+    }
+
+    private static Location location(double latitude, double longitude) {
+        Location location = new Location();
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+}
@@ -0,0 +1,114 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.incident.IncidentHeatmapTile;
+import com.civiguard.exception.BadRequestException;
+import com.civiguard.model.Incident;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import com.civiguard.model.Location;
+import com.civiguard.repository.IncidentRepository;
+import com.civiguard.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentHeatmapServiceTest {
+
+    private static final int ZOOM = 10;
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    private IncidentHeatmapService heatmapService;
+
+    @BeforeEach
+    void setUp() {
+        heatmapService = new IncidentHeatmapService(incidentRepository, 3, 15, 3);
+    }
+
+    @Test
+    void onIncidentSaved_ShouldCountIncidentInEveryBreakdown() {
+        heatmapService.onIncidentSaved(incident(1L, 28.6139, 77.2090, IncidentStatus.REPORTED, IncidentPriority.HIGH, "THEFT"));
+        heatmapService.onIncidentSaved(incident(2L, 28.6140, 77.2091, IncidentStatus.RESOLVED, IncidentPriority.HIGH, "ASSAULT"));
+
+        IncidentHeatmapTile tile = tileFor(28.6139, 77.2090);
+
+        assertEquals(2, tile.getTotal());
+        assertEquals(1, tile.getBins().length);
+        assertArrayEquals(new int[] { 2 }, tile.getCounts());
+        assertArrayEquals(new int[] { 1 }, tile.getByStatus().get("REPORTED"));
+        assertArrayEquals(new int[] { 1 }, tile.getByStatus().get("RESOLVED"));
+        assertArrayEquals(new int[] { 2 }, tile.getByPriority().get("HIGH"));
+        assertArrayEquals(new int[] { 1 }, tile.getByType().get("THEFT"));
+        assertFalse(tile.getByPriority().containsKey("LOW"));
+    }
+
+    @Test
+    void onIncidentSaved_ShouldMoveCountsWhenStatusChanges() {
+        Incident incident = incident(1L, 28.6139, 77.2090, IncidentStatus.REPORTED, IncidentPriority.LOW, "THEFT");
+        heatmapService.onIncidentSaved(incident);
+        incident.setStatus(IncidentStatus.IN_PROGRESS);
+        heatmapService.onIncidentSaved(incident);
+
+        IncidentHeatmapTile tile = tileFor(28.6139, 77.2090);
+
+        assertEquals(1, tile.getTotal());
+        assertNull(tile.getByStatus().get("REPORTED"));
+        assertArrayEquals(new int[] { 1 }, tile.getByStatus().get("IN_PROGRESS"));
+    }
+
+    @Test
+    void onIncidentDeleted_ShouldRemoveCountsFromAllLevels() {
+        heatmapService.onIncidentSaved(incident(1L, 28.6139, 77.2090, IncidentStatus.REPORTED, IncidentPriority.LOW, null));
+        heatmapService.onIncidentDeleted(1L);
+
+        assertEquals(0, tileFor(28.6139, 77.2090).getTotal());
+        assertEquals(0, heatmapService.getTile(3, GeoUtils.tileX(77.2090, 3), GeoUtils.tileY(28.6139, 3)).getTotal());
+        assertEquals(0, heatmapService.getIncidentCount());
+    }
+
+    @Test
+    void rebuild_ShouldLoadIncidentsFromRepository() {
+        when(incidentRepository.findHeatmapRows()).thenReturn(List.of(
+                new Object[] { 1L, 19.0760, 72.8777, IncidentStatus.REPORTED, IncidentPriority.CRITICAL, "FIRE" },
+                new Object[] { 2L, 28.6139, 77.2090, IncidentStatus.CLOSED, IncidentPriority.LOW, "THEFT" }));
+
+        heatmapService.rebuild();
+
+        assertEquals(2, heatmapService.getIncidentCount());
+        assertArrayEquals(new int[] { 1 }, tileFor(19.0760, 72.8777).getByType().get("FIRE"));
+        assertEquals(2, heatmapService.getTile(3, GeoUtils.tileX(75.0, 3), GeoUtils.tileY(24.0, 3)).getTotal());
+    }
+
+    @Test
+    void getTile_ShouldRejectZoomOutsideConfiguredRange() {
+        assertThrows(BadRequestException.class, () -> heatmapService.getTile(16, 0, 0));
+        assertThrows(BadRequestException.class, () -> heatmapService.getTile(5, 32, 0));
+    }
+
+    private IncidentHeatmapTile tileFor(double latitude, double longitude) {
+        return heatmapService.getTile(ZOOM, GeoUtils.tileX(longitude, ZOOM), GeoUtils.tileY(latitude, ZOOM));
+    }
+
+    private static Incident incident(Long id, double lat, double lng, IncidentStatus status,
+                                     IncidentPriority priority, String type) {
+        Location location = new Location();
+        location.setLatitude(lat);
+        location.setLongitude(lng);
+        Incident incident = new Incident();
+        incident.setId(id);
+        incident.setLocation(location);
+        incident.setStatus(status);
+        incident.setPriority(priority);
+        incident.setIncidentType(type);
+        return incident;
+    }
+}
@@ -0,0 +1,34 @@
+package com.civiguard.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncidentReportLinkCacheTest {
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedBeyondLimit() {
+        IncidentReportLinkCache cache = new IncidentReportLinkCache(2);
+        cache.put(1L, 10L);
+        cache.put(2L, 20L);
+        cache.get(1L);
+
+        cache.put(3L, 30L);
+
+        assertEquals(2, cache.size());
+        assertEquals(10L, cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(30L, cache.get(3L));
+    }
+
+    @Test
+    void invalidate_ShouldDropMapping() {
+        IncidentReportLinkCache cache = new IncidentReportLinkCache(10);
+        cache.put(1L, 10L);
+
+        cache.invalidate(1L);
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+}
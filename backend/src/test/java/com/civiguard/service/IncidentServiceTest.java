@@ -0,0 +1,109 @@
+package com.civiguard.service;
+
+import com.civiguard.model.Incident;
+import com.civiguard.repository.IncidentRepository;
+import com.civiguard.repository.OfficerRepository;
+import com.civiguard.repository.UserRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentServiceTest {
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OfficerRepository officerRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private IncidentHeatmapService incidentHeatmapService;
+
+    @Mock
+    private IncidentReportLinkCache incidentReportLinkCache;
+
+    @Mock
+    private IncidentStatisticsService incidentStatisticsService;
+
+    @InjectMocks
+    private IncidentService incidentService;
+
+    @Mock
+    private Root<Incident> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+
+    @Mock
+    private Path<Object> reportDetails;
+
+    @Mock
+    private Path<String> reportDate;
+
+    @Mock
+    private Predicate predicate;
+
+    @Captor
+    private ArgumentCaptor<Specification<Incident>> spec;
+
+    @Test
+    void getAllIncidents_WithDateRange_ShouldFilterOnReportDetailsReportDate() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(incidentRepository.findPageWithRelations(spec.capture(), eq(pageable))).thenReturn(Page.empty());
+        stubReportDatePath();
+        doReturn(predicate).when(criteriaBuilder).between(reportDate, "2026-10-01", "2026-10-15");
+
+        incidentService.getAllIncidents(null, null, null, null,
+                LocalDateTime.of(2026, 10, 1, 0, 0), LocalDateTime.of(2026, 10, 15, 23, 59), pageable);
+
+        assertSame(predicate, spec.getValue().toPredicate(root, query, criteriaBuilder));
+        verify(root, never()).get("reportDate");
+    }
+
+    @Test
+    void getAllIncidents_WithStartDateOnly_ShouldFilterOnOrAfterThatDay() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(incidentRepository.findPageWithRelations(spec.capture(), eq(pageable))).thenReturn(Page.empty());
+        stubReportDatePath();
+        doReturn(predicate).when(criteriaBuilder).greaterThanOrEqualTo(reportDate, "2026-10-01");
+
+        incidentService.getAllIncidents(null, null, null, null,
+                LocalDateTime.of(2026, 10, 1, 12, 30), null, pageable);
+
+        assertSame(predicate, spec.getValue().toPredicate(root, query, criteriaBuilder));
+    }
+
+    private void stubReportDatePath() {
+        doReturn(reportDetails).when(root).get("reportDetails");
+        doReturn(reportDate).when(reportDetails).get("reportDate");
+    }
+}
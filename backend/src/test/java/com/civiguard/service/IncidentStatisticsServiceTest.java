@@ -0,0 +1,104 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.incident.CategoryCountDto;
+import com.civiguard.dto.incident.MonthlyIncidentStats;
+import com.civiguard.model.Incident;
+import com.civiguard.model.Incident.IncidentPriority;
+import com.civiguard.model.Incident.IncidentStatus;
+import com.civiguard.model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncidentStatisticsServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IncidentStatisticsService statistics;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        statistics = new IncidentStatisticsService(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void lifecycle_ShouldMoveIncidentBetweenCounters() {
+        Incident first = incident("2026-09-30", IncidentStatus.REPORTED, "THEFT", "Central", IncidentPriority.HIGH);
+        Incident second = incident("2026-10-02", IncidentStatus.REPORTED, "ASSAULT", "Central", IncidentPriority.LOW);
+        statistics.onIncidentCreated(first);
+        statistics.onIncidentCreated(second);
+
+        IncidentStatisticsService.Key countedAs = IncidentStatisticsService.Key.of(first);
+        first.setStatus(IncidentStatus.RESOLVED);
+        statistics.onIncidentChanged(countedAs, first);
+        statistics.onIncidentDeleted(IncidentStatisticsService.Key.of(second));
+
+        assertEquals(1, statistics.getTotal());
+        assertEquals(List.of(new MonthlyIncidentStats("2026-09", 0, 0, 1, 0)), statistics.getMonthlyStats());
+        assertEquals(List.of(new CategoryCountDto("THEFT", 1)), statistics.getTypeCounts());
+        assertEquals(List.of(new CategoryCountDto("Central", 1)), statistics.getDistrictCounts());
+        assertEquals(Map.of(IncidentStatus.RESOLVED, 1L), statistics.getStatusCounts());
+        assertEquals(Map.of(IncidentPriority.HIGH, 1L), statistics.getPriorityCounts());
+    }
+
+    @Test
+    void reconcile_ShouldRefreshSummaryTableAndReplaceCounters() throws Exception {
+        statistics.onIncidentCreated(
+                incident("2026-10-01", IncidentStatus.REPORTED, "THEFT", "North", IncidentPriority.LOW));
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn("2026-08");
+        when(row.getString(2)).thenReturn("CLOSED");
+        when(row.getString(3)).thenReturn("FRAUD");
+        when(row.getString(4)).thenReturn("South");
+        when(row.getString(5)).thenReturn("MEDIUM");
+        when(row.getLong(6)).thenReturn(3L);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT report_month"), any(RowCallbackHandler.class));
+
+        statistics.reconcile();
+
+        verify(jdbcTemplate).update(startsWith("DELETE FROM " + IncidentStatisticsService.SUMMARY_TABLE));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO " + IncidentStatisticsService.SUMMARY_TABLE));
+        assertEquals(3, statistics.getTotal());
+        assertEquals(List.of(new MonthlyIncidentStats("2026-08", 0, 0, 0, 3)), statistics.getMonthlyStats());
+        assertEquals(List.of(new CategoryCountDto("FRAUD", 3)), statistics.getTypeCounts());
+        assertEquals(Map.of(IncidentPriority.MEDIUM, 3L), statistics.getPriorityCounts());
+    }
+
+    private static Incident incident(String reportDate, IncidentStatus status, String type, String district,
+                                     IncidentPriority priority) {
+        Incident incident = new Incident();
+        Incident.ReportDetails details = new Incident.ReportDetails();
+        details.setReportDate(reportDate);
+        incident.setReportDetails(details);
+        incident.setStatus(status);
+        incident.setIncidentType(type);
+        incident.setPriority(priority);
+        Location location = new Location();
+        location.setDistrict(district);
+        incident.setLocation(location);
+        return incident;
+    }
+}
@@ -0,0 +1,83 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.notification.NotificationDeliveryStats;
+import com.civiguard.model.NotificationLane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDeliverySchedulerTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+    private final List<String> ran = new ArrayList<>();
+    private NotificationDeliveryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        // Only the ALERT lane is limited, to 2,000 notifications per second
+        scheduler = new NotificationDeliveryScheduler(new double[] { 0, 0, 2000, 0 }, nanos::get);
+    }
+
+    @Test
+    void runNext_ShouldLetAnAssignmentOvertakeAQueuedMassAlert() {
+        scheduler.submit(NotificationLane.ALERT, 1000, () -> {
+            ran.add("alert batch 1");
+            scheduler.submit(NotificationLane.ALERT, 1000, () -> ran.add("alert batch 2"));
+        });
+        scheduler.submit(NotificationLane.INFORMATIONAL, 1, () -> ran.add("status change"));
+
+        assertTrue(scheduler.runNext());
+        scheduler.submit(NotificationLane.OPERATIONAL, 1, () -> ran.add("assignment"));
+        scheduler.submit(NotificationLane.CRITICAL, 1000, () -> ran.add("critical alert"));
+        drain();
+
+        assertEquals(List.of("alert batch 1", "critical alert", "assignment", "alert batch 2", "status change"), ran);
+    }
+
+    @Test
+    void runNext_ShouldSkipAThrottledLaneUntilItsTokensRefill() {
+        for (int i = 1; i <= 3; i++) {
+            String batch = "alert batch " + i;
+            scheduler.submit(NotificationLane.ALERT, 1000, () -> ran.add(batch));
+        }
+        scheduler.submit(NotificationLane.INFORMATIONAL, 1, () -> ran.add("status change"));
+
+        drain();
+        // One second of tokens covers two batches; the lane below is not held up
+        assertEquals(List.of("alert batch 1", "alert batch 2", "status change"), ran);
+
+        nanos.addAndGet(400_000_000L);
+        assertFalse(scheduler.runNext());
+        nanos.addAndGet(100_000_000L);
+        assertTrue(scheduler.runNext());
+        assertEquals("alert batch 3", ran.get(3));
+
+        NotificationDeliveryStats.Lane alert = scheduler.getStats().getLanes().get(NotificationLane.ALERT.ordinal());
+        assertEquals(3, alert.getStarted());
+        assertEquals(1, alert.getThrottled());
+        assertEquals(0, alert.getQueued());
+        assertEquals(500.0, alert.getMaxWaitMs());
+    }
+
+    @Test
+    void tryAcquire_ShouldLetOversizedTasksRunWhenFullAndPayItBack() {
+        NotificationDeliveryScheduler.TokenBucket bucket = new NotificationDeliveryScheduler.TokenBucket(100);
+
+        assertEquals(0, bucket.tryAcquire(500, 0));
+        // 400 tokens of debt plus a full bucket: 5 seconds
+        assertEquals(5_000_000_000L, bucket.tryAcquire(500, 0));
+        assertEquals(0, bucket.tryAcquire(500, 5_000_000_000L));
+        assertEquals(0, new NotificationDeliveryScheduler.TokenBucket(0).tryAcquire(1_000_000, 0));
+    }
+
+    private void drain() {
+        while (scheduler.runNext()) {
+            // run until nothing is ready
+        }
+    }
+}
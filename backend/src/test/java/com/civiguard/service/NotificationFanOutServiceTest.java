@@ -0,0 +1,173 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.notification.NotificationFanOutStatus;
+import com.civiguard.exception.ResourceNotFoundException;
+import com.civiguard.model.NotificationLane;
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationFanOutServiceTest {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String JOB_ID = "job-1";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private NotificationDeliveryScheduler scheduler;
+    private NotificationFanOutService fanOutService;
+
+    @BeforeEach
+    void setUp() {
+        // No workers and no rate limits: tasks run on the test thread through drain()
+        scheduler = new NotificationDeliveryScheduler(new double[NotificationLane.values().length], System::nanoTime);
+        fanOutService = new NotificationFanOutService(jdbcTemplate, transactionManager, notificationPushService,
+                scheduler, outboxService, BATCH_SIZE, 60_000L);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("CITIZEN"))).thenReturn(2500L);
+        stubPage(0L, 1, 1000);
+        stubPage(1000L, 1001, 2000);
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("CITIZEN"), eq(2000L), eq(BATCH_SIZE)))
+                .thenReturn(ids(2001, 2500));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fanOutToRole_ShouldInsertOneBatchPerPageOfRecipients() {
+        fanOutService.fanOutToRole(JOB_ID, NotificationLane.ALERT, User.Role.CITIZEN, "HIGH ALERT: Flood", "SAFETY_ALERT");
+        drain();
+
+        ArgumentCaptor<Collection<Long>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), batches.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(1000, 1000, 500), batches.getAllValues().stream().map(Collection::size).toList());
+        verify(transactionManager, times(3)).commit(any());
+
+        NotificationFanOutStatus status = fanOutService.getJob(JOB_ID);
+        assertEquals(NotificationFanOutStatus.State.COMPLETED, status.getState());
+        assertEquals(2500L, status.getTotalRecipients());
+        assertEquals(2500, status.getDelivered());
+        assertEquals(3, status.getBatches());
+        assertEquals(100.0, status.getProgressPercent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fanOutToRole_ShouldKeepDeliveredBatchesWhenAWriteFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[0][])
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        fanOutService.fanOutToRole(JOB_ID, NotificationLane.ALERT, User.Role.CITIZEN, "HIGH ALERT: Flood", "SAFETY_ALERT");
+        drain();
+
+        NotificationFanOutStatus status = fanOutService.getJob(JOB_ID);
+        assertEquals(NotificationFanOutStatus.State.FAILED, status.getState());
+        assertEquals(1000, status.getDelivered());
+        assertEquals(40.0, status.getProgressPercent());
+        assertEquals("connection lost", status.getError());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fanOutToPartitions_ShouldNotifyUsersInSeveralPartitionsOnce() {
+        Map<String, long[]> partitions = new LinkedHashMap<>();
+        partitions.put("epicenter", new long[] { 1, 2, 3, 5 });
+        partitions.put("area:Puri", new long[] { 2, 3, 4 });
+        partitions.put("area:Cuttack", new long[] { 5 });
+        List<NotificationFanOutStatus> published = new ArrayList<>();
+
+        fanOutService.fanOutToPartitions(JOB_ID, NotificationLane.CRITICAL, "disaster:9", "Cyclone warning",
+                "DISASTER_ALERT", () -> partitions, published::add);
+        drain();
+
+        ArgumentCaptor<Collection<Long>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(List.of(1L, 2L, 3L, 5L), List.of(4L)), batches.getAllValues());
+
+        NotificationFanOutStatus status = fanOutService.getJob(JOB_ID);
+        assertEquals(NotificationFanOutStatus.State.COMPLETED, status.getState());
+        assertEquals(2, status.getPartitions());
+        assertEquals(5, status.getDelivered());
+        assertEquals(3, status.getDuplicatesSkipped());
+        assertEquals(NotificationFanOutStatus.State.RUNNING, published.get(0).getState());
+        assertEquals(NotificationFanOutStatus.State.COMPLETED, published.get(published.size() - 1).getState());
+    }
+
+    @Test
+    void deduplicate_ShouldKeepEachUserInItsFirstPartition() {
+        List<long[]> distinct = NotificationFanOutService.deduplicate(List.of(
+                new long[] { 2, 4, 6 }, new long[] { 1, 2, 2, 3, 6, 7 }, new long[] { 3, 8 }));
+
+        assertArrayEquals(new long[] { 2, 4, 6 }, distinct.get(0));
+        assertArrayEquals(new long[] { 1, 3, 7 }, distinct.get(1));
+        assertArrayEquals(new long[] { 8 }, distinct.get(2));
+    }
+
+    @Test
+    void getJob_ShouldRejectUnknownJob() {
+        assertThrows(ResourceNotFoundException.class, () -> fanOutService.getJob("missing"));
+    }
+
+    @Test
+    void getJob_ShouldReportJobsNotStartedHereFromTheirOutboxEvent() {
+        OutboxEvent event = new OutboxEvent();
+        event.setStatus(OutboxEvent.Status.PENDING);
+        when(outboxService.findByCorrelationId(JOB_ID)).thenReturn(Optional.of(event));
+
+        assertEquals(NotificationFanOutStatus.State.QUEUED, fanOutService.getJob(JOB_ID).getState());
+
+        // Taken by another instance, or by this one before a restart
+        event.setStatus(OutboxEvent.Status.PROCESSED);
+        assertEquals(NotificationFanOutStatus.State.DISPATCHED, fanOutService.getJob(JOB_ID).getState());
+    }
+
+    private void drain() {
+        while (scheduler.runNext()) {
+            // run until no task is left
+        }
+    }
+
+    private void stubPage(long afterId, long from, long to) {
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("CITIZEN"), eq(afterId), eq(BATCH_SIZE)))
+                .thenReturn(ids(from, to));
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.notification.NotificationPushMessage;
+import com.civiguard.model.Notification;
+import com.civiguard.model.User;
+import com.civiguard.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPushServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SimpUserRegistry simpUserRegistry;
+
+    private NotificationPushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        pushService = new NotificationPushService(notificationRepository, messagingTemplate, simpUserRegistry);
+        ReflectionTestUtils.setField(pushService, "ttlMillis", 600_000L);
+        ReflectionTestUtils.setField(pushService, "maxEntries", 1000);
+    }
+
+    @Test
+    void unreadCount_ShouldLoadOnceAndFollowCreateReadAndReadAll() {
+        when(notificationRepository.countUnreadByUserId(7L)).thenReturn(3L);
+        Notification notification = notification(7L, 41L);
+
+        assertEquals(3, pushService.getUnreadCount(7L));
+        pushService.onNotificationCreated(notification);
+        pushService.onNotificationsCreated(List.of(7L, 8L), "FLOOD ALERT", "SAFETY_ALERT", LocalDateTime.now());
+        assertEquals(5, pushService.getUnreadCount(7L));
+
+        pushService.onNotificationRead(7L, notification);
+        assertEquals(4, pushService.getUnreadCount(7L));
+
+        pushService.onAllRead(7L);
+        assertEquals(0, pushService.getUnreadCount(7L));
+        verify(notificationRepository, times(1)).countUnreadByUserId(7L);
+    }
+
+    @Test
+    void onNotificationCreated_ShouldPushToConnectedUserOnly() {
+        when(simpUserRegistry.getUser("7")).thenReturn(mock(SimpUser.class));
+        when(notificationRepository.countUnreadByUserId(7L)).thenReturn(1L);
+
+        pushService.onNotificationCreated(notification(7L, 41L));
+        pushService.onNotificationCreated(notification(8L, 42L));
+
+        ArgumentCaptor<NotificationPushMessage> message = ArgumentCaptor.forClass(NotificationPushMessage.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("7"), eq("/queue/notifications"), message.capture());
+        verify(messagingTemplate, never()).convertAndSendToUser(eq("8"), anyString(), any(Object.class));
+        assertEquals(NotificationPushMessage.Event.CREATED, message.getValue().getEvent());
+        assertEquals(41L, message.getValue().getNotification().getId());
+        assertEquals(1, message.getValue().getUnreadCount());
+    }
+
+    private static Notification notification(Long userId, Long id) {
+        User user = new User();
+        user.setId(userId);
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUser(user);
+        notification.setMessage("Your incident 'Theft' status has been updated to: RESOLVED");
+        notification.setType("STATUS_CHANGED");
+        return notification;
+    }
+}
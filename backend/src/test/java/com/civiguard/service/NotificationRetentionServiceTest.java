@@ -0,0 +1,90 @@
+package com.civiguard.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    private NotificationRetentionService retention;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        retention = new NotificationRetentionService(jdbcTemplate, transactionManager, notificationPushService,
+                true, 30, 180, 2, 10, 24);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archive_ShouldCreateMissingPartitionsAndMoveBatchesUntilShortOne() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 16, 12, 0);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT MIN(created_at)"), eq(Timestamp.class), any(), any()))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.of(2026, 7, 3, 8, 0)));
+        when(jdbcTemplate.query(startsWith("WITH moved"), any(RowMapper.class), any(), any(), any(), any()))
+                .thenReturn(List.of(true, true), List.of(true, false), List.of(true));
+
+        long archived = retention.archive(now.minusDays(30), now.minusDays(180), now);
+
+        assertEquals(5, archived);
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).execute(ddl.capture());
+        List<String> partitions = ddl.getAllValues().stream()
+                .filter(sql -> sql.contains("PARTITION OF"))
+                .toList();
+        assertEquals(3, partitions.size());
+        assertTrue(partitions.get(0).contains("notifications_archive_202607 PARTITION OF notifications_archive "
+                + "FOR VALUES FROM ('2026-07-01') TO ('2026-08-01')"));
+        assertTrue(partitions.get(2).contains("notifications_archive_202609"));
+    }
+
+    @Test
+    void archive_ShouldDoNothingWhenNothingIsArchivable() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 16, 12, 0);
+
+        assertEquals(0, retention.archive(now.minusDays(30), now.minusDays(180), now));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void isExpired_ShouldOnlyMatchArchivePartitionsPastRetention() {
+        YearMonth current = YearMonth.of(2026, 10);
+
+        assertTrue(NotificationRetentionService.isExpired("notifications_archive_202409", current, 24));
+        assertFalse(NotificationRetentionService.isExpired("notifications_archive_202410", current, 24));
+        assertFalse(NotificationRetentionService.isExpired("notifications_archive_default", current, 24));
+        assertFalse(NotificationRetentionService.isExpired("notifications", current, 24));
+    }
+
+    @Test
+    void constructor_ShouldRejectExpiryBeforeReadRetention() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificationRetentionService(
+                jdbcTemplate, transactionManager, notificationPushService, true, 30, 7, 100, 10, 24));
+    }
+}
@@ -0,0 +1,79 @@
+package com.civiguard.service;
+
+import com.civiguard.model.Officer.OfficerStatus;
+import com.civiguard.model.TrackedEntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfficerDispatchIndexTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private OfficerDispatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OfficerDispatchIndex(0.02, 600_000);
+        index.replaceOfficers(Map.of(
+                1L, OfficerStatus.ACTIVE,
+                2L, OfficerStatus.ON_PATROL,
+                3L, OfficerStatus.ON_LEAVE,
+                4L, OfficerStatus.ACTIVE,
+                5L, OfficerStatus.ACTIVE), Map.of(101L, 1L));
+    }
+
+    @Test
+    void nearest_ShouldRankDispatchableOfficersByDistance() {
+        index.updatePosition(1L, 28.6500, 77.2090, NOW, TrackedEntityType.OFFICER);
+        index.updatePosition(2L, 28.6200, 77.2100, NOW, TrackedEntityType.VEHICLE);
+        index.updatePosition(3L, 28.6140, 77.2091, NOW, TrackedEntityType.OFFICER);
+        index.updatePosition(4L, 28.7500, 77.2090, NOW, TrackedEntityType.OFFICER);
+
+        List<OfficerDispatchIndex.Candidate> result = index.nearest(28.6139, 77.2090, 2, 50, null, NOW);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(OfficerDispatchIndex.Candidate::getOfficerId).toList());
+        assertTrue(result.get(0).getDistanceKm() < result.get(1).getDistanceKm());
+        assertEquals(TrackedEntityType.VEHICLE, result.get(0).getSource());
+    }
+
+    @Test
+    void nearest_ShouldSkipExcludedStaleAndOutOfRangeOfficers() {
+        index.updatePosition(1L, 28.6150, 77.2090, NOW, TrackedEntityType.OFFICER);
+        index.updatePosition(2L, 28.6160, 77.2090, NOW - 700_000, TrackedEntityType.OFFICER);
+        index.updatePosition(4L, 29.6139, 77.2090, NOW, TrackedEntityType.OFFICER);
+        index.updatePosition(5L, 28.6170, 77.2090, NOW, TrackedEntityType.OFFICER);
+
+        List<OfficerDispatchIndex.Candidate> result = index.nearest(28.6139, 77.2090, 10, 20, id -> id == 1L, NOW);
+
+        assertEquals(List.of(5L), result.stream().map(OfficerDispatchIndex.Candidate::getOfficerId).toList());
+    }
+
+    @Test
+    void updatePosition_ShouldMoveOfficerAndIgnoreOlderFixes() {
+        index.updatePosition(1L, 19.0760, 72.8777, NOW, TrackedEntityType.OFFICER);
+        index.updatePosition(1L, 28.6139, 77.2090, NOW + 1000, TrackedEntityType.VEHICLE);
+        index.updatePosition(1L, 19.0760, 72.8777, NOW + 500, TrackedEntityType.OFFICER);
+
+        assertEquals(1, index.size());
+        assertTrue(index.nearest(19.0760, 72.8777, 5, 10, null, NOW + 1000).isEmpty());
+        assertEquals(1, index.nearest(28.6139, 77.2090, 5, 10, null, NOW + 1000).size());
+    }
+
+    @Test
+    void updateStatus_ShouldTakeOfficerOutOfDispatch() {
+        index.updatePosition(1L, 28.6139, 77.2090, NOW, TrackedEntityType.OFFICER);
+        index.updateStatus(1L, 101L, OfficerStatus.SUSPENDED);
+
+        assertTrue(index.nearest(28.6139, 77.2090, 5, 10, null, NOW).isEmpty());
+        assertEquals(1L, index.officerIdForUser(101L));
+
+        index.removeOfficer(1L);
+        assertEquals(0, index.size());
+        assertNull(index.officerIdForUser(101L));
+    }
+}
@@ -0,0 +1,62 @@
+package com.civiguard.service;
+
+import com.civiguard.model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfficerLocationIngestionServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private GeoFenceEventEngine geoFenceEventEngine;
+
+    @Mock
+    private PositionHistoryStore positionHistoryStore;
+
+    @Mock
+    private OfficerDispatchService officerDispatchService;
+
+    private OfficerLocationIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OfficerLocationIngestionService(messagingTemplate, geoFenceEventEngine,
+                positionHistoryStore, officerDispatchService);
+        ReflectionTestUtils.setField(service, "tickMillis", 250L);
+        ReflectionTestUtils.setField(service, "maxAgeMillis", 60_000L);
+    }
+
+    @Test
+    void tick_ShouldForgetOfficersWithoutRecentPings() {
+        service.ingest(1L, location(28.61, 77.20));
+        service.ingest(2L, location(19.07, 72.87));
+        service.tick();
+        // Officer 1 went offline two minutes ago
+        service.getLatestPosition(1L).setTs(System.currentTimeMillis() - 120_000);
+
+        service.tick();
+
+        assertNull(service.getLatestPosition(1L));
+        assertNotNull(service.getLatestPosition(2L));
+        assertEquals(1, service.getLatestPositions().size());
+        assertEquals(1, service.getStats().getTrackedEntities());
+        assertEquals(1, service.getStats().getEvicted());
+    }
+
+    private static Location location(double lat, double lng) {
+        Location location = new Location();
+        location.setLatitude(lat);
+        location.setLongitude(lng);
+        return location;
+    }
+}
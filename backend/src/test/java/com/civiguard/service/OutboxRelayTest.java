@@ -0,0 +1,174 @@
+package com.civiguard.service;
+
+import com.civiguard.event.OutboxEventHandler;
+import com.civiguard.model.NotificationLane;
+import com.civiguard.model.OutboxEvent;
+import com.civiguard.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> handled = new ArrayList<>();
+    private NotificationDeliveryScheduler scheduler;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        OutboxEventHandler handler = new OutboxEventHandler() {
+            @Override
+            public String eventType() {
+                return "NOTIFICATION";
+            }
+
+            @Override
+            public void handle(OutboxEvent event) {
+                if ("boom".equals(event.getPayload())) {
+                    throw new IllegalStateException("database unavailable");
+                }
+                handled.add(event.getAggregateId());
+            }
+        };
+        OutboxEventHandler laneHandler = new OutboxEventHandler() {
+            @Override
+            public String eventType() {
+                return "LANE";
+            }
+
+            @Override
+            public boolean deliveredInLane() {
+                return true;
+            }
+
+            @Override
+            public void handle(OutboxEvent event) {
+                handled.add("lane:" + event.getAggregateId());
+            }
+        };
+        // No workers: lane tasks run on the test thread through runNext()
+        scheduler = new NotificationDeliveryScheduler(new double[NotificationLane.values().length], System::nanoTime);
+        relay = new OutboxRelay(outboxEventRepository, transactionManager, scheduler, List.of(handler, laneHandler),
+                500, 100, 20, 3, 1000, 60000, 86400000);
+    }
+
+    @Test
+    void drainBatch_ShouldHandleLockedEventsAndSkipThoseTakenElsewhere() {
+        OutboxEvent first = event(1L, "11", "{}");
+        OutboxEvent second = event(2L, "12", "{}");
+        when(outboxEventRepository.findDueHeads(eq(OutboxEvent.Status.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(due(1L, "NOTIFICATION"), due(2L, "NOTIFICATION"), due(3L, "NOTIFICATION")));
+        when(outboxEventRepository.lockByIdAndStatus(1L, OutboxEvent.Status.PENDING)).thenReturn(Optional.of(first));
+        when(outboxEventRepository.lockByIdAndStatus(2L, OutboxEvent.Status.PENDING)).thenReturn(Optional.of(second));
+        when(outboxEventRepository.lockByIdAndStatus(3L, OutboxEvent.Status.PENDING)).thenReturn(Optional.empty());
+
+        assertEquals(2, relay.drainBatch());
+
+        assertEquals(List.of("11", "12"), handled);
+        assertEquals(OutboxEvent.Status.PROCESSED, first.getStatus());
+        assertNotNull(first.getProcessedAt());
+        assertEquals(1, second.getAttempts());
+    }
+
+    @Test
+    void drainBatch_ShouldRetryWithBackoffThenGiveUp() {
+        OutboxEvent failing = event(1L, "11", "boom");
+        when(outboxEventRepository.findDueHeads(eq(OutboxEvent.Status.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(due(1L, "NOTIFICATION")));
+        when(outboxEventRepository.lockByIdAndStatus(1L, OutboxEvent.Status.PENDING)).thenReturn(Optional.of(failing));
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(failing));
+
+        relay.drainBatch();
+        assertEquals(OutboxEvent.Status.PENDING, failing.getStatus());
+        assertEquals(1, failing.getAttempts());
+        assertEquals("database unavailable", failing.getLastError());
+        assertTrue(failing.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        relay.drainBatch();
+        relay.drainBatch();
+        assertEquals(OutboxEvent.Status.FAILED, failing.getStatus());
+        assertEquals(3, failing.getAttempts());
+        assertTrue(handled.isEmpty());
+    }
+
+    @Test
+    void drainBatch_ShouldKeepLaneEventsPendingUntilTheirLaneTaskRuns() {
+        OutboxEvent event = event(4L, "14", "{}");
+        event.setEventType("LANE");
+        when(outboxEventRepository.findDueHeads(eq(OutboxEvent.Status.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(due(4L, "LANE")));
+        when(outboxEventRepository.lockByIdAndStatus(4L, OutboxEvent.Status.PENDING)).thenReturn(Optional.of(event));
+
+        assertEquals(1, relay.drainBatch());
+        // Still due while queued, but not handed over twice
+        assertEquals(0, relay.drainBatch());
+        assertEquals(OutboxEvent.Status.PENDING, event.getStatus());
+        assertTrue(handled.isEmpty());
+
+        assertTrue(scheduler.runNext());
+        assertFalse(scheduler.runNext());
+        assertEquals(List.of("lane:14"), handled);
+        assertEquals(OutboxEvent.Status.PROCESSED, event.getStatus());
+    }
+
+    @Test
+    void backoffMs_ShouldDoubleUpToTheCap() {
+        assertEquals(1000, relay.backoffMs(1));
+        assertEquals(2000, relay.backoffMs(2));
+        assertEquals(32000, relay.backoffMs(6));
+        assertEquals(60000, relay.backoffMs(7));
+        assertEquals(60000, relay.backoffMs(40));
+    }
+
+    private static OutboxEventRepository.DueEvent due(Long id, String eventType) {
+        return new OutboxEventRepository.DueEvent() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEventType() {
+                return eventType;
+            }
+
+            @Override
+            public int getPriority() {
+                return NotificationLane.OPERATIONAL.ordinal();
+            }
+        };
+    }
+
+    private static OutboxEvent event(Long id, String aggregateId, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setAggregateType("Incident");
+        event.setAggregateId(aggregateId);
+        event.setEventType("NOTIFICATION");
+        event.setPayload(payload);
+        event.setNextAttemptAt(LocalDateTime.now());
+        return event;
+    }
+}
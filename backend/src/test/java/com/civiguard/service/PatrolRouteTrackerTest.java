@@ -0,0 +1,127 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.patrol.RouteDeviationEvent;
+import com.civiguard.dto.patrol.RouteProgressResponse;
+import com.civiguard.model.PatrolRoute;
+import com.civiguard.model.PatrolVehicle;
+import com.civiguard.repository.PatrolRouteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatrolRouteTrackerTest {
+
+    // An L-shaped route: ~1.1 km north, then ~1.1 km east
+    private static final double[][] ROUTE = { { 28.600, 77.200 }, { 28.610, 77.200 }, { 28.610, 77.21135 } };
+
+    @Mock
+    private PatrolRouteRepository patrolRouteRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private PatrolRouteTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new PatrolRouteTracker(patrolRouteRepository, messagingTemplate);
+        ReflectionTestUtils.setField(tracker, "corridorMeters", 150.0);
+        ReflectionTestUtils.setField(tracker, "rejoinMeters", 100.0);
+        ReflectionTestUtils.setField(tracker, "cellSizeDeg", 0.01);
+    }
+
+    @Test
+    void project_ShouldReportProgressAndOffRouteDistance() {
+        CompiledPatrolRoute compiled = CompiledPatrolRoute.compile(route(1L, 7L), 0.01, 0.15);
+
+        CompiledPatrolRoute.Projection start = compiled.project(28.600, 77.200);
+        CompiledPatrolRoute.Projection corner = compiled.project(28.610, 77.200);
+        CompiledPatrolRoute.Projection beside = compiled.project(28.605, 77.201);
+
+        assertEquals(0, start.getAlongKm(), 1e-9);
+        assertEquals(compiled.getCumulativeKm()[1], corner.getAlongKm(), 0.001);
+        assertEquals(0, beside.getSegmentIndex());
+        assertEquals(0.098, beside.getOffRouteKm(), 0.002);
+        assertEquals(0.5 * compiled.getCumulativeKm()[1], beside.getAlongKm(), 0.001);
+        assertEquals(2.22, compiled.getTotalKm(), 0.02);
+    }
+
+    @Test
+    void project_ShouldFallBackToFullScanFarFromRoute() {
+        CompiledPatrolRoute compiled = CompiledPatrolRoute.compile(route(1L, 7L), 0.01, 0.15);
+
+        CompiledPatrolRoute.Projection far = compiled.project(28.650, 77.21135);
+
+        assertEquals(1, far.getSegmentIndex());
+        assertEquals(1.0, far.getFraction(), 1e-9);
+        assertEquals(4.45, far.getOffRouteKm(), 0.02);
+    }
+
+    @Test
+    void onVehiclePosition_ShouldPublishDeviationOnceAndRejoinWithHysteresis() {
+        when(patrolRouteRepository.findWithWaypointsByStatus(PatrolRoute.PatrolStatus.ACTIVE))
+                .thenReturn(List.of(route(1L, 7L)));
+        tracker.reload();
+
+        tracker.onVehiclePosition(7L, 28.605, 77.2005, 1_000L);
+        tracker.onVehiclePosition(7L, 28.605, 77.2030, 2_000L);
+        tracker.onVehiclePosition(7L, 28.605, 77.2040, 3_000L);
+        // Inside the corridor but not yet within the rejoin distance
+        tracker.onVehiclePosition(7L, 28.605, 77.2012, 4_000L);
+        tracker.onVehiclePosition(7L, 28.605, 77.2005, 5_000L);
+
+        ArgumentCaptor<RouteDeviationEvent> events = ArgumentCaptor.forClass(RouteDeviationEvent.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/patrol-route-events"), events.capture());
+        assertEquals(RouteDeviationEvent.EventType.OFF_ROUTE, events.getAllValues().get(0).getType());
+        assertEquals(2_000L, events.getAllValues().get(0).getTimestamp());
+        assertEquals(RouteDeviationEvent.EventType.BACK_ON_ROUTE, events.getAllValues().get(1).getType());
+        assertEquals(5_000L, events.getAllValues().get(1).getTimestamp());
+
+        RouteProgressResponse progress = tracker.getProgress(1L);
+        assertTrue(progress.getOnRoute());
+        assertEquals(25.0, progress.getProgressPercent(), 0.5);
+    }
+
+    @Test
+    void reload_ShouldKeepRouteChangesCommittedWhileLoading() {
+        PatrolRoute deleted = route(1L, 10L);
+        PatrolRoute created = route(2L, 20L);
+        tracker.onRouteSaved(deleted);
+        when(patrolRouteRepository.findWithWaypointsByStatus(PatrolRoute.PatrolStatus.ACTIVE)).thenAnswer(invocation -> {
+            // Both commit after the snapshot was read
+            tracker.onRouteSaved(created);
+            tracker.onRouteDeleted(1L);
+            return List.of(deleted);
+        });
+
+        tracker.reload();
+
+        assertEquals(1, tracker.getTrackedRouteCount());
+        assertEquals(20L, tracker.getProgress(2L).getVehicleId());
+    }
+
+    private static PatrolRoute route(Long id, Long vehicleId) {
+        PatrolVehicle vehicle = new PatrolVehicle();
+        vehicle.setId(vehicleId);
+        PatrolRoute route = new PatrolRoute();
+        route.setId(id);
+        route.setStatus(PatrolRoute.PatrolStatus.ACTIVE);
+        route.setPatrolVehicle(vehicle);
+        for (double[] waypoint : ROUTE) {
+            route.addWaypoint(waypoint[0], waypoint[1]);
+        }
+        return route;
+    }
+}
@@ -0,0 +1,102 @@
+package com.civiguard.service;
+
+import com.civiguard.dto.tracking.TrackPoint;
+import com.civiguard.model.TrackedEntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionHistoryStoreTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private PositionHistoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new PositionHistoryStore(true, tempDir.toString(), 60, 4, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void replay_ShouldReturnOnlyRequestedEntityAndRange() {
+        long base = 100 * HOUR;
+        store.append(TrackedEntityType.VEHICLE, 1L, base + 1_000, 28.61, 77.20);
+        store.append(TrackedEntityType.VEHICLE, 2L, base + 2_000, 19.07, 72.87);
+        store.append(TrackedEntityType.VEHICLE, 1L, base + 3_000, 28.62, 77.21);
+        store.append(TrackedEntityType.OFFICER, 1L, base + 4_000, 12.97, 77.59);
+
+        List<TrackPoint> track = store.replay(TrackedEntityType.VEHICLE, 1L, base, base + 2_500);
+
+        assertEquals(1, track.size());
+        assertEquals(base + 1_000, track.get(0).getTs());
+        assertEquals(28.61, track.get(0).getLat());
+    }
+
+    @Test
+    void append_ShouldRollOverFullSegmentsAndBuckets() throws Exception {
+        long base = 200 * HOUR;
+        for (int i = 0; i < 10; i++) {
+            store.append(TrackedEntityType.VEHICLE, 5L, base + i * 1_000, 28.0 + i, 77.0);
+        }
+        store.append(TrackedEntityType.VEHICLE, 5L, base + HOUR + 1_000, 29.5, 77.0);
+
+        List<TrackPoint> track = store.replay(TrackedEntityType.VEHICLE, 5L, base, base + 2 * HOUR);
+
+        assertEquals(11, track.size());
+        assertEquals(29.5, track.get(10).getLat());
+        assertEquals(4, countFiles("vehicle", ".seg"));
+        // Every sealed segment has its index; the open one is indexed in memory
+        assertEquals(3, countFiles("vehicle", ".idx"));
+    }
+
+    @Test
+    void replay_ShouldRebuildMissingOrOutdatedIndex() throws Exception {
+        long base = 400 * HOUR;
+        for (int i = 0; i < 4; i++) {
+            store.append(TrackedEntityType.VEHICLE, i % 2 == 0 ? 1L : 2L, base + i * 1_000, 28.0 + i, 77.0);
+        }
+        store.append(TrackedEntityType.VEHICLE, 1L, base + 10_000, 32.0, 77.0);
+        Path sealedIndex = tempDir.resolve("vehicle").resolve(base + "_0.idx");
+        Files.delete(sealedIndex);
+
+        List<TrackPoint> track = store.replay(TrackedEntityType.VEHICLE, 1L, base, base + HOUR);
+
+        assertEquals(List.of(28.0, 30.0, 32.0), track.stream().map(TrackPoint::getLat).toList());
+        assertTrue(Files.exists(sealedIndex));
+        assertEquals(2, store.replay(TrackedEntityType.VEHICLE, 2L, base, base + HOUR).size());
+    }
+
+    @Test
+    void replay_ShouldReadSegmentsWrittenBeforeRestart() {
+        long base = 300 * HOUR;
+        store.append(TrackedEntityType.OFFICER, 9L, base + 1_000, 28.61, 77.20);
+        store.close();
+
+        store = new PositionHistoryStore(true, tempDir.toString(), 60, 4, 30);
+        store.append(TrackedEntityType.OFFICER, 9L, base + 2_000, 28.62, 77.21);
+
+        assertEquals(2, store.replay(TrackedEntityType.OFFICER, 9L, base, base + HOUR).size());
+    }
+
+    private long countFiles(String type, String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(tempDir.resolve(type))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.civiguard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBitmapTest {
+
+    @Test
+    void add_ShouldIgnoreDuplicatesAcrossChunks() {
+        IdBitmap bitmap = new IdBitmap();
+
+        assertTrue(bitmap.add(7));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(5_000_000_000L));
+        assertFalse(bitmap.add(70_000));
+
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.contains(5_000_000_000L));
+        assertFalse(bitmap.contains(8));
+        assertFalse(bitmap.contains(-1));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void add_ShouldSwitchDenseChunksToBitmapsAndStayConsistent() {
+        IdBitmap bitmap = new IdBitmap();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        // One dense chunk past the array limit and a few sparse ones
+        for (int i = 0; i < 20_000; i++) {
+            long id = i < 10_000 ? random.nextInt(65_536) : random.nextInt(2_000_000);
+            assertEquals(expected.add(id), bitmap.add(id));
+        }
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        for (long id = 0; id < 2_000_000; id += 7) {
+            assertEquals(expected.contains(id), bitmap.contains(id), "id " + id);
+        }
+        // ~8 KB for the dense chunk instead of ~16 bytes per boxed ID
+        assertTrue(bitmap.sizeInBytes() < 64 * 1024, "size " + bitmap.sizeInBytes());
+    }
+}
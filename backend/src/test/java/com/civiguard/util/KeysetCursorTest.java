@@ -0,0 +1,36 @@
+package com.civiguard.util;
+
+import com.civiguard.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripPositionWithFullPrecision() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 7, 14, 9, 30, 5, 123_456_000);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(createdAt, 4211L));
+
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(4211L, cursor.getId());
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void decode_ShouldRejectForeignTokens() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("MjAyNC0wNy0xNA"));
+    }
+
+    @Test
+    void pageSize_ShouldDefaultAndClamp() {
+        assertEquals(KeysetCursor.DEFAULT_PAGE_SIZE, KeysetCursor.pageSize(null));
+        assertEquals(KeysetCursor.DEFAULT_PAGE_SIZE, KeysetCursor.pageSize(0));
+        assertEquals(35, KeysetCursor.pageSize(35));
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.pageSize(10_000));
+    }
+}